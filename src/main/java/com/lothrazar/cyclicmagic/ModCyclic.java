@@ -24,7 +24,11 @@
 package com.lothrazar.cyclicmagic;
 
 import java.io.File;
+import com.lothrazar.cyclicmagic.block.cable.CableNetworkManager;
+import com.lothrazar.cyclicmagic.block.cablepump.item.TileEntityItemPump;
+import com.lothrazar.cyclicmagic.block.ore.WorldGenNewOre;
 import com.lothrazar.cyclicmagic.capability.IPlayerExtendedProperties;
+import com.lothrazar.cyclicmagic.command.ChunkSearchJob;
 import com.lothrazar.cyclicmagic.gui.ForgeGuiHandler;
 import com.lothrazar.cyclicmagic.item.cannon.ParticleEventManager;
 import com.lothrazar.cyclicmagic.item.core.BaseItemProjectile;
@@ -50,6 +54,9 @@ import com.lothrazar.cyclicmagic.registry.ReflectionRegistry;
 import com.lothrazar.cyclicmagic.registry.SoundRegistry;
 import com.lothrazar.cyclicmagic.registry.VillagerProfRegistry;
 import com.lothrazar.cyclicmagic.util.Const;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
+import com.lothrazar.cyclicmagic.util.UtilPlayerInventoryFilestorage;
+import com.lothrazar.cyclicmagic.util.UtilShape;
 import com.lothrazar.cyclicmagic.util.UtilString;
 import net.minecraft.block.BlockDispenser;
 import net.minecraftforge.common.MinecraftForge;
@@ -66,6 +73,7 @@ import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
+import net.minecraftforge.fml.common.event.FMLServerStoppedEvent;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
 
@@ -147,6 +155,11 @@ public class ModCyclic {
      */
     if (logger.runUnitTests()) {
       UtilString.unitTests();
+      CableNetworkManager.unitTests();
+      TileEntityItemPump.unitTests();
+      UtilShape.unitTests();
+      UtilPacket.unitTests();
+      WorldGenNewOre.unitTests();
     }
     for (BaseItemProjectile item : MultiContent.projectiles) {
       BlockDispenser.DISPENSE_BEHAVIOR_REGISTRY.putObject(item, new BehaviorProjectileThrowable(item));
@@ -160,6 +173,12 @@ public class ModCyclic {
     }
   }
 
+  @EventHandler
+  public void onServerStopped(FMLServerStoppedEvent event) {
+    UtilPlayerInventoryFilestorage.flushWrites();
+    ChunkSearchJob.clearJobs();
+  }
+
   @EventHandler
   public void onFingerprintViolation(FMLFingerprintViolationEvent event) {
     // https://tutorials.darkhax.net/tutorials/jar_signing/
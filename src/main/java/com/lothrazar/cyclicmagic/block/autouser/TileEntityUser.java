@@ -35,6 +35,7 @@ import com.lothrazar.cyclicmagic.capability.EnergyStore;
 import com.lothrazar.cyclicmagic.data.ITilePreviewToggle;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
 import com.lothrazar.cyclicmagic.util.Const;
+import com.lothrazar.cyclicmagic.util.EntityQueryCache;
 import com.lothrazar.cyclicmagic.util.UtilEntity;
 import com.lothrazar.cyclicmagic.util.UtilFakePlayer;
 import com.lothrazar.cyclicmagic.util.UtilFluid;
@@ -191,9 +192,9 @@ public class TileEntityUser extends TileEntityBaseMachineInvo implements ITileRe
   private void interactEntities(BlockPos targetPos) {
     BlockPos entityCenter = getTargetCenter();
     AxisAlignedBB entityRange = UtilEntity.makeBoundingBox(entityCenter, size, vRange);
-    List<EntityLivingBase> living = world.getEntitiesWithinAABB(EntityLivingBase.class, entityRange);
+    List<EntityLivingBase> living = EntityQueryCache.getEntitiesWithinAABB(world, EntityLivingBase.class, entityRange);
     if (isRightClick()) {//right click entities and blocks
-      List<EntityMinecart> carts = world.getEntitiesWithinAABB(EntityMinecart.class, entityRange);
+      List<EntityMinecart> carts = EntityQueryCache.getEntitiesWithinAABB(world, EntityMinecart.class, entityRange);
       List<Entity> all = new ArrayList<Entity>(living);
       all.addAll(carts);//works since  they share a base class but no overlap
       // 
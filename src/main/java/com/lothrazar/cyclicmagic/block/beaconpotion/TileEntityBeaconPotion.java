@@ -32,6 +32,7 @@ import com.lothrazar.cyclicmagic.block.beaconempty.BeamSegment;
 import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachineInvo;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
 import com.lothrazar.cyclicmagic.util.Const;
+import com.lothrazar.cyclicmagic.util.EntityQueryCache;
 import net.minecraft.block.BlockStainedGlass;
 import net.minecraft.block.BlockStainedGlassPane;
 import net.minecraft.block.state.IBlockState;
@@ -170,10 +171,10 @@ public class TileEntityBeaconPotion extends TileEntityBaseMachineInvo implements
     EnumCreatureType creatureType = this.getCreatureType();
     List<EntityLivingBase> list = new ArrayList<EntityLivingBase>();
     if (this.entityType == EntityType.PLAYERS) {
-      list.addAll(this.world.getEntitiesWithinAABB(EntityPlayer.class, axisalignedbb));
+      list.addAll(EntityQueryCache.getEntitiesWithinAABB(this.world, EntityPlayer.class, axisalignedbb));
     }
     else { // we apply other filters later
-      list.addAll(this.world.getEntitiesWithinAABB(EntityLivingBase.class, axisalignedbb));
+      list.addAll(EntityQueryCache.getEntitiesWithinAABB(this.world, EntityLivingBase.class, axisalignedbb));
     }
     for (EntityLivingBase entity : list) {
       if (skipPlayers && entity instanceof EntityPlayer) {
@@ -24,6 +24,7 @@
 package com.lothrazar.cyclicmagic.block.builderpattern;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +34,7 @@ import com.lothrazar.cyclicmagic.data.BlockPosDim;
 import com.lothrazar.cyclicmagic.data.ITilePreviewToggle;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
 import com.lothrazar.cyclicmagic.item.locationgps.ItemLocationGps;
+import com.lothrazar.cyclicmagic.util.ShapeView;
 import com.lothrazar.cyclicmagic.util.UtilItemStack;
 import com.lothrazar.cyclicmagic.util.UtilParticle;
 import com.lothrazar.cyclicmagic.util.UtilShape;
@@ -64,6 +66,10 @@ public class TileEntityPatternBuilder extends TileEntityBaseMachineInvo implemen
   private static Map<String, String> blockToItemOverrides = new HashMap<String, String>();
   private static final String NBT_SHAPEINDEX = "shapeindex";
   private int shapeIndex;
+  //source is read from the world, so besides the key it is also refreshed at the start of every pass
+  private ShapeView cachedSource;
+  private ShapeView cachedTarget;
+  private List<Object> shapeKey;
   public static final int SLOT_SRCA = 18;
   public static final int SLOT_SRCB = 19;
   public static final int SLOT_TARGET = 20;
@@ -180,16 +186,17 @@ public class TileEntityPatternBuilder extends TileEntityBaseMachineInvo implemen
     timer -= 1;
     if (timer <= 0) { //try build one block
       timer = 0;
-      List<BlockPos> shapeSrc = this.getSourceShape();
-      List<BlockPos> shapeTarget = this.getTargetShape();
-      if (shapeSrc.size() <= 0) {
-        return;
-      }
-      if (this.shapeIndex < 0 || this.shapeIndex >= shapeSrc.size()) {
+      this.syncShapeCache();
+      if (this.shapeIndex < 0 || this.shapeIndex >= cachedSource.size() || this.shapeIndex >= cachedTarget.size()) {
         this.shapeIndex = 0;
+        this.shapeKey = null;
+        this.syncShapeCache();
+      }
+      if (cachedSource.size() <= 0 || cachedTarget.size() <= 0) {
+        return;
       }
-      BlockPos posSrc = shapeSrc.get(shapeIndex);
-      BlockPos posTarget = shapeTarget.get(shapeIndex);
+      BlockPos posSrc = cachedSource.get(shapeIndex);
+      BlockPos posTarget = cachedTarget.get(shapeIndex);
       if (this.renderParticles != 0) {
         UtilParticle.spawnParticle(this.getWorld(), EnumParticleTypes.CRIT_MAGIC, posSrc);
         UtilParticle.spawnParticle(this.getWorld(), EnumParticleTypes.CRIT_MAGIC, posTarget);
@@ -263,8 +270,26 @@ public class TileEntityPatternBuilder extends TileEntityBaseMachineInvo implemen
     return newOrigin.add(xOffset, yOffset, zOffset);
   }
 
-  public List<BlockPos> getTargetShape() {
+  /**
+   * rebuild the source and target shapes only if a gps card, rotation or flip changed
+   */
+  private void syncShapeCache() {
+    List<Object> key = Arrays.<Object> asList(getGpsTargetPos(SLOT_SRCA), getGpsTargetPos(SLOT_SRCB), getGpsTargetPos(SLOT_TARGET),
+        rotation, flipX, flipY, flipZ);
+    if (cachedSource != null && key.equals(shapeKey)) {
+      return;
+    }
     List<BlockPos> shapeSrc = getSourceShape();
+    cachedSource = UtilShape.packed(shapeSrc);
+    cachedTarget = UtilShape.packed(getTargetShape(shapeSrc));
+    shapeKey = key;
+  }
+
+  public List<BlockPos> getTargetShape() {
+    return getTargetShape(getSourceShape());
+  }
+
+  private List<BlockPos> getTargetShape(List<BlockPos> shapeSrc) {
     List<BlockPos> shapeTarget = new ArrayList<BlockPos>();
     for (BlockPos p : shapeSrc) {
       BlockPos conv = this.convertPosSrcToTarget(new BlockPos(p));
@@ -24,7 +24,6 @@
 package com.lothrazar.cyclicmagic.block.buildershape;
 
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -35,6 +34,7 @@ import com.lothrazar.cyclicmagic.data.BlockPosDim;
 import com.lothrazar.cyclicmagic.data.ITilePreviewToggle;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
 import com.lothrazar.cyclicmagic.item.locationgps.ItemLocationGps;
+import com.lothrazar.cyclicmagic.util.ShapeView;
 import com.lothrazar.cyclicmagic.util.UtilFakePlayer;
 import com.lothrazar.cyclicmagic.util.UtilPlaceBlocks;
 import com.lothrazar.cyclicmagic.util.UtilShape;
@@ -60,6 +60,8 @@ public class TileEntityStructureBuilder extends TileEntityBaseMachineInvo implem
   private int buildSize = 3;
   private int height;
   private int shapeIndex = 0;// current index of shape array
+  private ShapeView shapeView;
+  private List<Object> shapeKey;
   public static int maxSize;
   public static int maxHeight = 10;
   public static final int SLOT_GPS = 9;
@@ -89,47 +91,61 @@ public class TileEntityStructureBuilder extends TileEntityBaseMachineInvo implem
 
   @Override
   public List<BlockPos> getShape() {
+    return getShapeView().toList();
+  }
+
+  /**
+   * the shape is only rebuilt when its inputs change, reading one position per tick is then free
+   */
+  public ShapeView getShapeView() {
     StructureBuilderType buildType = getBuildTypeEnum();
-    List<BlockPos> shape = new ArrayList<BlockPos>();
-    // only rebuild shapes if they are different
+    BlockPos target = this.getPosTarget();
+    EnumFacing facing = this.getCurrentFacing();
+    List<Object> key = Arrays.<Object> asList(buildType, this.getSize(), this.getHeight(), facing, target);
+    if (shapeView != null && key.equals(shapeKey)) {
+      return shapeView;
+    }
+    ShapeView shape = null;
     switch (buildType) {
       case CIRCLE:
-        shape = UtilShape.circleHorizontal(this.getPosTarget(), this.getSize() * 2);
+        shape = UtilShape.packed(UtilShape.circleHorizontal(target, this.getSize() * 2));
         shape = UtilShape.repeatShapeByHeight(shape, getHeight() - 1);
       break;
       case FACING:
-        shape = UtilShape.line(this.getPosTarget(), this.getCurrentFacing(), this.getSize());
+        shape = UtilShape.lineView(target, facing, this.getSize());
         shape = UtilShape.repeatShapeByHeight(shape, getHeight() - 1);
       break;
       case SQUARE:
-        shape = UtilShape.squareHorizontalHollow(this.getPosTarget(), this.getSize());
+        shape = UtilShape.squareHorizontalHollowView(target, this.getSize());
         shape = UtilShape.repeatShapeByHeight(shape, getHeight() - 1);
       break;
       case SOLID:
-        shape = UtilShape.squareHorizontalFull(this.getTargetFacing(), this.getSize());
+        shape = UtilShape.squareHorizontalFullView(this.getTargetFacing(), this.getSize());
         shape = UtilShape.repeatShapeByHeight(shape, getHeight() - 1);
       break;
       case SPHERE:
-        shape = UtilShape.sphere(this.getPosTarget(), this.getSize());
+        shape = UtilShape.packed(UtilShape.sphere(target, this.getSize()));
       break;
       case DOME:
-        shape = UtilShape.sphereDome(this.getPosTarget(), this.getSize());
+        shape = UtilShape.packed(UtilShape.sphereDome(target, this.getSize()));
       break;
       case CUP:
-        shape = UtilShape.sphereCup(this.getPosTarget().up(this.getSize()), this.getSize());
+        shape = UtilShape.packed(UtilShape.sphereCup(target.up(this.getSize()), this.getSize()));
       break;
       case DIAGONAL:
-        shape = UtilShape.diagonal(this.getPosTarget(), this.getCurrentFacing(), this.getHeight(),
+        shape = UtilShape.diagonalView(target, facing, this.getHeight(),
             this.getSize(), true);
       break;
       case PYRAMID:
-        shape = UtilShape.squarePyramid(this.getPosTarget(), this.getSize(), getHeight());
+        shape = UtilShape.squarePyramidView(target, this.getSize(), getHeight());
       break;
       case CIRCLEVERTICAL:
-        shape = UtilShape.circleVertical(this.getPosTarget(), this.getSize() * 2);
-        shape = UtilShape.repeatShapeByFacing(shape, height, this.getCurrentFacing().rotateAround(EnumFacing.Axis.Y));
+        shape = UtilShape.packed(UtilShape.circleVertical(target, this.getSize() * 2));
+        shape = UtilShape.repeatShapeByFacing(shape, height, facing.rotateAround(EnumFacing.Axis.Y));
       break;
     }
+    shapeView = shape;
+    shapeKey = key;
     return shape;
   }
 
@@ -320,7 +336,7 @@ public class TileEntityStructureBuilder extends TileEntityBaseMachineInvo implem
     if (stack.isEmpty()) {
       return;
     }
-    List<BlockPos> shape = this.getShape();
+    ShapeView shape = this.getShapeView();
     if (shape.size() == 0) {
       return;
     }
@@ -350,7 +366,7 @@ public class TileEntityStructureBuilder extends TileEntityBaseMachineInvo implem
     }
   }
 
-  private void incrementPosition(List<BlockPos> shape) {
+  private void incrementPosition(ShapeView shape) {
     if (shape == null || shape.size() == 0) {
       return;
     }
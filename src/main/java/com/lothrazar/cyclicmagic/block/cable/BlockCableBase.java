@@ -179,6 +179,9 @@ public abstract class BlockCableBase extends BlockBaseHasTile {
     if (tileentity instanceof TileEntityItemCable) {
       InventoryHelper.dropInventoryItems(worldIn, pos, (TileEntityItemCable) tileentity);
     }
+    if (tileentity instanceof TileEntityCableBase && !worldIn.isRemote) {
+      CableNetworkManager.get(worldIn).removeCable((TileEntityCableBase) tileentity);
+    }
     super.breakBlock(worldIn, pos, state);
   }
 
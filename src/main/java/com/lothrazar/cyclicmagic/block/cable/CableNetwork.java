@@ -0,0 +1,449 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.block.cable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import com.google.common.collect.Maps;
+import com.lothrazar.cyclicmagic.util.UtilFluid;
+import com.lothrazar.cyclicmagic.util.UtilItemStack;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.energy.CapabilityEnergy;
+import net.minecraftforge.energy.IEnergyStorage;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.IItemHandler;
+
+/**
+ * One connected group of cables that share a transport type. Instead of every cable pushing to its six neighbors each tick, the network ticks once and moves contents from the cables holding
+ * something straight to the inventories, tanks and batteries touching the network.
+ * 
+ * Membership is maintained by {@link CableNetworkManager}
+ */
+public class CableNetwork {
+
+  public static enum NetworkType {
+
+    ITEM, FLUID, ENERGY;
+
+    public boolean isCarriedBy(TileEntityCableBase cable) {
+      switch (this) {
+        case ITEM:
+          return cable.isItemPipe();
+        case FLUID:
+          return cable.isFluidPipe();
+        case ENERGY:
+          return cable.isEnergyPipe();
+      }
+      return false;
+    }
+
+    public Capability<?> getCapability() {
+      switch (this) {
+        case ITEM:
+          return CapabilityItemHandler.ITEM_HANDLER_CAPABILITY;
+        case FLUID:
+          return CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY;
+        case ENERGY:
+          return CapabilityEnergy.ENERGY;
+      }
+      return null;
+    }
+  }
+
+  /**
+   * a non-cable block touching the network. side is from the point of view of the cable
+   */
+  public static class Endpoint {
+
+    public final TileEntityCableBase cable;
+    public final EnumFacing side;
+    public final BlockPos target;
+
+    public Endpoint(TileEntityCableBase cable, EnumFacing side) {
+      this.cable = cable;
+      this.side = side;
+      this.target = cable.getPos().offset(side);
+    }
+
+    /**
+     * handler on the block this endpoint faces, null if that is not loaded or has none
+     */
+    <T> T getHandler(World world, Capability<T> capability) {
+      if (world.isBlockLoaded(target) == false) {
+        return null;
+      }
+      return cable.getHandlerCache(capability).getNeighbor(cable, side);
+    }
+  }
+
+  private final NetworkType type;
+  private final Map<Long, TileEntityCableBase> cables = Maps.newHashMap();
+  private final List<Endpoint> endpoints = new ArrayList<Endpoint>();
+  private boolean endpointsDirty = true;
+  private boolean topologyDirty = false;
+  private long lastTick = -1;
+  private int cursor = 0;
+  CableNetworkManager manager;
+
+  public CableNetwork(CableNetworkManager manager, NetworkType type) {
+    this.manager = manager;
+    this.type = type;
+  }
+
+  public NetworkType getType() {
+    return type;
+  }
+
+  public int size() {
+    return cables.size();
+  }
+
+  public boolean isEmpty() {
+    return cables.isEmpty();
+  }
+
+  public int getEndpointCount() {
+    return endpoints.size();
+  }
+
+  Collection<TileEntityCableBase> getCables() {
+    return cables.values();
+  }
+
+  boolean contains(BlockPos p) {
+    return cables.containsKey(p.toLong());
+  }
+
+  TileEntityCableBase getCable(BlockPos p) {
+    return cables.get(p.toLong());
+  }
+
+  void add(TileEntityCableBase cable) {
+    cables.put(cable.getPos().toLong(), cable);
+    cable.setNetwork(type, this);
+    endpointsDirty = true;
+  }
+
+  void remove(TileEntityCableBase cable) {
+    if (cables.remove(cable.getPos().toLong()) != null) {
+      cable.setNetwork(type, null);
+      //removing from the middle may have split us in two, sort it out once on the next tick
+      topologyDirty = true;
+      endpointsDirty = true;
+    }
+  }
+
+  /**
+   * move every member of other into this network
+   */
+  void absorb(CableNetwork other) {
+    for (TileEntityCableBase cable : other.cables.values()) {
+      add(cable);
+    }
+    topologyDirty = topologyDirty || other.topologyDirty;
+    other.cables.clear();
+    other.endpoints.clear();
+  }
+
+  /**
+   * for fixtures that supply their own endpoints instead of scanning a world
+   */
+  void addEndpoint(Endpoint endpoint) {
+    endpoints.add(endpoint);
+    endpointsDirty = false;
+  }
+
+  public void markEndpointsDirty() {
+    this.endpointsDirty = true;
+  }
+
+  boolean isTopologyDirty() {
+    return topologyDirty;
+  }
+
+  void clearTopologyDirty() {
+    topologyDirty = false;
+  }
+
+  /**
+   * Safe to call from every member cable, only the first call per world tick does any work
+   */
+  public void tick(World world) {
+    if (this.markTicked(world.getTotalWorldTime()) == false) {
+      return;
+    }
+    if (topologyDirty) {
+      manager.splitDisconnected(this);
+    }
+    if (this.isEmpty()) {
+      return;
+    }
+    if (endpointsDirty) {
+      rebuildEndpoints(world);
+    }
+    transfer(world);
+  }
+
+  /**
+   * @return false if the network already ran during this tick
+   */
+  boolean markTicked(long now) {
+    if (lastTick == now) {
+      return false;
+    }
+    lastTick = now;
+    return true;
+  }
+
+  void rebuildEndpoints(World world) {
+    endpoints.clear();
+    endpointsDirty = false;
+    Capability<?> cap = type.getCapability();
+    for (TileEntityCableBase cable : cables.values()) {
+      for (EnumFacing side : EnumFacing.values()) {
+        if (cable.getBlacklist(side)) {
+          continue;
+        }
+        BlockPos target = cable.getPos().offset(side);
+        if (this.contains(target) || world.isBlockLoaded(target) == false) {
+          continue;
+        }
+        TileEntity tileTarget = world.getTileEntity(target);
+        if (tileTarget == null || tileTarget instanceof TileEntityCableBase) {
+          continue;
+        }
+        if (tileTarget.hasCapability(cap, side.getOpposite())) {
+          endpoints.add(new Endpoint(cable, side));
+        }
+      }
+    }
+    if (cursor >= endpoints.size()) {
+      cursor = 0;
+    }
+  }
+
+  /**
+   * move contents from cables directly to endpoints, starting from a rotating endpoint so that a junction spreads its output out
+   */
+  void transfer(World world) {
+    if (endpoints.isEmpty()) {
+      return;
+    }
+    for (TileEntityCableBase cable : cables.values()) {
+      switch (type) {
+        case ITEM:
+          if (cable.getStackInSlot(0).isEmpty() == false) {
+            transferItems(world, cable);
+          }
+        break;
+        case FLUID:
+          if (cable.tank != null && cable.tank.getFluidAmount() > 0) {
+            transferFluid(world, cable);
+          }
+        break;
+        case ENERGY:
+          if (cable.getEnergyCurrent() > 0) {
+            transferEnergy(world, cable);
+          }
+        break;
+      }
+    }
+  }
+
+  private boolean canDeliver(World world, TileEntityCableBase from, Endpoint endpoint) {
+    if (endpoint.cable == from && from.isIncomingFromFace(type, endpoint.side)) {
+      //dont push it right back where it came from
+      return false;
+    }
+    if (endpoint.cable.isInvalid()) {
+      endpointsDirty = true;
+      return false;
+    }
+    return true;
+  }
+
+  private void advanceCursor(int index) {
+    cursor = (index + 1) % endpoints.size();
+  }
+
+  private void transferItems(World world, TileEntityCableBase cable) {
+    int size = endpoints.size();
+    int start = cursor;
+    for (int i = 0; i < size; i++) {
+      ItemStack stackToExport = cable.getStackInSlot(0);
+      if (stackToExport.isEmpty()) {
+        return;
+      }
+      int index = (start + i) % size;
+      Endpoint endpoint = endpoints.get(index);
+      if (canDeliver(world, cable, endpoint) == false) {
+        continue;
+      }
+      IItemHandler handlerOutput = endpoint.getHandler(world, CapabilityItemHandler.ITEM_HANDLER_CAPABILITY);
+      if (handlerOutput == null) {
+        endpointsDirty = true;
+        continue;
+      }
+      stackToExport = stackToExport.copy();
+      ItemStack leftAfterDeposit = UtilItemStack.tryDepositToHandler(handlerOutput, stackToExport);
+      if (leftAfterDeposit.getCount() != stackToExport.getCount()) {
+        cable.setInventorySlotContents(0, leftAfterDeposit);
+        advanceCursor(index);
+      }
+    }
+  }
+
+  /**
+   * Bulk mode: hand a whole batch straight to the inventories touching this network in one pass, skipping the cable by cable hand off
+   * 
+   * @param source
+   *          position of the block pushing the batch, never delivered back to
+   * @return whatever did not fit, in the same order
+   */
+  public List<ItemStack> deliverBatch(World world, List<ItemStack> batch, BlockPos source) {
+    if (type != NetworkType.ITEM || batch.isEmpty()) {
+      return batch;
+    }
+    if (endpointsDirty) {
+      rebuildEndpoints(world);
+    }
+    int size = endpoints.size();
+    List<IItemHandler> targets = new ArrayList<IItemHandler>(size);
+    for (int i = 0; i < size; i++) {
+      Endpoint endpoint = endpoints.get((cursor + i) % size);
+      if (endpoint.target.equals(source)) {
+        continue;
+      }
+      if (endpoint.cable.isInvalid()) {
+        endpointsDirty = true;
+        continue;
+      }
+      IItemHandler handlerOutput = endpoint.getHandler(world, CapabilityItemHandler.ITEM_HANDLER_CAPABILITY);
+      if (handlerOutput == null) {
+        endpointsDirty = true;
+        continue;
+      }
+      targets.add(handlerOutput);
+    }
+    if (size > 0) {
+      advanceCursor(cursor);
+    }
+    return depositBatch(batch, targets);
+  }
+
+  /**
+   * each stack goes to the first target with room, spilling into the next ones
+   * 
+   * @return leftovers, empty list if everything was delivered
+   */
+  public static List<ItemStack> depositBatch(List<ItemStack> batch, List<IItemHandler> targets) {
+    List<ItemStack> leftovers = new ArrayList<ItemStack>();
+    for (ItemStack stack : batch) {
+      ItemStack remaining = stack;
+      for (IItemHandler target : targets) {
+        //deposit only fills one slot per call, keep going while the target is taking items
+        int before;
+        do {
+          before = remaining.getCount();
+          remaining = UtilItemStack.tryDepositToHandler(target, remaining);
+        }
+        while (remaining.isEmpty() == false && remaining.getCount() < before);
+        if (remaining.isEmpty()) {
+          break;
+        }
+      }
+      if (remaining.isEmpty() == false) {
+        leftovers.add(remaining);
+      }
+    }
+    return leftovers;
+  }
+
+  private void transferFluid(World world, TileEntityCableBase cable) {
+    int size = endpoints.size();
+    int start = cursor;
+    for (int i = 0; i < size; i++) {
+      if (cable.tank.getFluidAmount() <= 0) {
+        return;
+      }
+      int index = (start + i) % size;
+      Endpoint endpoint = endpoints.get(index);
+      if (canDeliver(world, cable, endpoint) == false) {
+        continue;
+      }
+      IFluidHandler handlerOutput = endpoint.getHandler(world, CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY);
+      if (handlerOutput == null) {
+        endpointsDirty = true;
+        continue;
+      }
+      if (UtilFluid.tryFillPositionFromTank(handlerOutput, cable.tank, TileEntityCableBase.TRANSFER_FLUID_PER_TICK)) {
+        advanceCursor(index);
+      }
+    }
+  }
+
+  private void transferEnergy(World world, TileEntityCableBase cable) {
+    IEnergyStorage handlerHere = cable.getCapability(CapabilityEnergy.ENERGY, null);
+    if (handlerHere == null || handlerHere.canExtract() == false) {
+      return;
+    }
+    int size = endpoints.size();
+    int start = cursor;
+    for (int i = 0; i < size; i++) {
+      if (handlerHere.getEnergyStored() <= 0) {
+        return;
+      }
+      int index = (start + i) % size;
+      Endpoint endpoint = endpoints.get(index);
+      if (canDeliver(world, cable, endpoint) == false) {
+        continue;
+      }
+      IEnergyStorage handlerOutput = endpoint.getHandler(world, CapabilityEnergy.ENERGY);
+      if (handlerOutput == null) {
+        endpointsDirty = true;
+        continue;
+      }
+      if (handlerOutput.canReceive() == false) {
+        continue;
+      }
+      int drain = handlerHere.extractEnergy(TileEntityCableBase.MENERGY, true);
+      if (drain > 0) {
+        int filled = handlerOutput.receiveEnergy(drain, false);
+        handlerHere.extractEnergy(filled, false);
+        if (filled > 0) {
+          advanceCursor(index);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.block.cable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.annotation.Nullable;
+import com.google.common.collect.Maps;
+import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.block.cable.CableNetwork.NetworkType;
+import com.lothrazar.cyclicmagic.block.cable.item.TileEntityItemCable;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemStackHandler;
+
+/**
+ * Tracks every loaded cable in one world and keeps them grouped into {@link CableNetwork}s, one graph per transport type.
+ * 
+ * Cables join when they load or are placed, and leave when broken or unloaded. Joining merges neighboring networks right away; leaving only flags the network and the possible split is resolved
+ * once on its next tick, so unloading a chunk full of cables does not flood fill the graph once per cable
+ */
+public class CableNetworkManager {
+
+  private static final Map<World, CableNetworkManager> MANAGERS = new WeakHashMap<World, CableNetworkManager>();
+  private final Map<Long, TileEntityCableBase> loaded = Maps.newHashMap();
+
+  /**
+   * the map is weak, but the cables in it hold their world. a stopping server unloads its worlds without unloading their chunks first, so the entry is removed here
+   */
+  public static void unload(World world) {
+    MANAGERS.remove(world);
+  }
+
+  /**
+   * null once the world has unloaded, so late removals do not put it back
+   */
+  @Nullable
+  public static CableNetworkManager getIfPresent(World world) {
+    return MANAGERS.get(world);
+  }
+
+  public static CableNetworkManager get(World world) {
+    CableNetworkManager manager = MANAGERS.get(world);
+    if (manager == null) {
+      manager = new CableNetworkManager();
+      MANAGERS.put(world, manager);
+    }
+    return manager;
+  }
+
+  public int getLoadedCount() {
+    return loaded.size();
+  }
+
+  public void addCable(TileEntityCableBase cable) {
+    loaded.put(cable.getPos().toLong(), cable);
+    for (NetworkType type : NetworkType.values()) {
+      if (type.isCarriedBy(cable) == false) {
+        continue;
+      }
+      CableNetwork largest = null;
+      List<CableNetwork> touching = new ArrayList<CableNetwork>();
+      for (EnumFacing side : EnumFacing.values()) {
+        TileEntityCableBase other = getConnected(cable, side, type);
+        if (other == null || other.getNetwork(type) == null || touching.contains(other.getNetwork(type))) {
+          continue;
+        }
+        CableNetwork found = other.getNetwork(type);
+        touching.add(found);
+        if (largest == null || found.size() > largest.size()) {
+          largest = found;
+        }
+      }
+      if (largest == null) {
+        largest = new CableNetwork(this, type);
+      }
+      for (CableNetwork other : touching) {
+        if (other != largest) {
+          largest.absorb(other);
+        }
+      }
+      largest.add(cable);
+    }
+  }
+
+  public void removeCable(TileEntityCableBase cable) {
+    long key = cable.getPos().toLong();
+    if (loaded.get(key) != cable) {
+      return;
+    }
+    loaded.remove(key);
+    for (NetworkType type : NetworkType.values()) {
+      CableNetwork network = cable.getNetwork(type);
+      if (network != null) {
+        network.remove(cable);
+      }
+    }
+  }
+
+  /**
+   * connections changed on this cable, for example a side was blocked with the wrench
+   */
+  public void refreshCable(TileEntityCableBase cable) {
+    this.removeCable(cable);
+    this.addCable(cable);
+  }
+
+  /**
+   * something next to this cable changed, so its networks need to look for endpoints again
+   */
+  public void onNeighborChanged(TileEntityCableBase cable) {
+    for (NetworkType type : NetworkType.values()) {
+      CableNetwork network = cable.getNetwork(type);
+      if (network != null) {
+        network.markEndpointsDirty();
+      }
+    }
+  }
+
+  /**
+   * the loaded neighbor on this side if both cables carry the type and neither side is blocked
+   */
+  private TileEntityCableBase getConnected(TileEntityCableBase cable, EnumFacing side, NetworkType type) {
+    if (cable.getBlacklist(side)) {
+      return null;
+    }
+    TileEntityCableBase other = loaded.get(cable.getPos().offset(side).toLong());
+    if (other == null || type.isCarriedBy(other) == false || other.getBlacklist(side.getOpposite())) {
+      return null;
+    }
+    return other;
+  }
+
+  /**
+   * Flood fill the network after cables left it. The first connected group keeps the network, any other group gets a new one
+   */
+  void splitDisconnected(CableNetwork network) {
+    network.clearTopologyDirty();
+    if (network.isEmpty()) {
+      return;
+    }
+    List<TileEntityCableBase> remaining = new ArrayList<TileEntityCableBase>(network.getCables());
+    Map<Long, Boolean> visited = Maps.newHashMap();
+    TileEntityCableBase first = remaining.get(0);
+    List<TileEntityCableBase> group = floodFill(first, network, visited);
+    if (group.size() == remaining.size()) {
+      return;//still in one piece
+    }
+    NetworkType type = network.getType();
+    for (TileEntityCableBase cable : remaining) {
+      if (visited.containsKey(cable.getPos().toLong())) {
+        continue;
+      }
+      CableNetwork split = new CableNetwork(this, type);
+      for (TileEntityCableBase moved : floodFill(cable, network, visited)) {
+        network.remove(moved);
+        split.add(moved);
+      }
+      split.clearTopologyDirty();
+    }
+    network.clearTopologyDirty();
+  }
+
+  private List<TileEntityCableBase> floodFill(TileEntityCableBase start, CableNetwork network, Map<Long, Boolean> visited) {
+    List<TileEntityCableBase> group = new ArrayList<TileEntityCableBase>();
+    Deque<TileEntityCableBase> queue = new ArrayDeque<TileEntityCableBase>();
+    visited.put(start.getPos().toLong(), true);
+    queue.add(start);
+    while (queue.isEmpty() == false) {
+      TileEntityCableBase current = queue.poll();
+      group.add(current);
+      for (EnumFacing side : EnumFacing.values()) {
+        TileEntityCableBase other = getConnected(current, side, network.getType());
+        if (other == null || network.contains(other.getPos()) == false) {
+          continue;
+        }
+        if (visited.put(other.getPos().toLong(), true) == null) {
+          queue.add(other);
+        }
+      }
+    }
+    return group;
+  }
+
+  /**
+   * Benchmark logged when unit tests are enabled in the config. Builds a straight line of item cables with an inventory above every hundredth one, then times network ticks where every tenth
+   * cable holds a full stack that has to be delivered. Finally breaks the middle cable and times the split.
+   */
+  public static void unitTests() {
+    int ticks = 200;
+    for (int count : new int[] { 100, 1000, 10000 }) {
+      CableNetworkManager manager = new CableNetworkManager();
+      List<TileEntityCableBase> line = new ArrayList<TileEntityCableBase>();
+      for (int i = 0; i < count; i++) {
+        TileEntityCableBase cable = new TileEntityItemCable();
+        cable.setPos(new BlockPos(i, 64, 0));
+        line.add(cable);
+      }
+      long start = System.nanoTime();
+      for (TileEntityCableBase cable : line) {
+        manager.addCable(cable);
+      }
+      long assemble = System.nanoTime() - start;
+      CableNetwork network = line.get(0).getNetwork(NetworkType.ITEM);
+      //a real handler that takes everything, so the targets never fill up during the run
+      final long[] received = new long[1];
+      final IItemHandler sink = new ItemStackHandler(1) {
+
+        @Override
+        public ItemStack insertItem(int slot, ItemStack stack, boolean simulate) {
+          if (simulate == false) {
+            received[0] += stack.getCount();
+          }
+          return ItemStack.EMPTY;
+        }
+      };
+      for (int i = 0; i < count; i += 100) {
+        network.addEndpoint(new CableNetwork.Endpoint(line.get(i), EnumFacing.UP) {
+
+          @SuppressWarnings("unchecked")
+          @Override
+          <T> T getHandler(World world, Capability<T> capability) {
+            return (T) sink;
+          }
+        });
+      }
+      long sent = 0;
+      long elapsed = 0;
+      for (long t = 0; t < ticks; t++) {
+        for (int i = 0; i < count; i += 10) {
+          line.get(i).setInventorySlotContents(0, new ItemStack(Items.IRON_INGOT, 64));
+          sent += 64;
+        }
+        start = System.nanoTime();
+        //every member calls in, only the first one per tick does the work
+        for (TileEntityCableBase cable : line) {
+          if (cable.getNetwork(NetworkType.ITEM).markTicked(t)) {
+            network.transfer(null);
+          }
+        }
+        elapsed += System.nanoTime() - start;
+      }
+      long perTick = elapsed / ticks;
+      start = System.nanoTime();
+      manager.removeCable(line.get(count / 2));
+      manager.splitDisconnected(network);
+      long split = System.nanoTime() - start;
+      boolean splitOk = line.get(0).getNetwork(NetworkType.ITEM) != line.get(count - 1).getNetwork(NetworkType.ITEM);
+      ModCyclic.logger.logTestResult(String.format("CableNetwork cables=%d endpoints=%d assemble=%dus tick=%dns items/tick=%d split=%dus expect true %s %s",
+          count, network.getEndpointCount(), assemble / 1000, perTick, sent / ticks, split / 1000, received[0] == sent, splitOk));
+    }
+  }
+}
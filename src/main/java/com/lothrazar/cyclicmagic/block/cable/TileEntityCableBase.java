@@ -33,6 +33,7 @@ import javax.annotation.Nullable;
 import com.google.common.collect.Maps;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.block.IFacingBlacklist;
+import com.lothrazar.cyclicmagic.block.cable.CableNetwork.NetworkType;
 import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachineFluid;
 import com.lothrazar.cyclicmagic.capability.EnergyStore;
 import com.lothrazar.cyclicmagic.liquid.FluidTankBase;
@@ -51,6 +52,9 @@ import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.energy.CapabilityEnergy;
 import net.minecraftforge.energy.IEnergyStorage;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.IItemHandler;
 
 public abstract class TileEntityCableBase extends TileEntityBaseMachineFluid implements ITickable, IFacingBlacklist {
 
@@ -59,6 +63,10 @@ public abstract class TileEntityCableBase extends TileEntityBaseMachineFluid imp
   public static final int TRANSFER_FLUID_PER_TICK = 1000;
   //config
   private static final int TICKS_TEXT_CACHED = TIMER_SIDE_INPUT * 2;
+  /**
+   * true: move contents once per connected network from source cables straight to endpoints. false: old style where each cable pushes to its neighbors
+   */
+  public static boolean networkTransfer = true;
   private int labelTimer = 0;
   private String labelText = "";
   private boolean itemTransport = false;
@@ -68,11 +76,13 @@ public abstract class TileEntityCableBase extends TileEntityBaseMachineFluid imp
   protected Map<EnumFacing, Integer> mapIncomingItems = Maps.newHashMap();
   private Map<EnumFacing, Integer> mapIncomingEnergy = Maps.newHashMap();
   private Map<EnumFacing, Boolean> mapBlacklist = Maps.newHashMap();
+  private Map<NetworkType, CableNetwork> networks = Maps.newEnumMap(NetworkType.class);
 
   public TileEntityCableBase(boolean hasItems, boolean hasFluid, boolean hasEnergy) {
     super((hasItems) ? 1 : 0);
     if (hasFluid) {
       tank = new FluidTankBase(MENERGY);
+      tank.setTileEntity(this);
     }
     if (hasEnergy) {
       initEnergy(new EnergyStore(MENERGY), 0);
@@ -101,6 +111,63 @@ public abstract class TileEntityCableBase extends TileEntityBaseMachineFluid imp
     return this.energyTransport;
   }
 
+  public CableNetwork getNetwork(NetworkType type) {
+    return networks.get(type);
+  }
+
+  void setNetwork(NetworkType type, CableNetwork network) {
+    if (network == null) {
+      networks.remove(type);
+    }
+    else {
+      networks.put(type, network);
+    }
+  }
+
+  @Override
+  public void onLoad() {
+    if (world != null && !world.isRemote) {
+      CableNetworkManager.get(world).addCable(this);
+    }
+  }
+
+  @Override
+  public void onChunkUnload() {
+    super.onChunkUnload();
+    if (!world.isRemote) {
+      CableNetworkManager manager = CableNetworkManager.getIfPresent(world);
+      if (manager != null) {
+        manager.removeCable(this);
+      }
+    }
+  }
+
+  /**
+   * cables never show what they carry, so moving items through them sends nothing to clients
+   */
+  @Override
+  protected void markSlotDirty(int index) {}
+
+  @Override
+  public void onNeighborChanged(BlockPos fromPos) {
+    super.onNeighborChanged(fromPos);
+    if (!world.isRemote) {
+      //an inventory may have appeared or gone away, endpoints get rescanned on next network tick
+      CableNetworkManager.get(world).onNeighborChanged(this);
+    }
+  }
+
+  @Override
+  public void invalidate() {
+    super.invalidate();
+    if (world != null && !world.isRemote) {
+      CableNetworkManager manager = CableNetworkManager.getIfPresent(world);
+      if (manager != null) {
+        manager.removeCable(this);
+      }
+    }
+  }
+
   @Override
   public void readFromNBT(NBTTagCompound compound) {
     super.readFromNBT(compound);
@@ -223,6 +290,18 @@ public abstract class TileEntityCableBase extends TileEntityBaseMachineFluid imp
     return mapIncomingItems.get(face) > 0;
   }
 
+  boolean isIncomingFromFace(NetworkType type, EnumFacing face) {
+    switch (type) {
+      case ITEM:
+        return this.isItemIncomingFromFace(face);
+      case FLUID:
+        return this.isFluidIncomingFromFace(face);
+      case ENERGY:
+        return this.isEnergyIncomingFromFace(face);
+    }
+    return false;
+  }
+
   @Override
   public void update() {
     this.tickLabelText();
@@ -239,14 +318,62 @@ public abstract class TileEntityCableBase extends TileEntityBaseMachineFluid imp
     //now look over any sides that are NOT incoming, try to export
     //Actually shuffle the positions. if we are at a 3 way juncture, spread out where it goes first
     try {
-      if (!world.isRemote)
-        tickCableFlow();
+      if (!world.isRemote) {
+        if (networkTransfer) {
+          tickNetworks();
+        }
+        else {
+          tickCableFlow();
+        }
+      }
     }
     catch (Exception e) {
       // errors from other mods as well as this.
       //example:  mcjty.rftools.blocks.powercell.PowerCellTileEntity.getNetwork(PowerCellTileEntity.java:155)
       ModCyclic.logger.error("Error outputing from cable", e);
     }
+    if (!world.isRemote && this.isIdle()) {
+      //nothing to move, an item, fluid or energy arriving wakes us back up
+      this.sleep(0);
+    }
+  }
+
+  private boolean isIdle() {
+    if (this.labelText.isEmpty() == false) {
+      return false;
+    }
+    if (this.itemTransport && (this.getStackInSlot(0).isEmpty() == false || hasAnyPositive(mapIncomingItems))) {
+      return false;
+    }
+    if (this.fluidTransport && (this.tank.getFluidAmount() > 0 || hasAnyPositive(mapIncomingFluid))) {
+      return false;
+    }
+    if (this.energyTransport && (this.getEnergyCurrent() > 0 || hasAnyPositive(mapIncomingEnergy))) {
+      return false;
+    }
+    return true;
+  }
+
+  private static boolean hasAnyPositive(Map<EnumFacing, Integer> map) {
+    for (Integer value : map.values()) {
+      if (value > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void tickNetworks() {
+    for (NetworkType type : NetworkType.values()) {
+      if (type.isCarriedBy(this) == false) {
+        continue;
+      }
+      if (this.getNetwork(type) == null) {
+        //missed onLoad somehow, join now
+        CableNetworkManager.get(world).addCable(this);
+      }
+      this.getNetwork(type).tick(world);
+    }
   }
 
   private void tickCableFlow() {
@@ -276,23 +403,23 @@ public abstract class TileEntityCableBase extends TileEntityBaseMachineFluid imp
     if (this.getStackInSlot(SLOT).isEmpty()) {
       return;
     }
-    ItemStack stackToExport = this.getStackInSlot(SLOT).copy();
-    //ok,  not incoming from here. so lets output some
-    BlockPos posTarget = pos.offset(myFacingDir);
-    TileEntity tileTarget = world.getTileEntity(posTarget);
-    if (tileTarget == null) {
+    IItemHandler handlerOutput = this.getHandlerCache(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY).getNeighbor(this, myFacingDir);
+    if (handlerOutput == null) {
       return;
     }
+    ItemStack stackToExport = this.getStackInSlot(SLOT).copy();
+    //ok,  not incoming from here. so lets output some
     boolean outputSuccess = false;
     EnumFacing themFacingMe = myFacingDir.getOpposite();
-    ItemStack leftAfterDeposit = UtilItemStack.tryDepositToHandler(world, posTarget, themFacingMe, stackToExport);
+    ItemStack leftAfterDeposit = UtilItemStack.tryDepositToHandler(handlerOutput, stackToExport);
     if (leftAfterDeposit.isEmpty() || leftAfterDeposit.getCount() != stackToExport.getCount()) {
       //then save result
       //tood capability for sided
       this.setInventorySlotContents(SLOT, leftAfterDeposit);
       outputSuccess = true;
     }
-    if (outputSuccess && tileTarget instanceof TileEntityCableBase) {
+    TileEntity tileTarget = outputSuccess ? world.getTileEntity(pos.offset(myFacingDir)) : null;
+    if (tileTarget instanceof TileEntityCableBase) {
       //TODO: not so compatible with other fluid systems. itl do i guess
       TileEntityCableBase cable = (TileEntityCableBase) tileTarget;
       if (cable.isItemPipe()) {
@@ -310,8 +437,12 @@ public abstract class TileEntityCableBase extends TileEntityBaseMachineFluid imp
     if (hasAnyIncomingFluidFaces() && toFlow >= tank.getFluidAmount()) {
       toFlow = tank.getFluidAmount();//NOPE// - 1;//keep at least 1 unit in the tank if flow is moving
     }
+    IFluidHandler handlerOutput = this.getHandlerCache(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY).getNeighbor(this, myFacingDir);
+    if (handlerOutput == null) {
+      return;
+    }
     BlockPos posTarget = pos.offset(myFacingDir);
-    boolean outputSuccess = UtilFluid.tryFillPositionFromTank(world, posTarget, themFacingMe, tank, toFlow);
+    boolean outputSuccess = UtilFluid.tryFillPositionFromTank(handlerOutput, tank, toFlow);
     if (outputSuccess) {
       TileEntity tileTarget = world.getTileEntity(posTarget);
       if (tileTarget instanceof TileEntityCableBase) {
@@ -330,13 +461,11 @@ public abstract class TileEntityCableBase extends TileEntityBaseMachineFluid imp
       return;
     }
     EnumFacing themFacingMe = myFacingDir.getOpposite();
-    BlockPos posTarget = pos.offset(myFacingDir);
-    TileEntity tileTarget = world.getTileEntity(posTarget);
-    if (tileTarget == null || tileTarget.hasCapability(CapabilityEnergy.ENERGY, themFacingMe) == false) {
+    IEnergyStorage handlerOutput = this.getHandlerCache(CapabilityEnergy.ENERGY).getNeighbor(this, myFacingDir);
+    if (handlerOutput == null) {
       return;
     }
-    IEnergyStorage handlerOutput = tileTarget.getCapability(CapabilityEnergy.ENERGY, themFacingMe);
-    if (handlerHere != null && handlerOutput != null
+    if (handlerHere != null
         && handlerHere.canExtract() && handlerOutput.canReceive()) {
       //first simulate
       int drain = handlerHere.extractEnergy(MENERGY, true);
@@ -345,7 +474,8 @@ public abstract class TileEntityCableBase extends TileEntityBaseMachineFluid imp
         int filled = handlerOutput.receiveEnergy(drain, false);
         //now actually drain that much from here
         handlerHere.extractEnergy(filled, false);
-        if (filled > 0 && tileTarget instanceof TileEntityCableBase) {
+        TileEntity tileTarget = (filled > 0) ? world.getTileEntity(pos.offset(myFacingDir)) : null;
+        if (tileTarget instanceof TileEntityCableBase) {
           //TODO: not so compatible with other fluid systems. itl do i guess
           TileEntityCableBase cable = (TileEntityCableBase) tileTarget;
           if (cable.isEnergyPipe()) {
@@ -435,5 +565,9 @@ public abstract class TileEntityCableBase extends TileEntityBaseMachineFluid imp
   @Override
   public void toggleBlacklist(final EnumFacing side) {
     mapBlacklist.put(side, !mapBlacklist.get(side));
+    this.invalidateHandlerCaches(side);
+    if (world != null && !world.isRemote) {
+      CableNetworkManager.get(world).refreshCable(this);
+    }
   }
 }
@@ -46,6 +46,7 @@ public class TileEntityBasePump extends TileEntityBaseMachineFluid implements IF
   @Override
   public void toggleBlacklist(final EnumFacing side) {
     mapBlacklist.put(side, !mapBlacklist.get(side));
+    this.invalidateHandlerCaches(side);
   }
 
   @Override
@@ -30,7 +30,6 @@ import com.lothrazar.cyclicmagic.block.cablepump.TileEntityBasePump;
 import com.lothrazar.cyclicmagic.capability.EnergyStore;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ITickable;
 import net.minecraftforge.common.capabilities.Capability;
@@ -86,14 +85,9 @@ public class TileEntityEnergyPump extends TileEntityBasePump implements ITickabl
     }
     EnumFacing importFromSide = this.getCurrentFacing();
     IEnergyStorage myEnergy = this.getCapability(CapabilityEnergy.ENERGY, null);
-    TileEntity importFromTile = world.getTileEntity(pos.offset(importFromSide));
     IEnergyStorage exportHandler = null;
-    IEnergyStorage importHandlr = null;
-    if (importFromTile != null && importFromTile.hasCapability(CapabilityEnergy.ENERGY, importFromSide.getOpposite())) {
-      importHandlr = importFromTile.getCapability(CapabilityEnergy.ENERGY, importFromSide.getOpposite());
-      // ModCyclic.logger.error("importFromTile  "+importFromTile.getBlockType().getLocalizedName());
-    }
-    else {
+    IEnergyStorage importHandlr = this.getHandlerCache(CapabilityEnergy.ENERGY).getNeighbor(this, importFromSide);
+    if (importHandlr == null) {
       return; //no tile or no capability
     }
     //ALL EXCEPT THIS SIDE
@@ -114,11 +108,7 @@ public class TileEntityEnergyPump extends TileEntityBasePump implements ITickabl
       if (this.hasCapability(CapabilityEnergy.ENERGY, exportToSide) == false) {
         continue;
       }
-      TileEntity exportToTile = world.getTileEntity(pos.offset(exportToSide));
-      if (exportToTile != null && importFromTile.hasCapability(CapabilityEnergy.ENERGY, exportToSide.getOpposite())) {
-        exportHandler = exportToTile.getCapability(CapabilityEnergy.ENERGY, exportToSide.getOpposite());
-        //   ModCyclic.logger.error("exportToTile   "+exportToTile.getBlockType().getLocalizedName());
-      }
+      exportHandler = this.getHandlerCache(CapabilityEnergy.ENERGY).getNeighbor(this, exportToSide);
       if (exportHandler != null && exportHandler.canReceive()) {
         int drain = myEnergy.extractEnergy(transferRate, true);
         if (drain > 0) {
@@ -43,6 +43,7 @@ import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
 
 public class TileEntityFluidPump extends TileEntityBasePump implements ITickable, ITileRedstoneToggle, ITileFluidWrapper {
 
@@ -57,6 +58,7 @@ public class TileEntityFluidPump extends TileEntityBasePump implements ITickable
   public TileEntityFluidPump() {
     super(0);
     tank = new FluidTankBase(Fluid.BUCKET_VOLUME);
+    tank.setTileEntity(this);
   }
 
   @Override
@@ -118,7 +120,11 @@ public class TileEntityFluidPump extends TileEntityBasePump implements ITickable
     }
     EnumFacing themFacingMe = myFacingDir.getOpposite();
     BlockPos posSide = pos.offset(myFacingDir);
-    boolean outputSuccess = UtilFluid.tryFillPositionFromTank(world, posSide, themFacingMe, tank, transferRate);
+    IFluidHandler handlerOutput = this.getHandlerCache(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY).getNeighbor(this, myFacingDir);
+    if (handlerOutput == null) {
+      return;
+    }
+    boolean outputSuccess = UtilFluid.tryFillPositionFromTank(handlerOutput, tank, transferRate);
     if (outputSuccess && world.getTileEntity(posSide) instanceof TileEntityCableBase) {
       //TODO capability for sided
       TileEntityCableBase cable = (TileEntityCableBase) world.getTileEntity(posSide);
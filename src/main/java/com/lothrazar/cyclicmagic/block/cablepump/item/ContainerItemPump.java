@@ -37,6 +37,8 @@ public class ContainerItemPump extends ContainerBaseMachine {
 
   public static final int SLOTX_START = Const.PAD;
   public static final int SLOTY = Const.SQ + Const.PAD * 4;
+  //transfer and bulk buffer slots are internal, none are shown
+  private static final int TILE_SLOTS = 0;
 
   public ContainerItemPump(InventoryPlayer inventoryPlayer, TileEntityItemPump te) {
     super(te);
@@ -52,14 +54,14 @@ public class ContainerItemPump extends ContainerBaseMachine {
       ItemStack stackInSlot = slotObject.getStack();
       stack = stackInSlot.copy();
       // merges the item into player inventory since its in the tileEntity
-      if (slot < tile.getSizeInventory() - 1) {
-        if (!this.mergeItemStack(stackInSlot, tile.getSizeInventory() - 1, 36 + tile.getSizeInventory() - 1, true)) {
+      if (slot < TILE_SLOTS) {
+        if (!this.mergeItemStack(stackInSlot, TILE_SLOTS, 36 + TILE_SLOTS, true)) {
           return ItemStack.EMPTY;
         }
       }
       // places it into the tileEntity is possible since its in the player
       // inventory
-      else if (!this.mergeItemStack(stackInSlot, 0, tile.getSizeInventory() - 1, false)) {
+      else if (!this.mergeItemStack(stackInSlot, 0, TILE_SLOTS, false)) {
         return ItemStack.EMPTY;
       }
       if (stackInSlot.getCount() == 0) {
@@ -39,6 +39,7 @@ public class GuiItemPump extends GuiBaseContainer {
 
   private ITileStackWrapper te;
   private ButtonTileEntityField filterBtn;
+  private ButtonTileEntityField bulkBtn;
   private GuiSliderInteger slider;
 
   public GuiItemPump(InventoryPlayer inventoryPlayer, TileEntityItemPump tileEntity) {
@@ -59,6 +60,12 @@ public class GuiItemPump extends GuiBaseContainer {
         tile.getPos(), TileEntityItemPump.Fields.FILTERTYPE.ordinal(), 1,
         20, 20);
     this.addButton(filterBtn);
+    bulkBtn = new ButtonTileEntityField(
+        id++,
+        x - 22, y,
+        tile.getPos(), TileEntityItemPump.Fields.BULK.ordinal(), 1,
+        20, 20);
+    this.addButton(bulkBtn);
     int fld = TileEntityItemPump.Fields.SPEED.ordinal();
     int w = 164;
     int h = 12;
@@ -106,5 +113,8 @@ public class GuiItemPump extends GuiBaseContainer {
     int filterType = tile.getField(TileEntityItemPump.Fields.FILTERTYPE.ordinal());
     filterBtn.setTooltip(UtilChat.lang("button.itemfilter.tooltip.type" + filterType));
     filterBtn.setTextureIndex(11 + filterType);
+    int bulk = tile.getField(TileEntityItemPump.Fields.BULK.ordinal());
+    bulkBtn.setTooltip(UtilChat.lang("button.itempump.tooltip.bulk" + bulk));
+    bulkBtn.setTextureIndex(5 + bulk);
   }
 }
@@ -24,41 +24,52 @@
 package com.lothrazar.cyclicmagic.block.cablepump.item;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import javax.annotation.Nullable;
+import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.block.cable.CableNetwork;
+import com.lothrazar.cyclicmagic.block.cable.CableNetwork.NetworkType;
 import com.lothrazar.cyclicmagic.block.cable.TileEntityCableBase;
 import com.lothrazar.cyclicmagic.block.cablepump.TileEntityBasePump;
+import com.lothrazar.cyclicmagic.block.core.MachineSleepScheduler;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
 import com.lothrazar.cyclicmagic.data.ITileStackWrapper;
 import com.lothrazar.cyclicmagic.data.StackWrapper;
 import com.lothrazar.cyclicmagic.util.UtilItemStack;
+import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.NonNullList;
-import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemStackHandler;
 import net.minecraftforge.oredict.OreDictionary;
 
 public class TileEntityItemPump extends TileEntityBasePump implements ITileStackWrapper, ITickable, ITileRedstoneToggle {
 
   private NonNullList<StackWrapper> stacksWrapped = NonNullList.withSize(9, new StackWrapper());
   private static final int SLOT_TRANSFER = 0;
+  /**
+   * extra hidden slots used as the buffer in bulk mode, not exposed for insert or extract
+   */
+  public static final int BULK_SLOTS = 8;
 
   public static enum Fields {
-    REDSTONE, FILTERTYPE, SPEED;
+    REDSTONE, FILTERTYPE, SPEED, BULK;
   }
 
   private int itemTransferCooldown = 0;
   private int filterType = 0;
+  private int bulkMode = 0;
 
   public TileEntityItemPump() {
-    super(1);
+    super(1 + BULK_SLOTS);
     this.setSlotsForExtract(0);
     this.setSlotsForInsert(0);
     this.speed = 1;
@@ -78,6 +89,8 @@ public class TileEntityItemPump extends TileEntityBasePump implements ITileStack
         return this.needsRedstone;
       case SPEED:
         return speed;
+      case BULK:
+        return this.bulkMode;
     }
     return 0;
   }
@@ -94,6 +107,9 @@ public class TileEntityItemPump extends TileEntityBasePump implements ITileStack
       case SPEED:
         this.speed = value;
       break;
+      case BULK:
+        this.bulkMode = value % 2;
+      break;
     }
   }
 
@@ -102,6 +118,10 @@ public class TileEntityItemPump extends TileEntityBasePump implements ITileStack
     return this.filterType == 1;
   }
 
+  public boolean isBulkMode() {
+    return this.bulkMode == 1;
+  }
+
   private boolean isStackInvalid(ItemStack stackToTest) {
     List<ItemStack> inventoryContents = getFilterNonempty();
     //edge case: if list is empty ?? should be covered already
@@ -148,10 +168,142 @@ public class TileEntityItemPump extends TileEntityBasePump implements ITileStack
   @Override
   public void update() {
     if (this.isRunning() == false) {
+      //redstone changes come in as neighbor updates, which wake us
+      this.sleep(0);
+      return;
+    }
+    if (this.isBulkMode() || this.hasBatch()) {
+      //also drain leftover buffer slots after bulk mode is turned off
+      this.tryExportBatch();
+    }
+    if (this.isBulkMode()) {
+      this.tryImportBatch();
+      if (this.getBatch().isEmpty()) {
+        this.sleep(MachineSleepScheduler.idleTicks);
+      }
       return;
     }
     this.tryExport();
     this.tryImport();
+    if (this.getStackInSlot(SLOT_TRANSFER).isEmpty()) {
+      //nothing to pull. the source filling up is not always a neighbor update, so check back later
+      this.sleep(MachineSleepScheduler.idleTicks);
+    }
+  }
+
+  private boolean hasBatch() {
+    for (int i = SLOT_TRANSFER + 1; i < this.getSizeInventory(); i++) {
+      if (this.getStackInSlot(i).isEmpty() == false) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private List<ItemStack> getBatch() {
+    List<ItemStack> batch = new ArrayList<ItemStack>();
+    for (int i = 0; i < this.getSizeInventory(); i++) {
+      if (this.getStackInSlot(i).isEmpty() == false) {
+        batch.add(this.getStackInSlot(i).copy());
+      }
+    }
+    return batch;
+  }
+
+  private void setBatch(List<ItemStack> leftovers) {
+    for (int i = 0; i < this.getSizeInventory(); i++) {
+      this.setInventorySlotContents(i, i < leftovers.size() ? leftovers.get(i) : ItemStack.EMPTY);
+    }
+  }
+
+  /**
+   * push the whole buffer out in one go. if the neighbor is part of a cable network, the network hands the batch straight to the inventories at its ends
+   */
+  public void tryExportBatch() {
+    List<ItemStack> batch = getBatch();
+    if (batch.isEmpty()) {
+      return;
+    }
+    int before = countItems(batch);
+    for (EnumFacing facingDir : getSidesNotFacing()) {
+      if (batch.isEmpty()) {
+        break;
+      }
+      if (this.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, facingDir) == false) {
+        continue;
+      }
+      TileEntity tileTarget = world.getTileEntity(pos.offset(facingDir));
+      CableNetwork network = null;
+      //the cable face toward us may be blocked, same as the per item path finding no handler there
+      if (TileEntityCableBase.networkTransfer && tileTarget instanceof TileEntityCableBase
+          && tileTarget.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, facingDir.getOpposite())) {
+        network = ((TileEntityCableBase) tileTarget).getNetwork(NetworkType.ITEM);
+      }
+      if (network != null) {
+        batch = network.deliverBatch(world, batch, pos);
+      }
+      else {
+        IItemHandler handlerOutput = this.getHandlerCache(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY).getNeighbor(this, facingDir);
+        if (handlerOutput == null) {
+          continue;
+        }
+        int beforeSide = countItems(batch);
+        batch = CableNetwork.depositBatch(batch, Arrays.asList(handlerOutput));
+        if (tileTarget instanceof TileEntityCableBase && countItems(batch) < beforeSide) {
+          TileEntityCableBase cable = (TileEntityCableBase) tileTarget;
+          if (cable.isItemPipe()) {
+            cable.updateIncomingItemFace(facingDir.getOpposite());
+          }
+        }
+      }
+    }
+    if (countItems(batch) < before) {
+      setBatch(batch);
+    }
+  }
+
+  public void tryImportBatch() {
+    IItemHandler itemHandlerFrom = this.getHandlerCache(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY).getNeighbor(this, this.getCurrentFacing());
+    if (itemHandlerFrom != null) {
+      pullBatch(itemHandlerFrom);
+    }
+  }
+
+  /**
+   * one pass over the source, pulling up to speed items from each matching slot until every buffer slot is used
+   * 
+   * @return number of items pulled
+   */
+  int pullBatch(IItemHandler itemHandlerFrom) {
+    int pulledTotal = 0;
+    int slotBuffer = 0;
+    ItemStack itemTarget;
+    for (int i = 0; i < itemHandlerFrom.getSlots(); i++) {
+      while (slotBuffer < this.getSizeInventory() && this.getStackInSlot(slotBuffer).isEmpty() == false) {
+        slotBuffer++;
+      }
+      if (slotBuffer >= this.getSizeInventory()) {
+        break;//buffer full
+      }
+      itemTarget = itemHandlerFrom.getStackInSlot(i);
+      if (itemTarget.isEmpty() || this.isStackInvalid(itemTarget)) {
+        continue;
+      }
+      ItemStack pulled = itemHandlerFrom.extractItem(i, this.speed, false);
+      if (pulled != null && pulled.isEmpty() == false) {
+        pulledTotal += pulled.getCount();
+        this.setInventorySlotContents(slotBuffer, pulled.copy());
+      }
+    }
+    return pulledTotal;
+  }
+
+  private static int countItems(List<ItemStack> stacks) {
+    int count = 0;
+    for (ItemStack s : stacks) {
+      count += s.getCount();
+    }
+    return count;
   }
 
   public void tryExport() {
@@ -166,17 +318,15 @@ public class TileEntityItemPump extends TileEntityBasePump implements ITileStack
         continue;
       }
       EnumFacing themFacingMe = facingDir.getOpposite();
-      BlockPos posTarget = pos.offset(facingDir);
-      TileEntity tileTarget = world.getTileEntity(posTarget);
-      if (tileTarget == null ||
-          tileTarget.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, themFacingMe) == false) {
+      IItemHandler handlerOutput = this.getHandlerCache(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY).getNeighbor(this, facingDir);
+      if (handlerOutput == null) {
         continue;
       }
       stackToExport = this.getStackInSlot(SLOT_TRANSFER).copy();
       if (stackToExport.isEmpty()) {
         continue;
       }
-      ItemStack leftAfterDeposit = UtilItemStack.tryDepositToHandler(world, posTarget, themFacingMe, stackToExport);
+      ItemStack leftAfterDeposit = UtilItemStack.tryDepositToHandler(handlerOutput, stackToExport);
       if (leftAfterDeposit.isEmpty() || leftAfterDeposit.getCount() != stackToExport.getCount()) {
         this.setInventorySlotContents(SLOT_TRANSFER, leftAfterDeposit);
         //one or more was put in
@@ -199,32 +349,37 @@ public class TileEntityItemPump extends TileEntityBasePump implements ITileStack
       return;//im full leave me alone
     }
     EnumFacing importFromSide = this.getCurrentFacing();
-    BlockPos posTarget = pos.offset(importFromSide);
-    TileEntity tileTarget = world.getTileEntity(posTarget);
-    if (tileTarget == null) {
-      return;
+    IItemHandler itemHandlerFrom = this.getHandlerCache(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY).getNeighbor(this, importFromSide);
+    if (itemHandlerFrom != null) {
+      pullSingle(itemHandlerFrom);
     }
+  }
+
+  /**
+   * pull up to speed items from the first matching slot into the transfer slot
+   * 
+   * @return number of items pulled
+   */
+  int pullSingle(IItemHandler itemHandlerFrom) {
     ItemStack itemTarget;
-    if (tileTarget.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, importFromSide.getOpposite())) {
-      IItemHandler itemHandlerFrom = tileTarget.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, importFromSide.getOpposite());
-      for (int i = 0; i < itemHandlerFrom.getSlots(); i++) {
-        itemTarget = itemHandlerFrom.getStackInSlot(i);
-        if (itemTarget.isEmpty()) {
-          continue;
-        }
-        //check against whitelist/blacklist system
-        if (this.isStackInvalid(itemTarget)) {
-          //          ModCyclic.logger.log("not valid " + itemTarget.getDisplayName());
-          continue;
-        }
-        //passed filter check, so do the transaction
-        ItemStack pulled = itemHandlerFrom.extractItem(i, this.speed, false);
-        if (pulled != null && pulled.isEmpty() == false) {
-          this.setInventorySlotContents(SLOT_TRANSFER, pulled.copy());
-          return;
-        }
+    for (int i = 0; i < itemHandlerFrom.getSlots(); i++) {
+      itemTarget = itemHandlerFrom.getStackInSlot(i);
+      if (itemTarget.isEmpty()) {
+        continue;
+      }
+      //check against whitelist/blacklist system
+      if (this.isStackInvalid(itemTarget)) {
+        //          ModCyclic.logger.log("not valid " + itemTarget.getDisplayName());
+        continue;
+      }
+      //passed filter check, so do the transaction
+      ItemStack pulled = itemHandlerFrom.extractItem(i, this.speed, false);
+      if (pulled != null && pulled.isEmpty() == false) {
+        this.setInventorySlotContents(SLOT_TRANSFER, pulled.copy());
+        return pulled.getCount();
       }
     }
+    return 0;
   }
 
   @Override
@@ -233,6 +388,7 @@ public class TileEntityItemPump extends TileEntityBasePump implements ITileStack
     itemTransferCooldown = compound.getInteger("itemTransferCooldown");
     needsRedstone = compound.getInteger(NBT_REDST);
     filterType = compound.getInteger("wbtype");
+    bulkMode = compound.getInteger("bulk");
     readStackWrappers(stacksWrapped, compound);
   }
 
@@ -242,6 +398,7 @@ public class TileEntityItemPump extends TileEntityBasePump implements ITileStack
     compound.setInteger(NBT_REDST, needsRedstone);
     compound.setInteger("itemTransferCooldown", itemTransferCooldown);
     compound.setInteger("wbtype", filterType);
+    compound.setInteger("bulk", bulkMode);
     return super.writeToNBT(compound);
   }
 
@@ -278,4 +435,45 @@ public class TileEntityItemPump extends TileEntityBasePump implements ITileStack
     }
     return super.hasCapability(capability, facing);
   }
+
+  /**
+   * items per tick ceiling of one pump at full speed, single stack vs bulk, draining a full double chest into four chests. no world needed, the network hand off is
+   * {@link CableNetwork#depositBatch}
+   */
+  public static void unitTests() {
+    for (boolean bulk : new boolean[] { false, true }) {
+      TileEntityItemPump pump = new TileEntityItemPump();
+      pump.speed = 64;
+      pump.bulkMode = bulk ? 1 : 0;
+      IItemHandler source = new ItemStackHandler(54);
+      for (int i = 0; i < source.getSlots(); i++) {
+        source.insertItem(i, new ItemStack(Blocks.COBBLESTONE, 64), false);
+      }
+      List<IItemHandler> targets = new ArrayList<IItemHandler>();
+      for (int i = 0; i < 4; i++) {
+        targets.add(new ItemStackHandler(27));
+      }
+      int total = 54 * 64;
+      int moved = 0;
+      int ticks = 0;
+      long start = System.nanoTime();
+      while (moved < total && ticks < 10000) {
+        ticks++;
+        List<ItemStack> batch = pump.getBatch();
+        int before = countItems(batch);
+        List<ItemStack> leftovers = CableNetwork.depositBatch(batch, targets);
+        moved += before - countItems(leftovers);
+        pump.setBatch(leftovers);
+        if (bulk) {
+          pump.pullBatch(source);
+        }
+        else {
+          pump.pullSingle(source);
+        }
+      }
+      long perTick = (System.nanoTime() - start) / ticks;
+      ModCyclic.logger.logTestResult(String.format("ItemPump bulk=%s moved=%d ticks=%d items/tick=%d tick=%dns",
+          bulk, moved, ticks, moved / ticks, perTick));
+    }
+  }
 }
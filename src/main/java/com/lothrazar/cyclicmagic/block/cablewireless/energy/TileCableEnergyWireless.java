@@ -1,7 +1,6 @@
 package com.lothrazar.cyclicmagic.block.cablewireless.energy;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -12,11 +11,8 @@ import com.lothrazar.cyclicmagic.data.BlockPosDim;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
 import com.lothrazar.cyclicmagic.item.locationgps.ItemLocationGps;
 import com.lothrazar.cyclicmagic.util.RenderUtil.LaserConfig;
-import com.lothrazar.cyclicmagic.util.UtilWorld;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.tileentity.TileEntity;
-import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.energy.CapabilityEnergy;
@@ -28,7 +24,16 @@ public class TileCableEnergyWireless extends TileEntityBaseMachineInvo implement
   public static final int SLOT_COUNT = 9;
   List<Integer> slotList = IntStream.rangeClosed(
       0, TileCableEnergyWireless.SLOT_COUNT).boxed().collect(Collectors.toList());
+  /**
+   * longest a full or missing target is skipped before being asked again
+   */
+  private static final int MAX_BACKOFF = 40;
   private int transferRate = MAX_TRANSFER / 2;
+  private final int[] backoff = new int[SLOT_COUNT];
+  private final long[] retryAt = new long[SLOT_COUNT];
+  private final IEnergyStorage[] targets = new IEnergyStorage[SLOT_COUNT];
+  private final int[] demand = new int[SLOT_COUNT];
+  private int remainderStart = 0;
 
   public static enum Fields {
     REDSTONE, TRANSFER_RATE, RENDERPARTICLES;
@@ -81,17 +86,95 @@ public class TileCableEnergyWireless extends TileEntityBaseMachineInvo implement
     return ItemLocationGps.getPosition(this.getStackInSlot(slot));
   }
 
+  @Override
+  public void setInventorySlotContents(int index, ItemStack stack) {
+    super.setInventorySlotContents(index, stack);
+    if (index >= 0 && index < SLOT_COUNT) {
+      backoff[index] = 0;
+      retryAt[index] = 0;
+    }
+  }
+
   @Override
   public void update() {
-    if (isRunning() == false) {
+    if (isRunning() == false || world.isRemote) {
       return;
     }
-    //shuffle into random order
-    Collections.shuffle(slotList);
-    for (int slot : slotList) {
-      //try to output the same rate to every location at the same speed
-      outputEnergy(slot);
+    distributeEnergy();
+  }
+
+  /**
+   * Ask every target how much it wants once, then split what we have in proportion to those demands. Each target still takes at most the transfer rate. Targets that want nothing or are
+   * missing are skipped for a doubling number of ticks
+   */
+  private void distributeEnergy() {
+    IEnergyStorage handlerHere = this.getCapability(CapabilityEnergy.ENERGY, null);
+    if (handlerHere.getEnergyStored() <= 0) {
+      //receiving energy wakes us up
+      this.sleep(0);
+      return;
+    }
+    long now = world.getTotalWorldTime();
+    long nextRetry = Long.MAX_VALUE;
+    int totalDemand = 0;
+    for (int slot = 0; slot < SLOT_COUNT; slot++) {
+      targets[slot] = null;
+      demand[slot] = 0;
+      if (this.getStackInSlot(slot).isEmpty()) {
+        continue;
+      }
+      if (now < retryAt[slot]) {
+        nextRetry = Math.min(nextRetry, retryAt[slot]);
+        continue;
+      }
+      IEnergyStorage handlerOutput = getTarget(slot);
+      int wanted = (handlerOutput == null) ? 0 : handlerOutput.receiveEnergy(transferRate, true);
+      if (wanted <= 0) {
+        backoff[slot] = Math.min(Math.max(1, backoff[slot] * 2), MAX_BACKOFF);
+        retryAt[slot] = now + backoff[slot];
+        nextRetry = Math.min(nextRetry, retryAt[slot]);
+        continue;
+      }
+      backoff[slot] = 0;
+      targets[slot] = handlerOutput;
+      demand[slot] = wanted;
+      totalDemand += wanted;
+    }
+    if (totalDemand <= 0) {
+      //with no cards at all, only an inventory change can give us work
+      this.sleep((nextRetry == Long.MAX_VALUE) ? 0 : (int) Math.min(nextRetry - now, MAX_BACKOFF));
+      return;
+    }
+    int available = handlerHere.extractEnergy(totalDemand, true);
+    if (available <= 0) {
+      return;
+    }
+    int[] share = new int[SLOT_COUNT];
+    int given = 0;
+    for (int slot = 0; slot < SLOT_COUNT; slot++) {
+      if (demand[slot] > 0) {
+        share[slot] = (available >= totalDemand) ? demand[slot] : (int) ((long) available * demand[slot] / totalDemand);
+        given += share[slot];
+      }
+    }
+    //rounding leftovers go one at a time, starting from a different slot each tick
+    for (int i = 0; i < SLOT_COUNT && given < available; i++) {
+      int slot = (remainderStart + i) % SLOT_COUNT;
+      if (demand[slot] > share[slot]) {
+        int extra = Math.min(demand[slot] - share[slot], available - given);
+        share[slot] += extra;
+        given += extra;
+      }
     }
+    remainderStart = (remainderStart + 1) % SLOT_COUNT;
+    int filled = 0;
+    for (int slot = 0; slot < SLOT_COUNT; slot++) {
+      if (share[slot] > 0) {
+        filled += targets[slot].receiveEnergy(share[slot], false);
+      }
+    }
+    //now actually drain what was taken
+    handlerHere.extractEnergy(filled, false);
   }
 
   @Override
@@ -111,29 +194,15 @@ public class TileCableEnergyWireless extends TileEntityBaseMachineInvo implement
         world.isAreaLoaded(target.toBlockPos(), target.toBlockPos().up());
   }
 
-  private void outputEnergy(int slot) {
+  /**
+   * the handler cache knows whether the target chunk is loaded, so no area check here
+   */
+  private IEnergyStorage getTarget(int slot) {
     BlockPosDim dim = this.getSlotGps(slot);
-    if (!this.isTargetValid(dim)) {
-      return;
-    }
-    BlockPos target = dim.toBlockPos();
-    TileEntity tileTarget = world.getTileEntity(target);
-    EnumFacing sideTarget = dim.getSide();
-    if (sideTarget == null) {//legacy from null
-      UtilWorld.getRandFacing();
-    }
-    if (tileTarget != null && tileTarget.hasCapability(CapabilityEnergy.ENERGY, sideTarget)) {
-      //drain from ME to Target 
-      IEnergyStorage handlerHere = this.getCapability(CapabilityEnergy.ENERGY, sideTarget);
-      IEnergyStorage handlerOutput = tileTarget.getCapability(CapabilityEnergy.ENERGY, sideTarget);
-      int drain = handlerHere.extractEnergy(transferRate, true);
-      if (drain > 0) {
-        //now push it into output, but find out what was ACTUALLY taken
-        int filled = handlerOutput.receiveEnergy(drain, false);
-        //now actually drain that much from here
-        handlerHere.extractEnergy(filled, false);
-      }
+    if (dim == null || dim.getDimension() != this.getDimension()) {
+      return null;
     }
+    return this.getHandlerCache(CapabilityEnergy.ENERGY).getRemote(world, dim.toBlockPos(), dim.getSide());
   }
 
   @Override
@@ -20,6 +20,8 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
 
 public class TileCableFluidWireless extends TileEntityBaseMachineFluid implements ITickable, ILaserTarget, ITileRedstoneToggle {
 
@@ -119,7 +121,8 @@ public class TileCableFluidWireless extends TileEntityBaseMachineFluid implement
       if (sideTarget == null) {//legacy from null
         UtilWorld.getRandFacing();
       }
-      UtilFluid.tryFillPositionFromTank(world, dim.toBlockPos(), sideTarget, this.tank, TRANSFER_FLUID_PER_TICK);
+      IFluidHandler handlerOutput = this.getHandlerCache(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY).getRemote(world, dim.toBlockPos(), sideTarget);
+      UtilFluid.tryFillPositionFromTank(handlerOutput, this.tank, TRANSFER_FLUID_PER_TICK);
     }
   }
 
@@ -19,6 +19,8 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.IItemHandler;
 
 public class TileCableContentWireless extends TileEntityBaseMachineInvo implements ILaserTarget, ITickable, ITileRedstoneToggle {
 
@@ -123,7 +125,8 @@ public class TileCableContentWireless extends TileEntityBaseMachineInvo implemen
       if (sideTarget == null) {//legacy from null
         UtilWorld.getRandFacing();
       }
-      ItemStack leftAfterDeposit = UtilItemStack.tryDepositToHandler(world, target, sideTarget, stackToExport);
+      IItemHandler handlerOutput = this.getHandlerCache(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY).getRemote(world, target, sideTarget);
+      ItemStack leftAfterDeposit = UtilItemStack.tryDepositToHandler(handlerOutput, stackToExport);
       if (leftAfterDeposit.isEmpty() ||
           leftAfterDeposit.getCount() < stackToExport.getCount()) { //something moved!
         //then save result
@@ -25,11 +25,13 @@ package com.lothrazar.cyclicmagic.block.collector;
 
 import java.util.ArrayList;
 import java.util.List;
+import com.lothrazar.cyclicmagic.block.core.MachineSleepScheduler;
 import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachineInvo;
 import com.lothrazar.cyclicmagic.data.ITilePreviewToggle;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
 import com.lothrazar.cyclicmagic.data.ITileStackWrapper;
 import com.lothrazar.cyclicmagic.data.StackWrapper;
+import com.lothrazar.cyclicmagic.util.EntityQueryCache;
 import com.lothrazar.cyclicmagic.util.UtilInventoryTransfer;
 import com.lothrazar.cyclicmagic.util.UtilShape;
 import net.minecraft.entity.item.EntityItem;
@@ -70,25 +72,33 @@ public class TileEntityVacuum extends TileEntityBaseMachineInvo implements ITile
   @Override
   public void update() {
     if (!this.isRunning()) {
+      this.sleep(0);
       return;
     }
     if (!this.updateTimerIsZero()) {
       return;
     }
-    updateCollection();
+    if (updateCollection() == false) {
+      //items landing nearby do not notify us, so look again later
+      this.sleep(MachineSleepScheduler.idleTicks);
+    }
   }
 
-  private void updateCollection() {
+  /**
+   * @return true if there was anything to pick up
+   */
+  private boolean updateCollection() {
     //expand only goes ONE direction. so expand(3...) goes 3 in + x, but not both ways. for full boc centered at this..!! we go + and -
     BlockPos center = this.getTargetCenter();
     AxisAlignedBB region = new AxisAlignedBB(center).expand(size, VRADIUS, size).expand(-1 * size, -1 * VRADIUS, -1 * size);//expandXyz
-    List<EntityItem> items = getWorld().getEntitiesWithinAABB(EntityItem.class, region);
-    if (items == null) {
-      return;
+    List<EntityItem> items = EntityQueryCache.getEntitiesWithinAABB(getWorld(), EntityItem.class, region);
+    if (items == null || items.isEmpty()) {
+      return false;
     }
     for (EntityItem itemOnGround : items) {
       processItemOnGround(itemOnGround);
     }
+    return true;
   }
 
   @SuppressWarnings("serial")
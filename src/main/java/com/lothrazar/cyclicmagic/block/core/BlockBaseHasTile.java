@@ -24,6 +24,7 @@
 package com.lothrazar.cyclicmagic.block.core;
 
 import com.lothrazar.cyclicmagic.ModCyclic;
+import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
@@ -33,6 +34,7 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 
 /**
@@ -88,6 +90,28 @@ public abstract class BlockBaseHasTile extends BlockBase {
     super.breakBlock(worldIn, pos, state);
   }
 
+  @SuppressWarnings("deprecation")
+  @Override
+  public void neighborChanged(IBlockState state, World worldIn, BlockPos pos, Block blockIn, BlockPos fromPos) {
+    TileEntity tileentity = worldIn.getTileEntity(pos);
+    if (tileentity instanceof TileEntityBaseMachine) {
+      ((TileEntityBaseMachine) tileentity).onNeighborChanged(fromPos);
+    }
+    super.neighborChanged(state, worldIn, pos, blockIn, fromPos);
+  }
+
+  /**
+   * forge hook for tile entity changes next door, such as a comparator update
+   */
+  @Override
+  public void onNeighborChange(IBlockAccess world, BlockPos pos, BlockPos neighbor) {
+    TileEntity tileentity = world.getTileEntity(pos);
+    if (tileentity instanceof TileEntityBaseMachine) {
+      ((TileEntityBaseMachine) tileentity).onNeighborTileChanged(neighbor);
+    }
+    super.onNeighborChange(world, pos, neighbor);
+  }
+
   public String getRawName() {
     return this.getTranslationKey().replace("tile.", "");
   }
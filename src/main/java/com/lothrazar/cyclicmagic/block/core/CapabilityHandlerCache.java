@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.block.core;
+
+import java.util.Map;
+import com.google.common.collect.Maps;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.capabilities.Capability;
+
+/**
+ * Remembers the capability handler a tile resolved on a neighbor (keyed by side) or on a remote target such as a GPS location, so the hot path does not repeat getTileEntity / hasCapability /
+ * getCapability every tick.
+ * 
+ * Neighbor entries are dropped by {@link #invalidate(EnumFacing)} from block neighbor updates. An entry is dropped when its tile is invalidated or when the chunk it points into unloads.
+ * Remote targets get no neighbor updates, so a remote miss is only trusted for a short time. A target in an unloaded chunk stays a miss until some chunk loads
+ *
+ * @param <T>
+ */
+public class CapabilityHandlerCache<T> {
+
+  private static final int REMOTE_MISS_TICKS = 20;
+  public static long hits = 0;
+  public static long misses = 0;
+  private static int loadEpoch = 0;
+
+  private static class Entry<T> {
+
+    TileEntity tile;
+    T handler;
+    //chunk of the target, unloading it clears its loaded flag and the entry with it
+    Chunk chunk;
+    long expires;
+    //set when the target chunk was not loaded, compared against loadEpoch instead of expiring
+    boolean unloaded;
+    int loadEpoch;
+  }
+
+  private final Capability<T> capability;
+  private final Map<EnumFacing, Entry<T>> neighbors = Maps.newEnumMap(EnumFacing.class);
+  private final Map<Long, Entry<T>> remote = Maps.newHashMap();
+
+  public CapabilityHandlerCache(Capability<T> capability) {
+    this.capability = capability;
+  }
+
+  /**
+   * A chunk came in, any target we saw as unloaded might be there now
+   */
+  public static void onChunkLoad() {
+    loadEpoch++;
+  }
+
+  public static String getStats() {
+    long total = hits + misses;
+    int rate = (total == 0) ? 0 : (int) (100 * hits / total);
+    return "capability cache hits " + hits + " misses " + misses + " (" + rate + "%)";
+  }
+
+  /**
+   * Handler on the block next to owner on side, seen from that block's side facing the owner. null if there is none
+   */
+  public T getNeighbor(TileEntity owner, EnumFacing side) {
+    World world = owner.getWorld();
+    Entry<T> entry = neighbors.get(side);
+    if (isValid(world, entry)) {
+      hits++;
+      return entry.handler;
+    }
+    misses++;
+    entry = resolve(world, owner.getPos().offset(side), side.getOpposite(), Long.MAX_VALUE);
+    neighbors.put(side, entry);
+    return entry.handler;
+  }
+
+  /**
+   * Handler on any loaded position, from the given side of that block. null if there is none or it is not loaded
+   */
+  public T getRemote(World world, BlockPos target, EnumFacing sideTarget) {
+    long key = target.toLong() * 7 + (sideTarget == null ? 6 : sideTarget.ordinal());
+    Entry<T> entry = remote.get(key);
+    if (isValid(world, entry)) {
+      hits++;
+      return entry.handler;
+    }
+    misses++;
+    entry = resolve(world, target, sideTarget, world.getTotalWorldTime() + REMOTE_MISS_TICKS);
+    remote.put(key, entry);
+    return entry.handler;
+  }
+
+  private boolean isValid(World world, Entry<T> entry) {
+    if (entry == null) {
+      return false;
+    }
+    if (entry.unloaded) {
+      return entry.loadEpoch == loadEpoch;
+    }
+    if (entry.chunk.isLoaded() == false) {
+      return false;
+    }
+    if (entry.tile != null) {
+      return entry.tile.isInvalid() == false;
+    }
+    //nothing was there, trust that until it expires
+    return world.getTotalWorldTime() < entry.expires;
+  }
+
+  /**
+   * @param missExpires
+   *          world time until which an empty result stays trusted
+   */
+  private Entry<T> resolve(World world, BlockPos target, EnumFacing sideTarget, long missExpires) {
+    Entry<T> entry = new Entry<T>();
+    entry.expires = missExpires;
+    if (world.isBlockLoaded(target) == false) {
+      //valid until the next chunk load event
+      entry.unloaded = true;
+      entry.loadEpoch = loadEpoch;
+      return entry;
+    }
+    entry.chunk = world.getChunkFromBlockCoords(target);
+    TileEntity tile = world.getTileEntity(target);
+    if (tile != null && tile.hasCapability(capability, sideTarget)) {
+      entry.tile = tile;
+      entry.handler = tile.getCapability(capability, sideTarget);
+      if (entry.handler == null) {
+        entry.tile = null;
+      }
+    }
+    return entry;
+  }
+
+  public void invalidate(EnumFacing side) {
+    neighbors.remove(side);
+  }
+
+  /**
+   * drop the neighbor entry for whichever side of owner touches changed
+   */
+  public void invalidate(BlockPos owner, BlockPos changed) {
+    for (EnumFacing side : EnumFacing.values()) {
+      if (owner.offset(side).equals(changed)) {
+        neighbors.remove(side);
+        return;
+      }
+    }
+  }
+
+  public void invalidate() {
+    neighbors.clear();
+    remote.clear();
+  }
+}
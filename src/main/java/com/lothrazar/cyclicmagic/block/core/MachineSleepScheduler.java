@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.block.core;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import com.google.common.collect.Sets;
+import net.minecraft.util.ITickable;
+import net.minecraft.world.World;
+
+/**
+ * Lets an idle machine take itself out of the world tick list until something wakes it: an inventory or tank change, a neighbor or redstone update, a gui change, or its own timer running
+ * out. A sleeping machine costs nothing per tick.
+ * 
+ * The tick list is only touched at the end of a world tick, never while the world is iterating it
+ */
+public class MachineSleepScheduler {
+
+  public static boolean enabled = true;
+  /**
+   * how long machines that cannot detect the change they are waiting on (items landing nearby, a chest being filled from above) sleep before looking again
+   */
+  public static int idleTicks = 10;
+  private static final Map<World, MachineSleepScheduler> worlds = new WeakHashMap<World, MachineSleepScheduler>();
+
+  private static class Alarm implements Comparable<Alarm> {
+
+    final TileEntityBaseMachine tile;
+    final long deadline;
+
+    Alarm(TileEntityBaseMachine tile, long deadline) {
+      this.tile = tile;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public int compareTo(Alarm other) {
+      return Long.compare(deadline, other.deadline);
+    }
+  }
+
+  private final World world;
+  private final Set<TileEntityBaseMachine> pendingSleep = Sets.newIdentityHashSet();
+  private final Set<TileEntityBaseMachine> pendingWake = Sets.newIdentityHashSet();
+  private final Set<TileEntityBaseMachine> sleeping = Sets.newIdentityHashSet();
+  private final PriorityQueue<Alarm> alarms = new PriorityQueue<Alarm>();
+
+  private MachineSleepScheduler(World world) {
+    this.world = world;
+  }
+
+  /**
+   * the map is weak, but the value holds its world, so the entry has to be removed when the world unloads
+   */
+  public static void unload(World world) {
+    worlds.remove(world);
+  }
+
+  public static MachineSleepScheduler get(World world) {
+    MachineSleepScheduler scheduler = worlds.get(world);
+    if (scheduler == null) {
+      scheduler = new MachineSleepScheduler(world);
+      worlds.put(world, scheduler);
+    }
+    return scheduler;
+  }
+
+  /**
+   * @param ticks
+   *          wake up after this many ticks, or zero to sleep until something else wakes the machine
+   */
+  void sleep(TileEntityBaseMachine tile, int ticks) {
+    if (tile instanceof ITickable == false || tile.isInvalid()) {
+      return;
+    }
+    tile.asleep = true;
+    tile.wakeAt = (ticks > 0) ? world.getTotalWorldTime() + ticks : Long.MAX_VALUE;
+    pendingWake.remove(tile);
+    if (sleeping.contains(tile) == false) {
+      pendingSleep.add(tile);
+    }
+    if (ticks > 0) {
+      alarms.add(new Alarm(tile, tile.wakeAt));
+    }
+  }
+
+  void wake(TileEntityBaseMachine tile) {
+    if (tile.asleep == false) {
+      return;
+    }
+    tile.asleep = false;
+    tile.wakeAt = -1;
+    if (pendingSleep.remove(tile) == false) {
+      //still in the tick list if it never got removed
+      pendingWake.add(tile);
+    }
+  }
+
+  /**
+   * chunk unloaded or block broken, drop every reference
+   */
+  void forget(TileEntityBaseMachine tile) {
+    tile.asleep = false;
+    tile.wakeAt = -1;
+    pendingSleep.remove(tile);
+    pendingWake.remove(tile);
+    sleeping.remove(tile);
+  }
+
+  public int getSleepingCount() {
+    return sleeping.size();
+  }
+
+  /**
+   * end of the world tick, after all tile entities have ticked
+   */
+  public void onWorldTickEnd() {
+    long now = world.getTotalWorldTime();
+    while (alarms.isEmpty() == false && alarms.peek().deadline <= now) {
+      Alarm alarm = alarms.poll();
+      //stale alarms are skipped, the machine was woken or went back to sleep since
+      if (alarm.tile.asleep && alarm.tile.wakeAt == alarm.deadline) {
+        wake(alarm.tile);
+      }
+    }
+    if (pendingSleep.isEmpty() == false) {
+      world.tickableTileEntities.removeAll(pendingSleep);
+      sleeping.addAll(pendingSleep);
+      pendingSleep.clear();
+    }
+    if (pendingWake.isEmpty() == false) {
+      for (TileEntityBaseMachine tile : pendingWake) {
+        if (sleeping.remove(tile) && tile.isInvalid() == false
+            && world.isBlockLoaded(tile.getPos()) && world.getTileEntity(tile.getPos()) == tile) {
+          world.tickableTileEntities.add(tile);
+        }
+      }
+      pendingWake.clear();
+    }
+  }
+}
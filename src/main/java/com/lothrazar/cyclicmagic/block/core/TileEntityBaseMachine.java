@@ -23,6 +23,9 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.block.core;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+import io.netty.buffer.ByteBuf;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.NetworkManager;
@@ -31,9 +34,26 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
 
 public abstract class TileEntityBaseMachine extends TileEntity {
 
+  /**
+   * values that can be sent on their own by {@link #markSyncDirty(int)}, combined as bits
+   */
+  public static final int SYNC_ENERGY = 1;
+  public static final int SYNC_TIMER = 2;
+  public static final int SYNC_FLUID = 4;
+  public static final int SYNC_SLOTS = 8;
+  public static final int SYNC_FULL = 16;
+  private Map<Capability<?>, CapabilityHandlerCache<?>> handlerCaches;
+  //owned by MachineSleepScheduler
+  boolean asleep = false;
+  long wakeAt = -1;
+  //owned by TileSyncManager
+  int syncDirty = 0;
+  long nextSync = 0;
+
   public boolean isPowered() {
     return this.getWorld().isBlockPowered(this.getPos());
   }
@@ -54,13 +74,58 @@ public abstract class TileEntityBaseMachine extends TileEntity {
     return world.getBlockState(pos);
   }
 
+  /**
+   * Full resync to watching clients, sent at the end of the tick and at most once per sync interval
+   */
   @Override
   public void markDirty() {
-    IBlockState st = this.getState();
-    world.notifyBlockUpdate(pos, st, st, 3);
+    this.wake();
+    if (world.isRemote || TileSyncManager.enabled == false) {
+      IBlockState st = this.getState();
+      world.notifyBlockUpdate(pos, st, st, 3);
+    }
+    else {
+      this.markSyncDirty(SYNC_FULL);
+    }
     super.markDirty();
   }
 
+  /**
+   * Queue only these values for the clients watching this chunk, instead of the whole tile. Saving still needs the chunk marked, which this does not do
+   * 
+   * @param fields
+   *          SYNC_ bits
+   */
+  public void markSyncDirty(int fields) {
+    if (world == null || world.isRemote) {
+      return;
+    }
+    if (TileSyncManager.enabled == false) {
+      IBlockState st = this.getState();
+      world.notifyBlockUpdate(pos, st, st, 3);
+      return;
+    }
+    if (syncDirty == 0) {
+      TileSyncManager.get(world).add(this);
+    }
+    syncDirty |= fields;
+  }
+
+  /**
+   * server side, write the values for these SYNC_ bits. Subclasses call super first and read back in the same order
+   */
+  public void writeSyncDelta(int fields, ByteBuf buf) {}
+
+  /**
+   * client side, apply what {@link #writeSyncDelta(int, ByteBuf)} wrote
+   */
+  public void readSyncDelta(int fields, ByteBuf buf) {}
+
+  /**
+   * a sync went out, drop any per-field bookkeeping
+   */
+  protected void onSyncSent() {}
+
   public boolean isRunning() {
     if (!this.isValid()) {
       return false;
@@ -126,6 +191,96 @@ public abstract class TileEntityBaseMachine extends TileEntity {
     return syncData;
   }
 
+  /**
+   * handlers this tile has already found on its neighbors or remote targets, for this capability
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CapabilityHandlerCache<T> getHandlerCache(Capability<T> capability) {
+    if (handlerCaches == null) {
+      handlerCaches = new IdentityHashMap<Capability<?>, CapabilityHandlerCache<?>>();
+    }
+    CapabilityHandlerCache<T> cache = (CapabilityHandlerCache<T>) handlerCaches.get(capability);
+    if (cache == null) {
+      cache = new CapabilityHandlerCache<T>(capability);
+      handlerCaches.put(capability, cache);
+    }
+    return cache;
+  }
+
+  protected void invalidateHandlerCaches(EnumFacing side) {
+    if (handlerCaches != null) {
+      for (CapabilityHandlerCache<?> cache : handlerCaches.values()) {
+        cache.invalidate(side);
+      }
+    }
+  }
+
+  /**
+   * A block next to this one changed. Called on both sides from {@link BlockBaseHasTile}
+   * 
+   * @param fromPos
+   */
+  public void onNeighborChanged(BlockPos fromPos) {
+    //covers redstone changes too
+    this.wake();
+    if (handlerCaches != null) {
+      for (CapabilityHandlerCache<?> cache : handlerCaches.values()) {
+        cache.invalidate(pos, fromPos);
+      }
+    }
+  }
+
+  /**
+   * A tile entity next to this one changed without the block changing, such as an inventory calling markDirty, which happens for every item pushed into it. Only wakes the machine: cached
+   * handlers stay, they notice by themselves when their tile is invalidated or unloaded
+   * 
+   * @param neighbor
+   */
+  public void onNeighborTileChanged(BlockPos neighbor) {
+    this.wake();
+  }
+
+  /**
+   * Take this machine out of the world tick list until something changes, see {@link MachineSleepScheduler}
+   * 
+   * @param ticks
+   *          wake up on its own after this many ticks, or zero to sleep until woken
+   */
+  protected void sleep(int ticks) {
+    if (MachineSleepScheduler.enabled && world != null && !world.isRemote) {
+      MachineSleepScheduler.get(world).sleep(this, ticks);
+    }
+  }
+
+  /**
+   * Put a sleeping machine back in the tick list at the end of this tick, does nothing if it is awake
+   */
+  public void wake() {
+    if (asleep && world != null) {
+      MachineSleepScheduler.get(world).wake(this);
+    }
+  }
+
+  public boolean isAsleep() {
+    return asleep;
+  }
+
+  @Override
+  public void onChunkUnload() {
+    super.onChunkUnload();
+    if (world != null && !world.isRemote) {
+      MachineSleepScheduler.get(world).forget(this);
+    }
+  }
+
+  @Override
+  public void invalidate() {
+    super.invalidate();
+    if (world != null && !world.isRemote) {
+      MachineSleepScheduler.get(world).forget(this);
+    }
+  }
+
   public int getDimension() {
     if (this.world == null || this.world.provider == null) {
       return 0;
@@ -25,6 +25,7 @@ package com.lothrazar.cyclicmagic.block.core;
 
 import javax.annotation.Nullable;
 import com.lothrazar.cyclicmagic.liquid.FluidTankBase;
+import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.Container;
 import net.minecraft.nbt.NBTTagCompound;
@@ -37,6 +38,7 @@ import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
 import net.minecraftforge.fluids.capability.FluidTankProperties;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.fluids.capability.IFluidTankProperties;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -131,6 +133,26 @@ public class TileEntityBaseMachineFluid extends TileEntityBaseMachineInvo implem
     }
   }
 
+  @Override
+  public void writeSyncDelta(int fields, ByteBuf buf) {
+    super.writeSyncDelta(fields, buf);
+    if ((fields & SYNC_FLUID) != 0) {
+      FluidStack fluid = (tank == null) ? null : tank.getFluid();
+      ByteBufUtils.writeTag(buf, (fluid == null) ? null : fluid.writeToNBT(new NBTTagCompound()));
+    }
+  }
+
+  @Override
+  public void readSyncDelta(int fields, ByteBuf buf) {
+    super.readSyncDelta(fields, buf);
+    if ((fields & SYNC_FLUID) != 0) {
+      NBTTagCompound tag = ByteBufUtils.readTag(buf);
+      if (tank != null) {
+        tank.setFluid((tag == null) ? null : FluidStack.loadFluidStackFromNBT(tag));
+      }
+    }
+  }
+
   @Override
   public boolean hasCapability(Capability<?> capability, @Nullable EnumFacing facing) {
     if (capability == CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY) {
@@ -25,6 +25,7 @@ package com.lothrazar.cyclicmagic.block.core;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -35,6 +36,7 @@ import com.lothrazar.cyclicmagic.data.InvWrapperRestricted;
 import com.lothrazar.cyclicmagic.data.StackWrapper;
 import com.lothrazar.cyclicmagic.util.UtilItemStack;
 import com.lothrazar.cyclicmagic.util.UtilNBT;
+import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.inventory.ISidedInventory;
@@ -50,6 +52,7 @@ import net.minecraft.util.text.ITextComponent;
 import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.energy.CapabilityEnergy;
 import net.minecraftforge.energy.IEnergyStorage;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import net.minecraftforge.items.CapabilityItemHandler;
@@ -85,6 +88,7 @@ public abstract class TileEntityBaseMachineInvo extends TileEntityBaseMachine im
   protected EnergyStore energyStorage;
   private boolean setRenderGlobally;
   private boolean hasEnergy;
+  private final BitSet dirtySlots = new BitSet();
 
   public TileEntityBaseMachineInvo(int invoSize) {
     super();
@@ -148,6 +152,7 @@ public abstract class TileEntityBaseMachineInvo extends TileEntityBaseMachine im
 
   protected void initEnergy(EnergyStore store, int energyCost) {
     this.energyStorage = store;
+    store.setTileEntity(this);
     this.hasEnergy = true;
     this.setEnergyCost(energyCost);
   }
@@ -179,8 +184,9 @@ public abstract class TileEntityBaseMachineInvo extends TileEntityBaseMachine im
     if (!world.isRemote && this.getEnergyCost() > 0 &&
         this.getEnergyCurrent() >= this.getEnergyCost()) {
       this.energyStorage.extractEnergy(this.getEnergyCost(), false);
-      //it drained, notify client 
-      this.markDirty();
+      //it drained, notify client with just the values a working machine changes
+      this.markSyncDirty(SYNC_ENERGY | SYNC_TIMER);
+      this.world.markChunkDirty(this.pos, this);
     }
   }
 
@@ -340,6 +346,7 @@ public abstract class TileEntityBaseMachineInvo extends TileEntityBaseMachine im
   public ItemStack decrStackSize(int index, int count) {
     ItemStack stack = getStackInSlot(index);
     if (!stack.isEmpty()) {
+      this.wake();
       if (stack.getMaxStackSize() <= count) {
         setInventorySlotContents(index, ItemStack.EMPTY);
       }
@@ -348,6 +355,9 @@ public abstract class TileEntityBaseMachineInvo extends TileEntityBaseMachine im
         if (stack.getMaxStackSize() == 0) {
           setInventorySlotContents(index, ItemStack.EMPTY);
         }
+        else {
+          this.markSlotDirty(index);
+        }
       }
     }
     return stack;
@@ -369,6 +379,62 @@ public abstract class TileEntityBaseMachineInvo extends TileEntityBaseMachine im
       stack.setCount(getInventoryStackLimit());
     }
     inv.set(index, stack);
+    this.wake();
+    this.markSlotDirty(index);
+  }
+
+  protected void markSlotDirty(int index) {
+    if (world != null && world.isRemote == false) {
+      dirtySlots.set(index);
+      this.markSyncDirty(SYNC_SLOTS);
+    }
+  }
+
+  @Override
+  public void writeSyncDelta(int fields, ByteBuf buf) {
+    super.writeSyncDelta(fields, buf);
+    if ((fields & SYNC_ENERGY) != 0) {
+      buf.writeInt(this.getEnergyCurrent());
+    }
+    if ((fields & SYNC_TIMER) != 0) {
+      buf.writeInt(timer);
+    }
+    if ((fields & SYNC_SLOTS) != 0) {
+      buf.writeShort(dirtySlots.cardinality());
+      for (int i = dirtySlots.nextSetBit(0); i >= 0; i = dirtySlots.nextSetBit(i + 1)) {
+        buf.writeShort(i);
+        ByteBufUtils.writeItemStack(buf, this.getStackInSlot(i));
+      }
+    }
+  }
+
+  @Override
+  public void readSyncDelta(int fields, ByteBuf buf) {
+    super.readSyncDelta(fields, buf);
+    if ((fields & SYNC_ENERGY) != 0) {
+      int energy = buf.readInt();
+      if (energyStorage != null) {
+        energyStorage.setEnergyStored(energy);
+      }
+    }
+    if ((fields & SYNC_TIMER) != 0) {
+      timer = buf.readInt();
+    }
+    if ((fields & SYNC_SLOTS) != 0) {
+      int count = buf.readShort();
+      for (int i = 0; i < count; i++) {
+        int slot = buf.readShort();
+        ItemStack stack = ByteBufUtils.readItemStack(buf);
+        if (slot >= 0 && slot < inv.size()) {
+          inv.set(slot, stack);
+        }
+      }
+    }
+  }
+
+  @Override
+  protected void onSyncSent() {
+    dirtySlots.clear();
   }
 
   @Override
@@ -686,6 +752,21 @@ public abstract class TileEntityBaseMachineInvo extends TileEntityBaseMachine im
     return super.isRunning();
   }
 
+  /**
+   * Compares slots starting at start against the copies held in snapshot, and refreshes any copy that differs. Returns true if anything changed since the last call, counts and tags included
+   */
+  protected boolean updateSlotSnapshot(NonNullList<ItemStack> snapshot, int start) {
+    boolean changed = false;
+    for (int i = 0; i < snapshot.size(); i++) {
+      ItemStack current = this.getStackInSlot(start + i);
+      if (ItemStack.areItemStacksEqual(current, snapshot.get(i)) == false) {
+        snapshot.set(i, current.copy());
+        changed = true;
+      }
+    }
+    return changed;
+  }
+
   protected int calculateInventoryHash(int start, int end) {
     int invHash = 0;
     for (int i = start; i < end; i++) {
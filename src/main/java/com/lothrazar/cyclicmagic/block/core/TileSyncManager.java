@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.block.core;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import com.google.common.collect.Sets;
+import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.net.PacketTileDelta;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
+
+/**
+ * Collects the machines that changed during a tick and sends each one to the players watching its chunk once, at the end of the tick. Machines that only changed a few values (energy, timer,
+ * tank, some slots) send just those in one small packet instead of their whole NBT.
+ * 
+ * A machine syncs at most once every {@link #interval} ticks, anything changed in between waits for the next one
+ */
+public class TileSyncManager {
+
+  public static boolean enabled = true;
+  public static int interval = 4;
+  public static long fullSyncs = 0;
+  public static long deltaSyncs = 0;
+  public static long deltaBytes = 0;
+  private static final Map<World, TileSyncManager> worlds = new WeakHashMap<World, TileSyncManager>();
+  private final World world;
+  private final Set<TileEntityBaseMachine> dirty = Sets.newIdentityHashSet();
+
+  private TileSyncManager(World world) {
+    this.world = world;
+  }
+
+  /**
+   * the map is weak, but the value holds its world, so the entry has to be removed when the world unloads
+   */
+  public static void unload(World world) {
+    worlds.remove(world);
+  }
+
+  public static TileSyncManager get(World world) {
+    TileSyncManager manager = worlds.get(world);
+    if (manager == null) {
+      manager = new TileSyncManager(world);
+      worlds.put(world, manager);
+    }
+    return manager;
+  }
+
+  public static String getStats() {
+    return "tile sync full " + fullSyncs + " delta " + deltaSyncs + " (" + deltaBytes + " bytes)";
+  }
+
+  void add(TileEntityBaseMachine tile) {
+    dirty.add(tile);
+  }
+
+  /**
+   * end of the world tick, after all tile entities have ticked
+   */
+  public void onWorldTickEnd() {
+    if (dirty.isEmpty()) {
+      return;
+    }
+    long now = world.getTotalWorldTime();
+    Iterator<TileEntityBaseMachine> it = dirty.iterator();
+    while (it.hasNext()) {
+      TileEntityBaseMachine tile = it.next();
+      BlockPos pos = tile.getPos();
+      if (tile.isInvalid() || world.isBlockLoaded(pos) == false) {
+        tile.syncDirty = 0;
+        it.remove();
+        continue;
+      }
+      if (now < tile.nextSync) {
+        continue;//rate limited, stays queued
+      }
+      it.remove();
+      int fields = tile.syncDirty;
+      tile.syncDirty = 0;
+      tile.nextSync = now + interval;
+      if ((fields & TileEntityBaseMachine.SYNC_FULL) != 0) {
+        IBlockState st = world.getBlockState(pos);
+        world.notifyBlockUpdate(pos, st, st, 3);
+        fullSyncs++;
+      }
+      else {
+        ByteBuf buf = Unpooled.buffer();
+        tile.writeSyncDelta(fields, buf);
+        byte[] payload = new byte[buf.readableBytes()];
+        buf.readBytes(payload);
+        ModCyclic.network.sendToAllTracking(new PacketTileDelta(pos, fields, payload),
+            new TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 0));
+        deltaSyncs++;
+        deltaBytes += payload.length;
+      }
+      tile.onSyncSent();
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.block.crafter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.lothrazar.cyclicmagic.ModCyclic;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.CraftingManager;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.world.World;
+
+/**
+ * Server wide cache of crafting grid to recipe, shared by every auto crafter. Fifty crafters on the same pattern search the recipe registry once between them, and a grid with no recipe is
+ * remembered as well so it is not searched again either.
+ * 
+ * Least recently used grids are dropped past MAX_ENTRIES
+ */
+public class CrafterRecipeCache {
+
+  private static final int MAX_ENTRIES = 256;
+  private static final Map<GridKey, IRecipe> cache = new LinkedHashMap<GridKey, IRecipe>(64, 0.75F, true) {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<GridKey, IRecipe> eldest) {
+      return size() > MAX_ENTRIES;
+    }
+  };
+  private static long hits = 0;
+  private static long searches = 0;
+
+  /**
+   * recipe for the grid, or null if there is none. key must describe what is in the grid right now
+   */
+  public static IRecipe findMatchingRecipe(InventoryCrafting grid, World world, GridKey key) {
+    IRecipe recipe = cache.get(key);
+    if (recipe != null || cache.containsKey(key)) {
+      //a recipe that looks at more than items and tags could disagree, so it gets one cheap check
+      if (recipe == null || recipe.matches(grid, world)) {
+        hits++;
+        return recipe;
+      }
+    }
+    searches++;
+    recipe = null;
+    try {
+      ModCyclic.logger.log("Auto-crafter Searching all recipes!! " + searches + " searches, " + hits + " cache hits");
+      recipe = CraftingManager.findMatchingRecipe(grid, world);
+      ModCyclic.logger.log("Recipe Found" + recipe);
+    }
+    catch (Exception err) {
+      // if some 3rd party recipe or item has an exception then dont let it crash the game
+      //example: i have seen NPEs. index out of bounds, no such element, 
+      ModCyclic.logger.error("Caught exception while querying recipe ", err);
+    }
+    cache.put(key, recipe);
+    return recipe;
+  }
+
+  /**
+   * What is in each grid slot, ignoring count since recipes do not look at it. Item, meta and nbt are compared exactly, never just by hash
+   */
+  public static class GridKey {
+
+    private final ItemStack[] stacks;
+    private final int hash;
+
+    public GridKey(IInventory inv, int start, int size) {
+      stacks = new ItemStack[size];
+      int h = 1;
+      for (int i = 0; i < size; i++) {
+        ItemStack stack = inv.getStackInSlot(start + i);
+        stacks[i] = stack.isEmpty() ? ItemStack.EMPTY : stack.copy();
+        if (stacks[i].isEmpty() == false) {
+          stacks[i].setCount(1);
+        }
+        h = 31 * h + hashStack(stacks[i]);
+      }
+      hash = h;
+    }
+
+    private static int hashStack(ItemStack stack) {
+      if (stack.isEmpty()) {
+        return 0;
+      }
+      int h = Item.getIdFromItem(stack.getItem()) * 31 + stack.getItemDamage();
+      return stack.hasTagCompound() ? h * 31 + stack.getTagCompound().hashCode() : h;
+    }
+
+    private static boolean sameStack(ItemStack a, ItemStack b) {
+      if (a.isEmpty() || b.isEmpty()) {
+        return a.isEmpty() && b.isEmpty();
+      }
+      return ItemStack.areItemsEqual(a, b) && ItemStack.areItemStackTagsEqual(a, b);
+    }
+
+    /**
+     * true if the slots still hold what this key was made from. does not allocate, so it is fine to call every tick
+     */
+    public boolean matches(IInventory inv, int start) {
+      for (int i = 0; i < stacks.length; i++) {
+        if (sameStack(stacks[i], inv.getStackInSlot(start + i)) == false) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj instanceof GridKey == false) {
+        return false;
+      }
+      GridKey other = (GridKey) obj;
+      if (other.hash != hash || other.stacks.length != stacks.length) {
+        return false;
+      }
+      for (int i = 0; i < stacks.length; i++) {
+        if (sameStack(stacks[i], other.stacks[i]) == false) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      return Arrays.toString(stacks);
+    }
+  }
+}
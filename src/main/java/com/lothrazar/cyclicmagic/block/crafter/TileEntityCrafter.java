@@ -29,7 +29,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
-import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachineInvo;
 import com.lothrazar.cyclicmagic.capability.EnergyStore;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
@@ -40,7 +39,6 @@ import net.minecraft.inventory.Container;
 import net.minecraft.inventory.InventoryCrafting;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.item.crafting.CraftingManager;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ITickable;
@@ -96,14 +94,11 @@ public class TileEntityCrafter extends TileEntityBaseMachineInvo implements ITil
         && !world.isRemote) {
       ////////
       //only call the expensive findRecipe() if and when the grid changes
-      //tracked using hashed summary
-      int currHash = calculateInventoryHash(SIZE_INPUT, SIZE_INPUT + SIZE_GRID);
-      if (currHash != lastInvHash
-          && this.isGridEmpty() == false) {
-        lastInvHash = currHash;
-        //ModCyclic.logger.log("hashchanged now go findrecipe" + lastInvHash);
+      if (this.isGridEmpty() == false
+          && (lastGrid == null || lastGrid.matches(this, SIZE_INPUT) == false)) {
+        lastGrid = new CrafterRecipeCache.GridKey(this, SIZE_INPUT, SIZE_GRID);
         findRecipe();
-      } // else ModCyclic.logger.log("hash is the same or grid empty"+lastInvHash);
+      }
         //doesnt matter if recipe changed or not, see about processing
       if (recipe != null && !this.isGridEmpty()) {
         ItemStack craftResult = recipe.getCraftingResult(this.crafter);
@@ -118,7 +113,7 @@ public class TileEntityCrafter extends TileEntityBaseMachineInvo implements ITil
     }
   }
 
-  private int lastInvHash = 0;
+  private CrafterRecipeCache.GridKey lastGrid = null;
 
   private void findRecipe() {
     setRecipeInput();//make sure the 3x3 inventory is linked to the crafter
@@ -126,20 +121,8 @@ public class TileEntityCrafter extends TileEntityBaseMachineInvo implements ITil
       //recipe exists and it matches whats currently in the gui so stop now
       return;
     }
-    recipe = null;//doesnt match clear old recipe
-    try {
-      ModCyclic.logger.log("Auto-crafter Searching all recipes!! " + this.pos);
-      //but wait. only try to find a new recipe if contents have changed since last time
-      //
-      //
-      recipe = CraftingManager.findMatchingRecipe(crafter, world);
-      ModCyclic.logger.log("Recipe Found" + recipe);
-    }
-    catch (Exception err) {
-      // if some 3rd party recipe or item has an exception then dont let it crash the game
-      //example: i have seen NPEs. index out of bounds, no such element, 
-      ModCyclic.logger.error("Caught exception while querying recipe ", err);
-    }
+    //shared with every other crafter, so only the first one to see this grid searches all recipes
+    recipe = CrafterRecipeCache.findMatchingRecipe(crafter, world, lastGrid);
   }
 
   private void setRecipeInput() {
@@ -24,8 +24,11 @@
 package com.lothrazar.cyclicmagic.block.dehydrator;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import com.lothrazar.cyclicmagic.util.Const;
+import com.lothrazar.cyclicmagic.util.RecipeIndex;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
 import net.minecraft.inventory.IInventory;
@@ -43,6 +46,13 @@ import net.minecraftforge.registries.IForgeRegistryEntry;
 public class RecipeDeHydrate extends IForgeRegistryEntry.Impl<IRecipe> implements IRecipe {
 
   public static ArrayList<RecipeDeHydrate> recipes = new ArrayList<RecipeDeHydrate>();
+  public static final RecipeIndex<RecipeDeHydrate> index = new RecipeIndex<RecipeDeHydrate>(recipes) {
+
+    @Override
+    protected List<ItemStack> getKeys(RecipeDeHydrate rec) {
+      return Collections.singletonList(rec.recipeInput);
+    }
+  };
   private ItemStack recipeInput = ItemStack.EMPTY;
   private ItemStack resultItem = ItemStack.EMPTY;
   private int time;
@@ -146,6 +156,7 @@ public class RecipeDeHydrate extends IForgeRegistryEntry.Impl<IRecipe> implement
       rec.recipeInput = snew;
     }
     recipes.add(rec);
+    index.invalidate();
   }
 
   public int getFluid() {
@@ -141,7 +141,7 @@ public class TileEntityDeHydrator extends TileEntityBaseMachineFluid implements
    */
   private RecipeDeHydrate findMatchingRecipe() {
     //    this.crafting.setInventorySlotContents(SLOT_RECIPE, this.getStackInSlot(SLOT_RECIPE).copy());
-    for (RecipeDeHydrate irecipe : RecipeDeHydrate.recipes) {
+    for (RecipeDeHydrate irecipe : RecipeDeHydrate.index.getCandidates(this.getStackInSlot(SLOT_RECIPE))) {
       if (recipeMatches(irecipe)) {
         timerMax = timer = irecipe.getTime();
         return irecipe;
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.block.entitydetector;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import javax.annotation.Nullable;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+
+/**
+ * Tells entity detectors when something they might count joins, leaves or moves near them, so a detector only recounts after a change instead of scanning its range on a timer.
+ * 
+ * Detectors are bucketed by chunk so each entity event costs one or two map lookups
+ */
+public class DetectorIndex implements IWorldEventListener {
+
+  /**
+   * chunks are registered for the range grown by this much, to cover the width of entities standing on the edge
+   */
+  private static final int MARGIN = 2;
+  private static final Map<World, DetectorIndex> worlds = new WeakHashMap<World, DetectorIndex>();
+  private final Map<Long, Set<TileEntityDetector>> byChunk = Maps.newHashMap();
+  private final Map<TileEntityDetector, List<Long>> registered = Maps.newIdentityHashMap();
+
+  /**
+   * the map is weak, but registered detectors hold their world. a stopping server unloads its worlds without unloading their chunks first, so the entry is removed here
+   */
+  public static void unload(World world) {
+    worlds.remove(world);
+  }
+
+  public static DetectorIndex get(World world) {
+    DetectorIndex index = worlds.get(world);
+    if (index == null) {
+      index = new DetectorIndex();
+      world.addEventListener(index);
+      worlds.put(world, index);
+    }
+    return index;
+  }
+
+  /**
+   * null if no detector was ever placed in this world, so entity events there cost nothing
+   */
+  @Nullable
+  public static DetectorIndex getIfPresent(World world) {
+    return worlds.get(world);
+  }
+
+  public void register(TileEntityDetector detector, AxisAlignedBB range) {
+    unregister(detector);
+    List<Long> keys = Lists.newArrayList();
+    int minX = MathHelper.floor(range.minX - MARGIN) >> 4;
+    int maxX = MathHelper.floor(range.maxX + MARGIN) >> 4;
+    int minZ = MathHelper.floor(range.minZ - MARGIN) >> 4;
+    int maxZ = MathHelper.floor(range.maxZ + MARGIN) >> 4;
+    for (int cx = minX; cx <= maxX; cx++) {
+      for (int cz = minZ; cz <= maxZ; cz++) {
+        long key = ChunkPos.asLong(cx, cz);
+        Set<TileEntityDetector> set = byChunk.get(key);
+        if (set == null) {
+          set = Sets.newIdentityHashSet();
+          byChunk.put(key, set);
+        }
+        set.add(detector);
+        keys.add(key);
+      }
+    }
+    registered.put(detector, keys);
+  }
+
+  public void unregister(TileEntityDetector detector) {
+    List<Long> keys = registered.remove(detector);
+    if (keys == null) {
+      return;
+    }
+    for (Long key : keys) {
+      Set<TileEntityDetector> set = byChunk.get(key);
+      if (set != null) {
+        set.remove(detector);
+        if (set.isEmpty()) {
+          byChunk.remove(key);
+        }
+      }
+    }
+  }
+
+  /**
+   * an entity moved since its last update, checked against detectors around both where it was and where it is now
+   */
+  public void onEntityMoved(Entity entity) {
+    if (byChunk.isEmpty()) {
+      return;
+    }
+    int cx = MathHelper.floor(entity.posX) >> 4;
+    int cz = MathHelper.floor(entity.posZ) >> 4;
+    int prevX = MathHelper.floor(entity.prevPosX) >> 4;
+    int prevZ = MathHelper.floor(entity.prevPosZ) >> 4;
+    Set<TileEntityDetector> set = byChunk.get(ChunkPos.asLong(cx, cz));
+    if (set != null) {
+      for (TileEntityDetector detector : Lists.newArrayList(set)) {
+        detector.onEntityMoved(entity);
+      }
+    }
+    if (prevX != cx || prevZ != cz) {
+      Set<TileEntityDetector> prevSet = byChunk.get(ChunkPos.asLong(prevX, prevZ));
+      if (prevSet != null) {
+        for (TileEntityDetector detector : Lists.newArrayList(prevSet)) {
+          if (set == null || set.contains(detector) == false) {
+            detector.onEntityMoved(entity);
+          }
+        }
+      }
+    }
+  }
+
+  private void onEntityPresence(Entity entity) {
+    if (byChunk.isEmpty()) {
+      return;
+    }
+    Set<TileEntityDetector> set = byChunk.get(ChunkPos.asLong(MathHelper.floor(entity.posX) >> 4, MathHelper.floor(entity.posZ) >> 4));
+    if (set == null) {
+      return;
+    }
+    for (TileEntityDetector detector : Lists.newArrayList(set)) {
+      detector.onEntityPresence(entity);
+    }
+  }
+
+  @Override
+  public void onEntityAdded(Entity entityIn) {
+    onEntityPresence(entityIn);
+  }
+
+  @Override
+  public void onEntityRemoved(Entity entityIn) {
+    onEntityPresence(entityIn);
+  }
+
+  @Override
+  public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {}
+
+  @Override
+  public void notifyLightSet(BlockPos pos) {}
+
+  @Override
+  public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {}
+
+  @Override
+  public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent soundIn, SoundCategory category, double x, double y, double z, float volume, float pitch) {}
+
+  @Override
+  public void playRecord(SoundEvent soundIn, BlockPos pos) {}
+
+  @Override
+  public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters) {}
+
+  @Override
+  public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {}
+
+  @Override
+  public void broadcastSound(int soundID, BlockPos pos, int data) {}
+
+  @Override
+  public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data) {}
+
+  @Override
+  public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {}
+}
@@ -27,6 +27,7 @@ import java.util.List;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachineInvo;
 import com.lothrazar.cyclicmagic.data.ITilePreviewToggle;
+import com.lothrazar.cyclicmagic.util.EntityQueryCache;
 import com.lothrazar.cyclicmagic.util.UtilShape;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
@@ -47,6 +48,15 @@ public class TileEntityDetector extends TileEntityBaseMachineInvo implements ITi
 
   private static final int PER_TICK = 5;
   public static final int MAX_RANGE = 32;
+  /**
+   * recount this often even with no entity events, catches stack sizes changing in place
+   */
+  private static final int RESCAN_TICKS = 100;
+  /**
+   * items and orbs only send events when crossing a chunk, so while any are moving this close by the detector keeps polling
+   */
+  private static final int SETTLE_RANGE = 16;
+  private static final double SETTLED_MOTION = 0.001;
 
   public static enum Fields {
     GREATERTHAN, LIMIT, RANGEX, RANGEY, RANGEZ, ENTITYTYPE, RENDERPARTICLES;
@@ -67,6 +77,9 @@ public class TileEntityDetector extends TileEntityBaseMachineInvo implements ITi
   private boolean isPoweredNow = false;
   private CompareType compType = CompareType.GREATER;
   private EntityType entityType = EntityType.LIVING;
+  private boolean countChanged = true;
+  private long nextRescan = 0;
+  private AxisAlignedBB indexedRange = null;
 
   public TileEntityDetector() {
     super(0);
@@ -91,6 +104,14 @@ public class TileEntityDetector extends TileEntityBaseMachineInvo implements ITi
       return;//client so halt
     }
     timer = PER_TICK;
+    syncIndex();
+    long now = world.getTotalWorldTime();
+    if (countChanged == false && now < nextRescan) {
+      this.sleep((int) (nextRescan - now));
+      return;
+    }
+    countChanged = false;
+    nextRescan = now + RESCAN_TICKS;
     int entitiesFound = getCountInRange();
     boolean trigger = false;
     switch (this.compType) {
@@ -123,26 +144,83 @@ public class TileEntityDetector extends TileEntityBaseMachineInvo implements ITi
         ModCyclic.logger.info("State change error in adjacent block ", e);
       }
     }
+    if (countChanged == false) {
+      //nothing left to watch for, entity events or the rescan timer wake it back up
+      this.sleep(RESCAN_TICKS);
+    }
   }
 
-  private int getCountInRange() {
+  private AxisAlignedBB getRange() {
     BlockPos p = this.getPos();
     double x = p.getX();
     double y = p.getY();
     double z = p.getZ();
-    AxisAlignedBB entityRange = new AxisAlignedBB(
+    return new AxisAlignedBB(
         x - this.rangeX, y - this.rangeY, z - this.rangeZ,
         x + this.rangeX, y + this.rangeY, z + this.rangeZ);
-    if (getEntityClass() == EntityItem.class) {
-      List<EntityItem> entityList = world.getEntitiesWithinAABB(EntityItem.class, entityRange);
+  }
+
+  private void syncIndex() {
+    AxisAlignedBB range = getRange();
+    if (range.equals(indexedRange) == false) {
+      DetectorIndex.get(world).register(this, range);
+      indexedRange = range;
+      countChanged = true;
+    }
+  }
+
+  private void onCountChanged() {
+    countChanged = true;
+    this.wake();
+  }
+
+  /**
+   * an entity joined or left the world near this detector
+   */
+  void onEntityPresence(Entity entity) {
+    if (indexedRange != null && getEntityClass().isInstance(entity)
+        && isTouching(indexedRange, entity, entity.posX, entity.posY, entity.posZ)) {
+      onCountChanged();
+    }
+  }
+
+  /**
+   * an entity moved near this detector, only matters if it crossed the edge of the range
+   */
+  void onEntityMoved(Entity entity) {
+    if (indexedRange != null && getEntityClass().isInstance(entity)
+        && isTouching(indexedRange, entity, entity.prevPosX, entity.prevPosY, entity.prevPosZ) != isTouching(indexedRange, entity, entity.posX, entity.posY, entity.posZ)) {
+      onCountChanged();
+    }
+  }
+
+  /**
+   * same test as the entity bounding box intersecting the range, for the entity standing at the given spot
+   */
+  private static boolean isTouching(AxisAlignedBB range, Entity entity, double x, double y, double z) {
+    double halfWidth = entity.width / 2.0;
+    return x + halfWidth > range.minX && x - halfWidth < range.maxX
+        && y + entity.height > range.minY && y < range.maxY
+        && z + halfWidth > range.minZ && z - halfWidth < range.maxZ;
+  }
+
+  private int getCountInRange() {
+    AxisAlignedBB entityRange = getRange();
+    if (getEntityClass() == EntityItem.class || getEntityClass() == EntityXPOrb.class) {
+      List<Entity> entityList = EntityQueryCache.getEntitiesWithinAABB(world, getEntityClass(), entityRange.grow(SETTLE_RANGE));
       int entitiesFound = 0;
-      for (EntityItem item : entityList) {
-        entitiesFound += item.getItem().getCount();
+      for (Entity entity : entityList) {
+        if (Math.abs(entity.motionX) + Math.abs(entity.motionY) + Math.abs(entity.motionZ) > SETTLED_MOTION) {
+          countChanged = true;
+        }
+        if (entity.getEntityBoundingBox().intersects(entityRange)) {
+          entitiesFound += (entity instanceof EntityItem) ? ((EntityItem) entity).getItem().getCount() : 1;
+        }
       }
       return entitiesFound;
     }
     else {
-      List<Entity> entityList = world.getEntitiesWithinAABB(getEntityClass(), entityRange);
+      List<Entity> entityList = EntityQueryCache.getEntitiesWithinAABB(world, getEntityClass(), entityRange);
       return (entityList == null) ? 0 : entityList.size();
     }
   }
@@ -201,6 +279,7 @@ public class TileEntityDetector extends TileEntityBaseMachineInvo implements ITi
   }
 
   public void setField(Fields f, int value) {
+    countChanged = true;
     if (f == Fields.RANGEX || f == Fields.RANGEY || f == Fields.RANGEZ) {
       if (value > MAX_RANGE) {
         value = MAX_RANGE;
@@ -250,6 +329,30 @@ public class TileEntityDetector extends TileEntityBaseMachineInvo implements ITi
     }
   }
 
+  @Override
+  public void onChunkUnload() {
+    super.onChunkUnload();
+    if (world != null && !world.isRemote) {
+      DetectorIndex index = DetectorIndex.getIfPresent(world);
+      if (index != null) {
+        index.unregister(this);
+      }
+      indexedRange = null;
+    }
+  }
+
+  @Override
+  public void invalidate() {
+    super.invalidate();
+    if (world != null && !world.isRemote) {
+      DetectorIndex index = DetectorIndex.getIfPresent(world);
+      if (index != null) {
+        index.unregister(this);
+      }
+      indexedRange = null;
+    }
+  }
+
   public EntityType getEntityType() {
     int type = this.getField(Fields.ENTITYTYPE);
     return EntityType.values()[type];
@@ -268,6 +371,7 @@ public class TileEntityDetector extends TileEntityBaseMachineInvo implements ITi
     int eType = tagCompound.getInteger("et");
     if (eType >= 0 && eType < EntityType.values().length)
       this.entityType = EntityType.values()[eType];
+    this.countChanged = true;
   }
 
   @Override
@@ -26,11 +26,10 @@ package com.lothrazar.cyclicmagic.block.exppylon;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.util.UtilChat;
 import com.lothrazar.cyclicmagic.util.UtilExperience;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -51,24 +50,16 @@ public class PacketTilePylon implements IMessage, IMessageHandler<PacketTilePylo
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    int x = tags.getInteger("x");
-    int y = tags.getInteger("y");
-    int z = tags.getInteger("z");
-    pos = new BlockPos(x, y, z);
-    value = tags.getInteger("value");
-    type = TileEntityXpPylon.Fields.values()[tags.getInteger("t")];
+    pos = UtilPacket.readPos(buf);
+    value = UtilPacket.readSignedVarInt(buf);
+    type = TileEntityXpPylon.Fields.values()[buf.readByte()];
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("x", pos.getX());
-    tags.setInteger("y", pos.getY());
-    tags.setInteger("z", pos.getZ());
-    tags.setInteger("value", value);
-    tags.setInteger("t", type.ordinal());
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writePos(buf, pos);
+    UtilPacket.writeSignedVarInt(buf, value);
+    buf.writeByte(type.ordinal());
   }
 
   @Override
@@ -27,6 +27,7 @@ import java.util.List;
 import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachineFluid;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
 import com.lothrazar.cyclicmagic.liquid.FluidTankFixDesync;
+import com.lothrazar.cyclicmagic.util.EntityQueryCache;
 import com.lothrazar.cyclicmagic.util.UtilItemStack;
 import net.minecraft.entity.item.EntityXPOrb;
 import net.minecraft.init.Items;
@@ -149,7 +150,7 @@ public class TileEntityXpPylon extends TileEntityBaseMachineFluid implements ITi
   private void updateCollection() {
     //expand only goes ONE direction. so expand(3...) goes 3 in + x, but not both ways. for full boc centered at this..!! we go + and -
     AxisAlignedBB region = new AxisAlignedBB(this.getPos().up()).expand(RADIUS, VRADIUS, RADIUS).expand(-1 * RADIUS, -1 * VRADIUS, -1 * RADIUS);//expandXyz
-    List<EntityXPOrb> orbs = getWorld().getEntitiesWithinAABB(EntityXPOrb.class, region);
+    List<EntityXPOrb> orbs = EntityQueryCache.getEntitiesWithinAABB(getWorld(), EntityXPOrb.class, region);
     if (orbs != null) { //no timer just EAT
       for (EntityXPOrb orb : orbs) {
         if (orb.isDead || orb.delayBeforeCanPickup > 0) {
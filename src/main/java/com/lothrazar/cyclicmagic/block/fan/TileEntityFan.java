@@ -28,6 +28,7 @@ import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachineInvo;
 import com.lothrazar.cyclicmagic.data.ITilePreviewToggle;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
 import com.lothrazar.cyclicmagic.registry.SoundRegistry;
+import com.lothrazar.cyclicmagic.util.EntityQueryCache;
 import com.lothrazar.cyclicmagic.util.UtilParticle;
 import com.lothrazar.cyclicmagic.util.UtilShape;
 import com.lothrazar.cyclicmagic.util.UtilSound;
@@ -184,7 +185,7 @@ public class TileEntityFan extends TileEntityBaseMachineInvo implements ITickabl
       break;
     }
     AxisAlignedBB region = new AxisAlignedBB(start, end);
-    List<Entity> entitiesFound = this.getWorld().getEntitiesWithinAABB(Entity.class, region);//UtilEntity.getLivingHostile(, region);
+    List<Entity> entitiesFound = EntityQueryCache.getEntitiesWithinAABB(this.getWorld(), Entity.class, region);//UtilEntity.getLivingHostile(, region);
     int moved = 0;
     boolean doPush = (pushIfZero == 0);
     int direction = 1;
@@ -101,5 +101,7 @@ public class BlockHarvester extends BlockBaseFacingInventory implements IHasReci
     TileEntityHarvester.TIMER_FULL = config.getInt(getContentName(), Const.ConfigCategory.machineTimer,
         150, 1, 9000, Const.ConfigText.machineTimer);
     FUEL_COST = config.getInt(getContentName(), Const.ConfigCategory.fuelCost, 50, 0, 500000, Const.ConfigText.fuelCost);
+    TileEntityHarvester.AREA_PER_TICK = config.getInt("HarvesterAreaPerTick", Const.ConfigCategory.blocks,
+        16, 1, 1024, "In area mode the harvester visits at most this many positions per tick, spreading a pass over several ticks instead of scanning the whole field at once");
   }
 }
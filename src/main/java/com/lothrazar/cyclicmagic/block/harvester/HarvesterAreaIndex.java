@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.block.harvester;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import javax.annotation.Nullable;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+
+/**
+ * Listens to every block change in a world and tells the area harvesters covering that spot, so they only revisit positions that changed (a crop grew, something was planted) instead of
+ * scanning their whole area each pass.
+ * 
+ * Harvesters are bucketed by chunk so a block change costs one map lookup
+ */
+public class HarvesterAreaIndex implements IWorldEventListener {
+
+  private static final Map<World, HarvesterAreaIndex> worlds = new WeakHashMap<World, HarvesterAreaIndex>();
+  private final Map<Long, Set<TileEntityHarvester>> byChunk = Maps.newHashMap();
+  private final Map<TileEntityHarvester, List<Long>> registered = Maps.newIdentityHashMap();
+
+  /**
+   * the map is weak, but registered harvesters hold their world. a stopping server unloads its worlds without unloading their chunks first, so the entry is removed here
+   */
+  public static void unload(World world) {
+    worlds.remove(world);
+  }
+
+  /**
+   * null once the world has unloaded, so late removals do not put it back
+   */
+  @Nullable
+  public static HarvesterAreaIndex getIfPresent(World world) {
+    return worlds.get(world);
+  }
+
+  public static HarvesterAreaIndex get(World world) {
+    HarvesterAreaIndex index = worlds.get(world);
+    if (index == null) {
+      index = new HarvesterAreaIndex();
+      world.addEventListener(index);
+      worlds.put(world, index);
+    }
+    return index;
+  }
+
+  /**
+   * (re)register the harvester for every chunk its area touches
+   */
+  public void register(TileEntityHarvester harvester, BlockPos center, int radius) {
+    unregister(harvester);
+    List<Long> keys = Lists.newArrayList();
+    for (int cx = (center.getX() - radius) >> 4; cx <= (center.getX() + radius) >> 4; cx++) {
+      for (int cz = (center.getZ() - radius) >> 4; cz <= (center.getZ() + radius) >> 4; cz++) {
+        long key = ChunkPos.asLong(cx, cz);
+        Set<TileEntityHarvester> set = byChunk.get(key);
+        if (set == null) {
+          set = Sets.newIdentityHashSet();
+          byChunk.put(key, set);
+        }
+        set.add(harvester);
+        keys.add(key);
+      }
+    }
+    registered.put(harvester, keys);
+  }
+
+  public void unregister(TileEntityHarvester harvester) {
+    List<Long> keys = registered.remove(harvester);
+    if (keys == null) {
+      return;
+    }
+    for (Long key : keys) {
+      Set<TileEntityHarvester> set = byChunk.get(key);
+      if (set != null) {
+        set.remove(harvester);
+        if (set.isEmpty()) {
+          byChunk.remove(key);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+    if (byChunk.isEmpty()) {
+      return;
+    }
+    Set<TileEntityHarvester> set = byChunk.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+    if (set == null) {
+      return;
+    }
+    for (TileEntityHarvester harvester : Lists.newArrayList(set)) {
+      harvester.onAreaBlockChanged(pos);
+    }
+  }
+
+  @Override
+  public void notifyLightSet(BlockPos pos) {}
+
+  @Override
+  public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {}
+
+  @Override
+  public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent soundIn, SoundCategory category, double x, double y, double z, float volume, float pitch) {}
+
+  @Override
+  public void playRecord(SoundEvent soundIn, BlockPos pos) {}
+
+  @Override
+  public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters) {}
+
+  @Override
+  public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {}
+
+  @Override
+  public void onEntityAdded(Entity entityIn) {}
+
+  @Override
+  public void onEntityRemoved(Entity entityIn) {}
+
+  @Override
+  public void broadcastSound(int soundID, BlockPos pos, int data) {}
+
+  @Override
+  public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data) {}
+
+  @Override
+  public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {}
+}
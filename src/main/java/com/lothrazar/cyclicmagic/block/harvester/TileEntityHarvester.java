@@ -24,7 +24,10 @@
 package com.lothrazar.cyclicmagic.block.harvester;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import com.google.common.collect.Sets;
 import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachineInvo;
 import com.lothrazar.cyclicmagic.capability.EnergyStore;
 import com.lothrazar.cyclicmagic.data.ITilePreviewToggle;
@@ -51,12 +54,23 @@ public class TileEntityHarvester extends TileEntityBaseMachineInvo implements IT
   private static final int MAX_SIZE = 7;//radius 7 translates to 15x15 area (center block + 7 each side)
   private int size = MAX_SIZE;//default to the old fixed size, backwards compat
   public static int TIMER_FULL = 200;
+  /**
+   * positions visited per tick in area mode
+   */
+  public static int AREA_PER_TICK = 16;
 
   public static enum Fields {
     TIMER, REDSTONE, SIZE, RENDERPARTICLES, HARVESTMODE;
   }
 
   private int normalModeIfZero = 0;//if this == 1, then do full field at once
+  //area mode: index into the filled square, saved so a pass resumes after a restart
+  private int areaCursor = 0;
+  //until the first pass finishes (or the area moves) visit everything, after that only positions that changed
+  private boolean fullSweep = true;
+  private Set<Long> readyIndex = Sets.newHashSet();
+  private BlockPos indexedCenter = null;
+  private int indexedSize = -1;
 
   public TileEntityHarvester() {
     super(3 * 9);
@@ -78,6 +92,7 @@ public class TileEntityHarvester extends TileEntityBaseMachineInvo implements IT
     this.needsRedstone = tags.getInteger(NBT_REDST);
     this.renderParticles = tags.getInteger(NBT_RENDER);
     this.normalModeIfZero = tags.getInteger("HM");
+    this.areaCursor = tags.getInteger("areaCursor");
   }
 
   @Override
@@ -86,42 +101,168 @@ public class TileEntityHarvester extends TileEntityBaseMachineInvo implements IT
     tags.setInteger(NBT_RENDER, renderParticles);
     tags.setInteger(NBT_SIZE, size);
     tags.setInteger("HM", normalModeIfZero);
+    tags.setInteger("areaCursor", areaCursor);
     return super.writeToNBT(tags);
   }
 
   @Override
   public void update() {
     if (this.isRunning() == false) {
+      this.sleep(0);
       return;
     }
     if (this.isInventoryFull()) {
+      //taking anything out wakes us
+      this.sleep(0);
       return;
     }
     if (this.updateEnergyIsBurning() == false) {
       return;
     }
     if (this.updateTimerIsZero()) {
-      timer = TIMER_FULL;//harvest worked!
       if (this.normalModeIfZero == 0) {
+        timer = TIMER_FULL;//harvest worked!
         if (tryHarvestSingle(getTargetPos()) == false) {
           timer = 1;//harvest didnt work, try again really quick
         }
       }
-      else {
-        tryHarvestArea();
+      else if (tryHarvestArea()) {
+        //timer stays at zero while a pass is spread over several ticks
+        timer = TIMER_FULL;
+        if (this.fullSweep == false && this.readyIndex.isEmpty()) {
+          //nothing changed in the area, a block update there wakes us
+          this.sleep(0);
+        }
       }
     }
   }
 
-  private void tryHarvestArea() {
-    List<BlockPos> shape = getShapeFilled();
-    for (BlockPos posCurrent : shape) {
-      this.tryHarvestSingle(posCurrent);
+  /**
+   * Visit up to AREA_PER_TICK positions, picking up where the last tick stopped
+   * 
+   * @return true when this pass over the area is finished
+   */
+  private boolean tryHarvestArea() {
+    syncAreaIndex();
+    if (this.fullSweep) {
+      int total = getAreaCount();
+      for (int i = 0; i < AREA_PER_TICK && areaCursor < total; i++) {
+        BlockPos posCurrent = getAreaPos(areaCursor);
+        areaCursor++;
+        readyIndex.remove(posCurrent.toLong());
+        this.tryHarvestSingle(posCurrent);
+        if (this.isInventoryFull()) {
+          //still might drop items for example if there is room for wheat, but seeds come in
+          //but if that happens, just get item collectors or faster piping .
+          //worth keepin for single cropss like netherwart
+          return false;
+        }
+      }
+      if (areaCursor < total) {
+        return false;
+      }
+      areaCursor = 0;
+      fullSweep = false;
+      return true;
+    }
+    //take the batch out first, harvesting changes blocks which feeds the index again
+    List<Long> batch = new ArrayList<Long>();
+    Iterator<Long> it = readyIndex.iterator();
+    while (it.hasNext() && batch.size() < AREA_PER_TICK) {
+      batch.add(it.next());
+      it.remove();
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      this.tryHarvestSingle(BlockPos.fromLong(batch.get(i)));
       if (this.isInventoryFull()) {
-        //still might drop items for example if there is room for wheat, but seeds come in
-        //but if that happens, just get item collectors or faster piping .
-        //worth keepin for single cropss like netherwart
-        return;
+        readyIndex.addAll(batch.subList(i + 1, batch.size()));
+        return false;
+      }
+    }
+    return readyIndex.isEmpty();
+  }
+
+  /**
+   * side length of the filled square, squared
+   */
+  private int getAreaCount() {
+    int side = 2 * this.size + 1;
+    return side * side;
+  }
+
+  /**
+   * same order as UtilShape.squareHorizontalFull, without building the list
+   */
+  private BlockPos getAreaPos(int index) {
+    int side = 2 * this.size + 1;
+    return getTargetCenter().add(index / side - this.size, 0, index % side - this.size);
+  }
+
+  private boolean isInArea(BlockPos p) {
+    BlockPos center = getTargetCenter();
+    return p.getY() == center.getY()
+        && Math.abs(p.getX() - center.getX()) <= this.size
+        && Math.abs(p.getZ() - center.getZ()) <= this.size;
+  }
+
+  /**
+   * start over with a full pass if the area moved or resized since we last indexed it. server only
+   */
+  private void syncAreaIndex() {
+    if (world.isRemote) {
+      //only the server harvests, and only the server unregisters
+      return;
+    }
+    BlockPos center = getTargetCenter();
+    if (center.equals(indexedCenter) && size == indexedSize) {
+      return;
+    }
+    if (indexedCenter != null) {
+      //area really changed, not just loaded from disk
+      areaCursor = 0;
+    }
+    indexedCenter = center;
+    indexedSize = size;
+    fullSweep = true;
+    readyIndex.clear();
+    HarvesterAreaIndex.get(world).register(this, center, size);
+  }
+
+  /**
+   * a block in or just above our area changed, from {@link HarvesterAreaIndex}
+   */
+  void onAreaBlockChanged(BlockPos changed) {
+    if (indexedCenter == null) {
+      return;
+    }
+    //tall crops like reeds and cactus are harvested from the bottom block
+    for (int down = 0; down <= 2; down++) {
+      BlockPos p = changed.down(down);
+      if (isInArea(p)) {
+        readyIndex.add(p.toLong());
+        this.wake();
+      }
+    }
+  }
+
+  @Override
+  public void onChunkUnload() {
+    super.onChunkUnload();
+    if (world != null && !world.isRemote) {
+      HarvesterAreaIndex index = HarvesterAreaIndex.getIfPresent(world);
+      if (index != null) {
+        index.unregister(this);
+      }
+    }
+  }
+
+  @Override
+  public void invalidate() {
+    super.invalidate();
+    if (world != null && !world.isRemote) {
+      HarvesterAreaIndex index = HarvesterAreaIndex.getIfPresent(world);
+      if (index != null) {
+        index.unregister(this);
       }
     }
   }
@@ -232,10 +373,6 @@ public class TileEntityHarvester extends TileEntityBaseMachineInvo implements IT
     return UtilShape.squareHorizontalHollow(getTargetCenter(), this.size);
   }
 
-  private List<BlockPos> getShapeFilled() {
-    return UtilShape.squareHorizontalFull(getTargetCenter(), this.size);
-  }
-
   @Override
   public boolean isPreviewVisible() {
     return this.getField(Fields.RENDERPARTICLES.ordinal()) == 1;
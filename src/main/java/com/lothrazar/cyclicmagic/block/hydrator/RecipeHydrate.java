@@ -24,9 +24,11 @@
 package com.lothrazar.cyclicmagic.block.hydrator;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import com.lothrazar.cyclicmagic.util.Const;
+import com.lothrazar.cyclicmagic.util.RecipeIndex;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
 import net.minecraft.inventory.IInventory;
@@ -47,6 +49,14 @@ public class RecipeHydrate extends IForgeRegistryEntry.Impl<IRecipe> implements
 
   private static final int FLUID_DEFAULT = 25;
   public static ArrayList<RecipeHydrate> recipes = new ArrayList<RecipeHydrate>();
+  public static final RecipeIndex<RecipeHydrate> index = new RecipeIndex<RecipeHydrate>(recipes) {
+
+    @Override
+    protected List<ItemStack> getKeys(RecipeHydrate rec) {
+      //matched slot by slot, and inputs are packed so the first slot is always filled
+      return Collections.singletonList(rec.recipeInput.get(0));
+    }
+  };
   private NonNullList<ItemStack> recipeInput = NonNullList.withSize(TileEntityHydrator.RECIPE_SIZE, ItemStack.EMPTY);// new ItemStack[4];
   private ItemStack resultItem = ItemStack.EMPTY;
   private int fluidCost = FLUID_DEFAULT;
@@ -257,5 +267,6 @@ public class RecipeHydrate extends IForgeRegistryEntry.Impl<IRecipe> implements
 
   public static void addRecipe(RecipeHydrate rec) {
     recipes.add(rec);
+    index.invalidate();
   }
 }
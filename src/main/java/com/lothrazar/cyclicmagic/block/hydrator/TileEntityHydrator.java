@@ -37,6 +37,7 @@ import net.minecraft.inventory.InventoryCrafting;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ITickable;
+import net.minecraft.util.NonNullList;
 import net.minecraftforge.fluids.FluidRegistry;
 
 public class TileEntityHydrator extends TileEntityBaseMachineFluid implements ITileRedstoneToggle, ITickable {
@@ -52,6 +53,9 @@ public class TileEntityHydrator extends TileEntityBaseMachineFluid implements IT
   private int recipeIsLocked = 0;
   private InventoryCrafting crafting = new InventoryCrafting(new ContainerDummyHydrator(), RECIPE_SIZE / 2, RECIPE_SIZE / 2);
   private RecipeHydrate currentRecipe;
+  //what the inputs looked like when currentRecipe was found
+  private NonNullList<ItemStack> lastInput = NonNullList.withSize(RECIPE_SIZE, ItemStack.EMPTY);
+  private int recipeVersion = -1;
 
   public TileEntityHydrator() {
     super(2 * RECIPE_SIZE);// in, out 
@@ -75,8 +79,11 @@ public class TileEntityHydrator extends TileEntityBaseMachineFluid implements IT
 
   @Override
   public void update() {
-    currentRecipe = null;
-    if (this.currentRecipe == null) {
+    //only look for a recipe again when an input slot or the recipe list changed
+    if (this.updateSlotSnapshot(lastInput, 0)
+        || recipeVersion != RecipeHydrate.index.getVersion()) {
+      recipeVersion = RecipeHydrate.index.getVersion();
+      currentRecipe = null;
       this.findMatchingRecipe();
       this.updateLockSlots();
     }
@@ -143,7 +150,7 @@ public class TileEntityHydrator extends TileEntityBaseMachineFluid implements IT
     if (allAir) {//short cut 
       return;
     }
-    for (RecipeHydrate rec : RecipeHydrate.recipes) {
+    for (RecipeHydrate rec : RecipeHydrate.index.getCandidates(this.getStackInSlot(0))) {
       if (rec.matches(this.crafting, world)) {
         currentRecipe = rec;
       }
@@ -24,9 +24,11 @@
 package com.lothrazar.cyclicmagic.block.melter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import com.lothrazar.cyclicmagic.util.Const;
+import com.lothrazar.cyclicmagic.util.RecipeIndex;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
 import net.minecraft.inventory.IInventory;
@@ -46,6 +48,14 @@ import net.minecraftforge.registries.IForgeRegistryEntry;
 public class RecipeMelter extends IForgeRegistryEntry.Impl<IRecipe> implements IRecipe {
 
   public static ArrayList<RecipeMelter> recipes = new ArrayList<RecipeMelter>();
+  public static final RecipeIndex<RecipeMelter> index = new RecipeIndex<RecipeMelter>(recipes) {
+
+    @Override
+    protected List<ItemStack> getKeys(RecipeMelter rec) {
+      //matched slot by slot, and inputs are packed so the first slot is always filled
+      return Collections.singletonList(rec.recipeInput.get(0));
+    }
+  };
   private NonNullList<ItemStack> recipeInput = NonNullList.withSize(TileMelter.RECIPE_SIZE, ItemStack.EMPTY);// new ItemStack[4];
   private Fluid fluidResult = null;
   private int fluidSize;
@@ -255,6 +265,7 @@ public class RecipeMelter extends IForgeRegistryEntry.Impl<IRecipe> implements I
 
   public static void addRecipe(RecipeMelter rec) {
     recipes.add(rec);
+    index.invalidate();
   }
 
   public Fluid getFluidResult() {
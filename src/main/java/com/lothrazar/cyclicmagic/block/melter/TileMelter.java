@@ -40,6 +40,7 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ITickable;
+import net.minecraft.util.NonNullList;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 
@@ -59,6 +60,9 @@ public class TileMelter extends TileEntityBaseMachineFluid implements ITileRedst
   private int heatRefresh;
   private InventoryCrafting crafting = new InventoryCrafting(new ContainerDummyHydrator(), RECIPE_SIZE / 2, RECIPE_SIZE / 2);
   private RecipeMelter currentRecipe;
+  //what the inputs looked like when currentRecipe was found
+  private NonNullList<ItemStack> lastInput = NonNullList.withSize(RECIPE_SIZE, ItemStack.EMPTY);
+  private int recipeVersion = -1;
 
   public TileMelter() {
     super(RECIPE_SIZE);// 4in, 0out 
@@ -79,8 +83,11 @@ public class TileMelter extends TileEntityBaseMachineFluid implements ITileRedst
 
   @Override
   public void update() {
-    currentRecipe = null;
-    if (this.currentRecipe == null) {
+    //only look for a recipe again when an input slot or the recipe list changed
+    if (this.updateSlotSnapshot(lastInput, 0)
+        || recipeVersion != RecipeMelter.index.getVersion()) {
+      recipeVersion = RecipeMelter.index.getVersion();
+      currentRecipe = null;
       this.findMatchingRecipe();
       this.updateLockSlots();
     }
@@ -170,7 +177,7 @@ public class TileMelter extends TileEntityBaseMachineFluid implements ITileRedst
     if (allAir) {//short cut 
       return;
     }
-    for (RecipeMelter rec : RecipeMelter.recipes) {
+    for (RecipeMelter rec : RecipeMelter.index.getCandidates(this.getStackInSlot(0))) {
       if (rec.matches(this.crafting, world)) {
         currentRecipe = rec;
       }
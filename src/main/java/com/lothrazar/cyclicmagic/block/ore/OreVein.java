@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.block.ore;
+
+import java.util.Random;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.MathHelper;
+
+/**
+ * One configured ore, resolved once when the generator is built. Vein shapes and random rolls are the same as vanilla WorldGenMinable, but blocks are handed to an {@link IOreTarget} instead
+ * of going through World.setBlockState
+ */
+public class OreVein {
+
+  public static interface IOreTarget {
+
+    /**
+     * put the vein's ore here if the block currently there is the one it replaces
+     */
+    void replace(int x, int y, int z, OreVein vein);
+  }
+
+  final IBlockState ore;
+  final Block replace;
+  final int blockCount;
+  final int spawnChance;
+  /** safe to write straight into the chunk section, no change to light or height map */
+  final boolean direct;
+
+  public OreVein(IBlockState ore, Block replace, int blockCount, int spawnChance) {
+    this.ore = ore;
+    this.replace = replace;
+    this.blockCount = blockCount;
+    this.spawnChance = spawnChance;
+    IBlockState replaceState = replace.getDefaultState();
+    this.direct = ore.getLightValue() == replaceState.getLightValue()
+        && ore.getLightOpacity() == replaceState.getLightOpacity();
+  }
+
+  /**
+   * same as WorldGenMinable.generate, position is the corner of the vein's 16x16 area which is offset by 8 into the chunks being populated
+   */
+  public void generate(IOreTarget target, Random rand, int posX, int posY, int posZ) {
+    float f = rand.nextFloat() * (float) Math.PI;
+    double d0 = (double) ((float) (posX + 8) + MathHelper.sin(f) * (float) blockCount / 8.0F);
+    double d1 = (double) ((float) (posX + 8) - MathHelper.sin(f) * (float) blockCount / 8.0F);
+    double d2 = (double) ((float) (posZ + 8) + MathHelper.cos(f) * (float) blockCount / 8.0F);
+    double d3 = (double) ((float) (posZ + 8) - MathHelper.cos(f) * (float) blockCount / 8.0F);
+    double d4 = (double) (posY + rand.nextInt(3) - 2);
+    double d5 = (double) (posY + rand.nextInt(3) - 2);
+    for (int i = 0; i < blockCount; ++i) {
+      float f1 = (float) i / (float) blockCount;
+      double d6 = d0 + (d1 - d0) * (double) f1;
+      double d7 = d4 + (d5 - d4) * (double) f1;
+      double d8 = d2 + (d3 - d2) * (double) f1;
+      double d9 = rand.nextDouble() * (double) blockCount / 16.0D;
+      double d10 = (double) (MathHelper.sin((float) Math.PI * f1) + 1.0F) * d9 + 1.0D;
+      double d11 = (double) (MathHelper.sin((float) Math.PI * f1) + 1.0F) * d9 + 1.0D;
+      int xMin = MathHelper.floor(d6 - d10 / 2.0D);
+      int yMin = Math.max(0, MathHelper.floor(d7 - d11 / 2.0D));
+      int zMin = MathHelper.floor(d8 - d10 / 2.0D);
+      int xMax = MathHelper.floor(d6 + d10 / 2.0D);
+      int yMax = Math.min(255, MathHelper.floor(d7 + d11 / 2.0D));
+      int zMax = MathHelper.floor(d8 + d10 / 2.0D);
+      for (int x = xMin; x <= xMax; ++x) {
+        double d12 = ((double) x + 0.5D - d6) / (d10 / 2.0D);
+        if (d12 * d12 < 1.0D) {
+          for (int y = yMin; y <= yMax; ++y) {
+            double d13 = ((double) y + 0.5D - d7) / (d11 / 2.0D);
+            if (d12 * d12 + d13 * d13 < 1.0D) {
+              for (int z = zMin; z <= zMax; ++z) {
+                double d14 = ((double) z + 0.5D - d8) / (d10 / 2.0D);
+                if (d12 * d12 + d13 * d13 + d14 * d14 < 1.0D) {
+                  target.replace(x, y, z, this);
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+}
@@ -23,75 +23,183 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.block.ore;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.module.WorldModule;
 import com.lothrazar.cyclicmagic.util.Const;
-import net.minecraft.block.state.pattern.BlockMatcher;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraft.world.gen.IChunkGenerator;
-import net.minecraft.world.gen.feature.WorldGenMinable;
-import net.minecraft.world.gen.feature.WorldGenerator;
 import net.minecraftforge.fml.common.IWorldGenerator;
 
+/**
+ * The ores for each dimension are worked out once from the config when this is built, so a new chunk only looks up its own dimension's list.
+ * 
+ * Veins are written straight into the chunk's block storage, skipping the lighting, neighbor and client updates that setBlockState does. Chunks that are already populated, and so may be
+ * visible to players, and ores that would change lighting still go through setBlockState
+ */
 public class WorldGenNewOre implements IWorldGenerator {
 
   private static final int MIN_HEIGHT = 5;
   private static final int MAX_HEIGHT = 128;
+  private final Map<Integer, OreVein[]> oresByDimension = Maps.newHashMap();
 
   public WorldGenNewOre() {
+    Map<Integer, List<OreVein>> found = Maps.newHashMap();
     for (BlockDimensionOre ore : WorldModule.ores) {
       if (ore.config.isVanilla() == false && WorldModule.enableModCompatOres == false) {
         continue;//quick patch
       }
       if (ore.config.isVanilla()) {
         if (ore.config.getDimension() == Const.Dimension.nether && WorldModule.netherOreEnabled == false) {
-          return;
+          continue;
         }
         if (ore.config.getDimension() == Const.Dimension.end && WorldModule.endOreEnabled == false) {
-          return;
+          continue;
         }
       }
+      Block replace = ore.config.getBlockToReplaceObject();
       if (ore.config.getBlockCount() > 0
-          && ore.config.isRegistered()) {
-        ore.config.setGen(new WorldGenMinable(
-            ore.getDefaultState(),
-            ore.config.getBlockCount(),
-            BlockMatcher.forBlock(ore.config.getBlockToReplaceObject())));
+          && ore.config.getSpawnChance() > 0
+          && ore.config.isRegistered()
+          && replace != null) {
+        List<OreVein> list = found.get(ore.config.getDimension());
+        if (list == null) {
+          list = Lists.newArrayList();
+          found.put(ore.config.getDimension(), list);
+        }
+        list.add(new OreVein(ore.getDefaultState(), replace, ore.config.getBlockCount(), ore.config.getSpawnChance()));
       }
     }
+    for (Map.Entry<Integer, List<OreVein>> entry : found.entrySet()) {
+      oresByDimension.put(entry.getKey(), entry.getValue().toArray(new OreVein[0]));
+    }
   }
 
   @Override
   public void generate(Random random, int chunkX, int chunkZ, World world, IChunkGenerator chunkGenerator, IChunkProvider chunkProvider) {
-    for (BlockDimensionOre ore : WorldModule.ores) {
-      if (ore.config.getGen() != null &&
-          ore.config.isRegistered() &&
-          ore.config.getSpawnChance() > 0 &&
-          ore.config.getDimension() == world.provider.getDimension()) {
-        //now go!
-        this.run(ore.config.getGen(), world, random, chunkX * Const.CHUNK_SIZE, chunkZ * Const.CHUNK_SIZE,
-            ore.config.getSpawnChance(), MIN_HEIGHT, MAX_HEIGHT);
-      }
+    OreVein[] ores = oresByDimension.get(world.provider.getDimension());
+    if (ores == null) {
+      return;
+    }
+    ChunkTarget target = new ChunkTarget(world);
+    for (OreVein ore : ores) {
+      //now go!
+      this.run(ore, target, random, chunkX * Const.CHUNK_SIZE, chunkZ * Const.CHUNK_SIZE,
+          ore.spawnChance, MIN_HEIGHT, MAX_HEIGHT);
     }
   }
 
-  private void run(WorldGenerator generator, World world, Random rand, int chunk_X, int chunk_Z, int chancesToSpawn, int minHeight, int maxHeight) {
+  private void run(OreVein ore, OreVein.IOreTarget target, Random rand, int chunk_X, int chunk_Z, int chancesToSpawn, int minHeight, int maxHeight) {
     if (minHeight < 0 || maxHeight > 256 || minHeight > maxHeight)
       throw new IllegalArgumentException("Illegal Height Arguments for WorldGenerator");
     int heightDiff = maxHeight - minHeight;
-    BlockPos pos;
-    // BiomeGenBase biome;
     for (int i = 0; i < chancesToSpawn; i++) {
       int x = chunk_X + rand.nextInt(Const.CHUNK_SIZE);
       int y = minHeight + rand.nextInt(heightDiff);
       int z = chunk_Z + rand.nextInt(Const.CHUNK_SIZE);
-      pos = new BlockPos(x, y, z);
-      // biome = world.getBiomeGenForCoords(pos);
       // if(biome == Biomes.hell){// no longer do this, in case some mod adds biomes to nether
-      generator.generate(world, rand, pos);
-      // }
+      ore.generate(target, rand, x, y, z);
+    }
+  }
+
+  /**
+   * writes ore into the world's chunks, remembering the last chunk since a vein rarely leaves it
+   */
+  private static class ChunkTarget implements OreVein.IOreTarget {
+
+    private final World world;
+    private Chunk chunk = null;
+    private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+    private ChunkTarget(World world) {
+      this.world = world;
+    }
+
+    @Override
+    public void replace(int x, int y, int z, OreVein vein) {
+      if (chunk == null || chunk.x != x >> 4 || chunk.z != z >> 4) {
+        chunk = world.getChunkFromChunkCoords(x >> 4, z >> 4);
+      }
+      ExtendedBlockStorage section = chunk.getBlockStorageArray()[y >> 4];
+      if (section == Chunk.NULL_BLOCK_STORAGE
+          || section.get(x & 15, y & 15, z & 15).getBlock() != vein.replace) {
+        return;// all air, or not the block this ore replaces
+      }
+      if (chunk.isPopulated() || vein.direct == false) {
+        world.setBlockState(pos.setPos(x, y, z), vein.ore, 2);
+        return;
+      }
+      section.set(x & 15, y & 15, z & 15, vein.ore);
+      chunk.markDirty();
+    }
+  }
+
+  /**
+   * chunks per second for the nether and end tables, writing into detached block storage filled with each dimension's stone so no world is needed
+   */
+  public static void unitTests() {
+    WorldGenNewOre gen = new WorldGenNewOre();
+    int[] dimensions = new int[] { Const.Dimension.nether, Const.Dimension.end };
+    int size = 8;
+    for (int dim : dimensions) {
+      OreVein[] ores = gen.oresByDimension.get(dim);
+      if (ores == null) {
+        ModCyclic.logger.logTestResult("WorldGenNewOre dim " + dim + " has no ores enabled, skipped");
+        continue;
+      }
+      final Map<Long, ExtendedBlockStorage[]> columns = Maps.newHashMap();
+      final int[] placed = new int[1];
+      IBlockState stone = ores[0].replace.getDefaultState();
+      for (int cx = -1; cx <= size; cx++) {
+        for (int cz = -1; cz <= size; cz++) {
+          ExtendedBlockStorage[] column = new ExtendedBlockStorage[MAX_HEIGHT >> 4];
+          for (int sy = 0; sy < column.length; sy++) {
+            column[sy] = new ExtendedBlockStorage(sy << 4, false);
+            for (int i = 0; i < 4096; i++) {
+              column[sy].set(i & 15, (i >> 8) & 15, (i >> 4) & 15, stone);
+            }
+          }
+          columns.put(ChunkPos.asLong(cx, cz), column);
+        }
+      }
+      OreVein.IOreTarget target = new OreVein.IOreTarget() {
+
+        @Override
+        public void replace(int x, int y, int z, OreVein vein) {
+          ExtendedBlockStorage[] column = columns.get(ChunkPos.asLong(x >> 4, z >> 4));
+          if (column == null || (y >> 4) >= column.length) {
+            return;
+          }
+          ExtendedBlockStorage section = column[y >> 4];
+          if (section.get(x & 15, y & 15, z & 15).getBlock() == vein.replace) {
+            section.set(x & 15, y & 15, z & 15, vein.ore);
+            placed[0]++;
+          }
+        }
+      };
+      Random rand = new Random(dim);
+      long start = System.nanoTime();
+      for (int cx = 0; cx < size; cx++) {
+        for (int cz = 0; cz < size; cz++) {
+          for (OreVein ore : ores) {
+            gen.run(ore, target, rand, cx * Const.CHUNK_SIZE, cz * Const.CHUNK_SIZE, ore.spawnChance, MIN_HEIGHT, MAX_HEIGHT);
+          }
+        }
+      }
+      long ns = Math.max(1, System.nanoTime() - start);
+      ModCyclic.logger.logTestResult(String.format("WorldGenNewOre dim %d: %d ore types, %d chunks in %dus (%d chunks/s), %d ore blocks placed",
+          dim, ores.length, size * size, ns / 1000, (long) size * size * 1000000000L / ns, placed[0]));
     }
   }
 }
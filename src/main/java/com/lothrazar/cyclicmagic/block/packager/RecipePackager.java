@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.UUID;
 import com.google.common.collect.Lists;
 import com.lothrazar.cyclicmagic.util.Const;
+import com.lothrazar.cyclicmagic.util.RecipeIndex;
 import com.lothrazar.cyclicmagic.util.UtilItemStack;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
@@ -20,6 +21,14 @@ import net.minecraftforge.registries.IForgeRegistryEntry;
 public class RecipePackager extends IForgeRegistryEntry.Impl<IRecipe> implements IRecipe {
 
   public static ArrayList<RecipePackager> recipes = new ArrayList<>();
+  public static final RecipeIndex<RecipePackager> index = new RecipeIndex<RecipePackager>(recipes) {
+
+    @Override
+    protected List<ItemStack> getKeys(RecipePackager rec) {
+      //shapeless, so found by every ingredient
+      return rec.input;
+    }
+  };
   private NonNullList<ItemStack> input;
   private ItemStack output = ItemStack.EMPTY;
 
@@ -119,5 +128,6 @@ public class RecipePackager extends IForgeRegistryEntry.Impl<IRecipe> implements
 
   public static void addRecipe(RecipePackager rec) {
     recipes.add(rec);
+    index.invalidate();
   }
 }
@@ -106,7 +106,7 @@ public class TileEntityPackager extends TileEntityBaseMachineInvo implements ITi
     // so we dont get stuck on the same one
     //also it does not get called too frequently
     //Collections.shuffle(shuffled);
-    for (RecipePackager irecipe : RecipePackager.recipes) {
+    for (RecipePackager irecipe : RecipePackager.index.getCandidates(this.inv.subList(0, INPUT_SIZE))) {
       if (irecipe.matches(this.crafter, this.world)) {
         this.lastRecipe = irecipe;
         break;
@@ -24,14 +24,13 @@
 package com.lothrazar.cyclicmagic.block.password;
 
 import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.IThreadListener;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -56,13 +55,9 @@ public class PacketTilePassword implements IMessage, IMessageHandler<PacketTileP
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    type = PacketType.values()[tags.getInteger("t")];
-    int x = tags.getInteger("x");
-    int y = tags.getInteger("y");
-    int z = tags.getInteger("z");
-    pos = new BlockPos(x, y, z);
-    password = tags.getString("p");
+    type = PacketType.values()[buf.readByte()];
+    pos = UtilPacket.readPos(buf);
+    password = UtilPacket.readString(buf);
   }
 
   @Override
@@ -70,13 +65,9 @@ public class PacketTilePassword implements IMessage, IMessageHandler<PacketTileP
     if (type == null) {
       type = PacketType.PASSTEXT;//legacy safety
     }
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("x", pos.getX());
-    tags.setInteger("y", pos.getY());
-    tags.setInteger("z", pos.getZ());
-    tags.setInteger("t", type.ordinal());
-    tags.setString("p", password);
-    ByteBufUtils.writeTag(buf, tags);
+    buf.writeByte(type.ordinal());
+    UtilPacket.writePos(buf, pos);
+    UtilPacket.writeString(buf, password);
   }
 
   @Override
@@ -24,9 +24,11 @@
 package com.lothrazar.cyclicmagic.block.solidifier;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import com.lothrazar.cyclicmagic.util.Const;
+import com.lothrazar.cyclicmagic.util.RecipeIndex;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
 import net.minecraft.init.PotionTypes;
@@ -50,6 +52,14 @@ public class RecipeSolidifier extends IForgeRegistryEntry.Impl<IRecipe> implemen
 
   private static final int FLUID_DEFAULT = 25;
   public static ArrayList<RecipeSolidifier> recipes = new ArrayList<RecipeSolidifier>();
+  public static final RecipeIndex<RecipeSolidifier> index = new RecipeIndex<RecipeSolidifier>(recipes) {
+
+    @Override
+    protected List<ItemStack> getKeys(RecipeSolidifier rec) {
+      //matched slot by slot, and inputs are packed so the first slot is always filled
+      return Collections.singletonList(rec.recipeInput.get(0));
+    }
+  };
   private NonNullList<ItemStack> recipeInput = NonNullList.withSize(TileSolidifier.RECIPE_SIZE, ItemStack.EMPTY);// new ItemStack[4];
   private ItemStack resultItem = ItemStack.EMPTY;
   private int fluidCost = FLUID_DEFAULT;
@@ -250,6 +260,7 @@ public class RecipeSolidifier extends IForgeRegistryEntry.Impl<IRecipe> implemen
 
   public static void addRecipe(RecipeSolidifier rec) {
     recipes.add(rec);
+    index.invalidate();
   }
 
   public String getFluidString() {
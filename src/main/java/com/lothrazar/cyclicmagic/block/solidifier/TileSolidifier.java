@@ -37,6 +37,8 @@ import net.minecraft.inventory.InventoryCrafting;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ITickable;
+import net.minecraft.util.NonNullList;
+import net.minecraftforge.fluids.Fluid;
 
 public class TileSolidifier extends TileEntityBaseMachineFluid implements ITileRedstoneToggle, ITickable {
 
@@ -52,6 +54,10 @@ public class TileSolidifier extends TileEntityBaseMachineFluid implements ITileR
   private int recipeIsLocked = 0;
   private InventoryCrafting crafting = new InventoryCrafting(new ContainerDummyHydrator(), RECIPE_SIZE / 2, RECIPE_SIZE / 2);
   private RecipeSolidifier currentRecipe;
+  //what the inputs looked like when currentRecipe was found
+  private NonNullList<ItemStack> lastInput = NonNullList.withSize(RECIPE_SIZE, ItemStack.EMPTY);
+  private int recipeVersion = -1;
+  private Fluid lastFluid = null;
 
   public TileSolidifier() {
     super(RECIPE_SIZE + 1);// 4in, 1out 
@@ -73,8 +79,13 @@ public class TileSolidifier extends TileEntityBaseMachineFluid implements ITileR
 
   @Override
   public void update() {
-    currentRecipe = null;
-    if (this.currentRecipe == null) {
+    //only look for a recipe again when an input slot or the recipe list changed
+    if (this.updateSlotSnapshot(lastInput, 0)
+        || recipeVersion != RecipeSolidifier.index.getVersion()
+        || lastFluid != this.getFluidContainedOrNull()) {
+      recipeVersion = RecipeSolidifier.index.getVersion();
+      lastFluid = this.getFluidContainedOrNull();
+      currentRecipe = null;
       this.findMatchingRecipe();
       this.updateLockSlots();
     }
@@ -141,7 +152,7 @@ public class TileSolidifier extends TileEntityBaseMachineFluid implements ITileR
     if (allAir) {//short cut 
       return;
     }
-    for (RecipeSolidifier rec : RecipeSolidifier.recipes) {
+    for (RecipeSolidifier rec : RecipeSolidifier.index.getCandidates(this.getStackInSlot(0))) {
       if (rec.matches(this.crafting, world)
           && rec.getFluidIngredient().getFluid() == this.getFluidContainedOrNull()) {
         currentRecipe = rec;
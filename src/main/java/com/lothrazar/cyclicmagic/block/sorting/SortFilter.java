@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.block.sorting;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import com.google.common.collect.Sets;
+import com.lothrazar.cyclicmagic.block.sorting.TileEntityItemCableSort.FilterType;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.oredict.OreDictionary;
+
+/**
+ * One side of the sorter compiled into lookup sets, so matching a stack is a hash probe instead of a loop over the filter slots (and for ore dict, over every ore name)
+ * 
+ * Rebuilt by the tile only when the filter slots or filter type of that side change
+ */
+public class SortFilter {
+
+  private final FilterType type;
+  private final Set<Item> items = Sets.newHashSet();
+  private final BitSet oreIds = new BitSet();
+  private final Set<StackKey> exact = Sets.newHashSet();
+
+  public SortFilter(FilterType type, List<ItemStack> filter) {
+    this.type = type;
+    for (ItemStack inFilter : filter) {
+      if (inFilter.isEmpty()) {
+        continue;
+      }
+      switch (type) {
+        case IGNORE:
+          //ignore damage AND nbt, only check that items are equal
+          items.add(inFilter.getItem());
+        break;
+        case OREDICT:
+          for (int id : OreDictionary.getOreIDs(inFilter)) {
+            oreIds.set(id);
+          }
+        break;
+        case NORMAL:
+          //both NBT and damage matches
+          exact.add(new StackKey(inFilter, true));
+        break;
+      }
+    }
+  }
+
+  public boolean isEmpty() {
+    return items.isEmpty() && oreIds.isEmpty() && exact.isEmpty();
+  }
+
+  /**
+   * 
+   * @param stack
+   * @param stackOreIds
+   *          ore ids of the stack, computed once by the caller and shared across all sides
+   * @return
+   */
+  public boolean matches(ItemStack stack, int[] stackOreIds) {
+    if (stack.isEmpty()) {
+      return false;
+    }
+    switch (type) {
+      case IGNORE:
+        return items.contains(stack.getItem());
+      case OREDICT:
+        for (int id : stackOreIds) {
+          if (oreIds.get(id)) {
+            return true;
+          }
+        }
+        return false;
+      case NORMAL:
+        return exact.contains(new StackKey(stack, false));
+    }
+    return false;
+  }
+
+  public static int[] getOreIds(ItemStack stack) {
+    if (stack.isEmpty()) {
+      return new int[0];
+    }
+    return OreDictionary.getOreIDs(stack);
+  }
+
+  /**
+   * item, damage and tag; same rules as UtilItemStack.canMerge
+   */
+  private static class StackKey {
+
+    private final Item item;
+    private final int damage;
+    private final NBTTagCompound tag;
+
+    StackKey(ItemStack stack, boolean copyTag) {
+      this.item = stack.getItem();
+      this.damage = stack.getItemDamage();
+      NBTTagCompound t = stack.getTagCompound();
+      //copy so later edits to the filter stack do not corrupt the hash set
+      this.tag = (copyTag && t != null) ? t.copy() : t;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(item, damage, tag);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj instanceof StackKey == false) {
+        return false;
+      }
+      StackKey other = (StackKey) obj;
+      return item == other.item && damage == other.damage && Objects.equals(tag, other.tag);
+    }
+  }
+}
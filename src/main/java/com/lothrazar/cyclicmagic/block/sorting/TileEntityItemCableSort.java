@@ -36,8 +36,6 @@ import com.lothrazar.cyclicmagic.data.ITileStackWrapper;
 import com.lothrazar.cyclicmagic.data.StackWrapper;
 import com.lothrazar.cyclicmagic.util.UtilChat;
 import com.lothrazar.cyclicmagic.util.UtilItemStack;
-import com.lothrazar.cyclicmagic.util.UtilOreDictionary;
-import com.lothrazar.cyclicmagic.util.UtilString;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
@@ -72,6 +70,8 @@ public class TileEntityItemCableSort extends TileEntityBaseMachineInvo implement
   private BlockPos connectedInventory;
   private int labelTimer = 0;
   private String labelText = "";
+  //compiled per side on demand, null means rebuild on next lookup
+  private SortFilter[] compiledFilters = new SortFilter[EnumFacing.values().length];
 
   public TileEntityItemCableSort() {
     super(1);
@@ -115,6 +115,25 @@ public class TileEntityItemCableSort extends TileEntityBaseMachineInvo implement
     return validForSide;//NonNullList.<ItemStack> from(ItemStack.EMPTY, validForSide.toArray(new ItemStack[0]));
   }
 
+  private SortFilter getCompiledFilter(EnumFacing f) {
+    SortFilter filter = compiledFilters[f.ordinal()];
+    if (filter == null) {
+      filter = new SortFilter(this.getFilterType(f), getFilterForSide(f));
+      compiledFilters[f.ordinal()] = filter;
+    }
+    return filter;
+  }
+
+  private void invalidateCompiledFilter(EnumFacing f) {
+    compiledFilters[f.ordinal()] = null;
+  }
+
+  private void invalidateCompiledFilters() {
+    for (EnumFacing f : EnumFacing.values()) {
+      invalidateCompiledFilter(f);
+    }
+  }
+
   public String getLabelText() {
     return labelText;
   }
@@ -124,6 +143,7 @@ public class TileEntityItemCableSort extends TileEntityBaseMachineInvo implement
   public void readFromNBT(NBTTagCompound compound) {
     super.readFromNBT(compound);
     readStackWrappers(stacksWrapped, compound);
+    invalidateCompiledFilters();
     for (EnumFacing f : EnumFacing.values()) {
       mapIncoming.put(f, compound.getInteger(f.getName() + "_incoming"));
       allowEverything.put(f, compound.getInteger(f.getName() + "_toggle"));
@@ -165,40 +185,22 @@ public class TileEntityItemCableSort extends TileEntityBaseMachineInvo implement
 
   private List<EnumFacing> getValidSidesForStack(ItemStack stackToExport) {
     List<EnumFacing> faces = new ArrayList<EnumFacing>();
+    int[] oreIds = null;
     for (EnumFacing f : EnumFacing.values()) {
       if (this.isIncomingFromFace(f)) {
         continue;
       }
       if (this.getLockType(f) == LockType.FILTER) {
-        List<ItemStack> inventoryContents = getFilterForSide(f);
-        if (this.getFilterType(f) == FilterType.IGNORE) {
-          //ignore damage AND nbt, only check that items are equal
-          for (ItemStack inFilter : inventoryContents) {
-            if (inFilter.getItem().equals(stackToExport.getItem())) {
-              faces.add(f);
-              break;
-            }
-          }
+        SortFilter filter = getCompiledFilter(f);
+        if (filter.isEmpty()) {
+          continue;
         }
-        else if (this.getFilterType(f) == FilterType.OREDICT) {
-          //use normal ore-dict matching
-          List<String> oreDictList = UtilOreDictionary.getOreDictList(stackToExport, false);
-          for (ItemStack inFilter : inventoryContents) {
-            List<String> inFilterList = UtilOreDictionary.getOreDictList(inFilter, false);
-            if (UtilString.hasOverlap(inFilterList, oreDictList)) {
-              faces.add(f);
-              break;
-            }
-          }
+        if (oreIds == null && this.getFilterType(f) == FilterType.OREDICT) {
+          //only look up ore ids once per stack, and only if some side needs them
+          oreIds = SortFilter.getOreIds(stackToExport);
         }
-        else if (this.getFilterType(f) == FilterType.NORMAL) {
-          for (ItemStack inFilter : inventoryContents) {
-            //both NBT and damage matches
-            if (UtilItemStack.canMerge(inFilter, stackToExport)) {
-              faces.add(f);
-              break;
-            }
-          }
+        if (filter.matches(stackToExport, oreIds)) {
+          faces.add(f);
         }
       }
     }
@@ -365,6 +367,7 @@ public class TileEntityItemCableSort extends TileEntityBaseMachineInvo implement
       //lock area
       EnumFacing enumID = EnumFacing.values()[id % EnumFacing.values().length];
       ignoreDamageIfOne.put(enumID, value % FilterType.values().length);
+      invalidateCompiledFilter(enumID);
       // ModCyclic.logger.log("ignoreDamageIfOne SET as" + ignoreDamageIfOne.get(enumID) + "VS getrfield " + this.getField(id));
     }
   }
@@ -377,6 +380,7 @@ public class TileEntityItemCableSort extends TileEntityBaseMachineInvo implement
   @Override
   public void setStackWrapper(int i, StackWrapper stack) {
     stacksWrapped.set(i, stack);
+    invalidateCompiledFilter(EnumFacing.values()[i / FILTER_SIZE]);
   }
 
   @Override
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.block.sprinkler;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+/**
+ * Shared by every sprinkler in a world. Knows which sprinklers cover each chunk, so block events reach only the sprinklers that care, and counts the extra growth ticks each crop got this
+ * cycle, so a field under many overlapping sprinklers grows no faster than {@link #MAX_EXTRA_TICKS} allows
+ */
+public class SprinklerGrowthManager {
+
+  /** extra growth ticks a single crop can get per cycle, from all sprinklers together */
+  public static final int MAX_EXTRA_TICKS = 2;
+  private static final Map<World, SprinklerGrowthManager> worlds = new WeakHashMap<World, SprinklerGrowthManager>();
+  private final World world;
+  private final Map<Long, ChunkGrowth> chunks = Maps.newHashMap();
+
+  private static class ChunkGrowth {
+
+    private final Set<TileSprinkler> sprinklers = Sets.newIdentityHashSet();
+    // packed block position to ticks given out during cycle
+    private final Map<Long, Integer> granted = Maps.newHashMap();
+    private long cycle = -1;
+  }
+
+  private SprinklerGrowthManager(World world) {
+    this.world = world;
+  }
+
+  /**
+   * the map is weak, but the value holds its world, so the entry has to be removed when the world unloads
+   */
+  public static void unload(World world) {
+    worlds.remove(world);
+  }
+
+  public static SprinklerGrowthManager get(World world) {
+    SprinklerGrowthManager manager = worlds.get(world);
+    if (manager == null) {
+      manager = new SprinklerGrowthManager(world);
+      worlds.put(world, manager);
+    }
+    return manager;
+  }
+
+  private static long getChunkKey(int chunkX, int chunkZ) {
+    return ChunkPos.asLong(chunkX, chunkZ);
+  }
+
+  public void register(TileSprinkler tile, BlockPos center, int radius) {
+    for (int x = (center.getX() - radius) >> 4; x <= (center.getX() + radius) >> 4; x++) {
+      for (int z = (center.getZ() - radius) >> 4; z <= (center.getZ() + radius) >> 4; z++) {
+        long key = getChunkKey(x, z);
+        ChunkGrowth chunk = chunks.get(key);
+        if (chunk == null) {
+          chunk = new ChunkGrowth();
+          chunks.put(key, chunk);
+        }
+        chunk.sprinklers.add(tile);
+      }
+    }
+  }
+
+  public void unregister(TileSprinkler tile, BlockPos center, int radius) {
+    for (int x = (center.getX() - radius) >> 4; x <= (center.getX() + radius) >> 4; x++) {
+      for (int z = (center.getZ() - radius) >> 4; z <= (center.getZ() + radius) >> 4; z++) {
+        long key = getChunkKey(x, z);
+        ChunkGrowth chunk = chunks.get(key);
+        if (chunk != null) {
+          chunk.sprinklers.remove(tile);
+          if (chunk.sprinklers.isEmpty()) {
+            chunks.remove(key);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * a block was placed or broken, any sprinkler covering it looks at it again on its next tick
+   */
+  public void onBlockChanged(BlockPos pos) {
+    ChunkGrowth chunk = chunks.get(getChunkKey(pos.getX() >> 4, pos.getZ() >> 4));
+    if (chunk == null) {
+      return;
+    }
+    for (TileSprinkler tile : chunk.sprinklers) {
+      tile.markForRecheck(pos);
+    }
+  }
+
+  /**
+   * @return true if this crop may have one more growth tick this cycle, and counts it
+   */
+  public boolean tryGrow(BlockPos pos, int cycleLength) {
+    ChunkGrowth chunk = chunks.get(getChunkKey(pos.getX() >> 4, pos.getZ() >> 4));
+    if (chunk == null) {
+      return true;//not from a registered sprinkler, nothing to share
+    }
+    long cycle = world.getTotalWorldTime() / cycleLength;
+    if (cycle != chunk.cycle) {
+      chunk.cycle = cycle;
+      chunk.granted.clear();
+    }
+    Long key = pos.toLong();
+    Integer count = chunk.granted.get(key);
+    int ticks = (count == null) ? 0 : count;
+    if (ticks >= MAX_EXTRA_TICKS) {
+      return false;
+    }
+    chunk.granted.put(key, ticks + 1);
+    return true;
+  }
+}
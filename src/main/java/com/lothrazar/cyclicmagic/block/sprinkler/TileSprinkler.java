@@ -23,6 +23,10 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.block.sprinkler;
 
+import java.util.List;
+import java.util.Set;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachineInvo;
 import com.lothrazar.cyclicmagic.util.UtilParticle;
@@ -39,11 +43,21 @@ import net.minecraftforge.common.IPlantable;
 public class TileSprinkler extends TileEntityBaseMachineInvo implements ITickable {
 
   private static final int RADIUS = 4;
-  private static final int TICKS = 30;
-  private static final float CHANCE_GROW = 0.4F;
+  // one direct growth tick per visit, about what the old scheduled tick plus immediate tick at 0.4 gave
+  private static final float CHANCE_GROW = 0.8F;
   private static final int TIMER_FULL = 100;
+  /** most growth ticks one sprinkler gives out in a single game tick */
+  private static final int GROWTH_PER_TICK = 2;
+  /** the whole area is scanned again this often, for crops placed by machines that fire no event */
+  private static final int RESCAN_CYCLES = 10;
   private boolean spawnParticles = true;
   private int timerUserToggle;
+  private final List<BlockPos> plants = Lists.newArrayList();
+  private final Set<BlockPos> recheck = Sets.newHashSet();
+  private int cursor = 0;
+  private int visitCredit = 0;
+  private int cyclesToRescan = 0;
+  private boolean registered = false;
 
   public TileSprinkler() {
     super(0);
@@ -56,6 +70,9 @@ public class TileSprinkler extends TileEntityBaseMachineInvo implements ITickabl
     return (world.getBlockState(this.pos.down()).getBlock() == Blocks.WATER);
   }
 
+  /**
+   * each plant in the area is visited once per cycle, spread evenly over the cycle's ticks instead of all at once
+   */
   @Override
   public void update() {
     if (this.isInvalid() || !this.isRunning()) {
@@ -64,46 +81,139 @@ public class TileSprinkler extends TileEntityBaseMachineInvo implements ITickabl
     if (timerUserToggle > 0)
       timerUserToggle--;
     //TODO: only run if water underneath and/or nearby. right click message to tell status just like tank
+    if (registered == false && world.isRemote == false) {
+      SprinklerGrowthManager.get(world).register(this, pos, RADIUS);
+      registered = true;
+    }
     timer -= 1;
-    if (timer > 0) {
-      return;
+    if (timer <= 0) {
+      timer = TIMER_FULL;
+      cyclesToRescan--;
+    }
+    if (cyclesToRescan <= 0) {
+      cyclesToRescan = RESCAN_CYCLES;
+      scanArea();
     }
-    timer = TIMER_FULL;
-    BlockPos current;
+    if (recheck.isEmpty() == false) {
+      for (BlockPos current : recheck) {
+        updatePlant(current);
+      }
+      recheck.clear();
+    }
+    visitCredit += plants.size();
+    int grown = 0;
+    while (visitCredit >= TIMER_FULL && grown < GROWTH_PER_TICK && plants.isEmpty() == false) {
+      visitCredit -= TIMER_FULL;
+      if (cursor >= plants.size()) {
+        cursor = 0;
+      }
+      BlockPos current = plants.get(cursor);
+      if (world.isBlockLoaded(current) == false || isPlant(world.getBlockState(current).getBlock()) == false) {
+        plants.remove(cursor);//broken or harvested since the last scan
+        continue;
+      }
+      cursor++;
+      if (tryGrow(current)) {
+        grown++;
+      }
+    }
+    if (visitCredit > TIMER_FULL) {
+      visitCredit = TIMER_FULL;// budget ran out, dont build up a burst
+    }
+  }
+
+  private boolean tryGrow(BlockPos current) {
+    if (world.rand.nextDouble() > CHANCE_GROW) {
+      return false;
+    }
+    IBlockState bState = world.getBlockState(current);
+    Block block = bState.getBlock();
+    if (block instanceof IGrowable &&
+        ((IGrowable) block).canGrow(world, current, bState, world.isRemote) == false) {
+      return false;//its at full growth, stahp
+    }
+    //plantable has no such
+    if (world.isRemote) {
+      if (spawnParticles) {
+        UtilParticle.spawnParticle(world, EnumParticleTypes.WATER_SPLASH, current);
+      }
+      return false;
+    }
+    //overlapping sprinklers share one limit per crop
+    if (SprinklerGrowthManager.get(world).tryGrow(current, TIMER_FULL) == false) {
+      return false;
+    }
+    try {//no need to literally increase internal growth numbers, just force more  update ticks
+      block.updateTick(world, current, bState, world.rand);
+    }
+    catch (Exception e) {
+      ModCyclic.logger.error("Sprinkler by Cyclic has encountered an error while growing a plant, contact both mod authors    " + block, e);
+    }
+    return true;
+  }
+
+  private void scanArea() {
+    plants.clear();
+    cursor = 0;
+    BlockPos.MutableBlockPos current = new BlockPos.MutableBlockPos();
     for (int x = -1 * RADIUS; x <= RADIUS; x++) {
       for (int z = -1 * RADIUS; z <= RADIUS; z++) {
-        if (world.rand.nextDouble() > CHANCE_GROW) {
-          continue;
-        } //but spawn water, grow or not.different roll for each block
-        current = new BlockPos(pos.getX() + x, pos.getY(), pos.getZ() + z);
-        IBlockState bState = world.getBlockState(current);
-        if (bState == null || bState.getBlock() == null) {
-          continue;
-        }
-        Block block = bState.getBlock();
-        if (block instanceof IPlantable || block instanceof IGrowable) {
-          if (block instanceof IGrowable &&
-              ((IGrowable) block).canGrow(world, current, bState, world.isRemote) == false) {
-            continue;//its at full growth, stahp
-          }
-          //plantable has no such
-          if (spawnParticles && world.isRemote) {
-            UtilParticle.spawnParticle(world, EnumParticleTypes.WATER_SPLASH, current);
-          }
-          try {//no need to literally increase internal growth numbers, just force more  update ticks
-            world.scheduleBlockUpdate(current, block, world.rand.nextInt(TICKS) + 20, 1);
-            if (!world.isRemote) {
-              block.updateTick(world, current, bState, world.rand);
-            }
-          }
-          catch (Exception e) {
-            ModCyclic.logger.error("Sprinkler by Cyclic has encountered an error while growing a plant, contact both mod authors    " + block, e);
-          }
+        current.setPos(pos.getX() + x, pos.getY(), pos.getZ() + z);
+        if (world.isBlockLoaded(current) && isPlant(world.getBlockState(current).getBlock())) {
+          plants.add(current.toImmutable());
         }
       }
     }
   }
 
+  private void updatePlant(BlockPos current) {
+    boolean isPlant = world.isBlockLoaded(current) && isPlant(world.getBlockState(current).getBlock());
+    int index = plants.indexOf(current);
+    if (isPlant && index < 0) {
+      plants.add(current);
+    }
+    else if (isPlant == false && index >= 0) {
+      plants.remove(index);
+      if (cursor > index) {
+        cursor--;
+      }
+    }
+  }
+
+  private static boolean isPlant(Block block) {
+    return block instanceof IPlantable || block instanceof IGrowable;
+  }
+
+  /**
+   * called from block place and break events, the block is looked at on the next tick since break events fire before the block is gone
+   */
+  public void markForRecheck(BlockPos target) {
+    if (target.getY() == pos.getY()
+        && Math.abs(target.getX() - pos.getX()) <= RADIUS
+        && Math.abs(target.getZ() - pos.getZ()) <= RADIUS) {
+      recheck.add(target.toImmutable());
+    }
+  }
+
+  private void unregister() {
+    if (registered) {
+      SprinklerGrowthManager.get(world).unregister(this, pos, RADIUS);
+      registered = false;
+    }
+  }
+
+  @Override
+  public void invalidate() {
+    super.invalidate();
+    unregister();
+  }
+
+  @Override
+  public void onChunkUnload() {
+    super.onChunkUnload();
+    unregister();
+  }
+
   public void toggleSpawnParticles() {
     if (timerUserToggle > 0) {
       return;
@@ -23,11 +23,10 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.block.vector;
 
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -48,24 +47,16 @@ public class PacketTileVector implements IMessage, IMessageHandler<PacketTileVec
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    int x = tags.getInteger("x");
-    int y = tags.getInteger("y");
-    int z = tags.getInteger("z");
-    pos = new BlockPos(x, y, z);
-    tileFieldId = tags.getInteger("type");
-    value = tags.getInteger("d");
+    pos = UtilPacket.readPos(buf);
+    tileFieldId = UtilPacket.readVarInt(buf);
+    value = UtilPacket.readSignedVarInt(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("x", pos.getX());
-    tags.setInteger("y", pos.getY());
-    tags.setInteger("z", pos.getZ());
-    tags.setInteger("type", tileFieldId);
-    tags.setInteger("d", value);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writePos(buf, pos);
+    UtilPacket.writeVarInt(buf, tileFieldId);
+    UtilPacket.writeSignedVarInt(buf, value);
   }
 
   @Override
@@ -23,10 +23,13 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.capability;
 
+import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachine;
 import net.minecraftforge.energy.EnergyStorage;
 
 public class EnergyStore extends EnergyStorage {
 
+  private TileEntityBaseMachine tile;
+
   public EnergyStore(int capAndIO) {
     this(capAndIO, capAndIO, capAndIO);
   }
@@ -42,6 +45,13 @@ public class EnergyStore extends EnergyStorage {
     this.energy = Math.min(en, this.capacity);
   }
 
+  /**
+   * owner to wake up when energy arrives, same idea as FluidTank.setTileEntity
+   */
+  public void setTileEntity(TileEntityBaseMachine tile) {
+    this.tile = tile;
+  }
+
   public int emptyCapacity() {
     return this.capacity - this.energy;
   }
@@ -56,6 +66,9 @@ public class EnergyStore extends EnergyStorage {
     if (!simulate) {
       int newEnergy = energyReceived + getEnergyStored();
       setEnergyStored(Math.min(getMaxEnergyStored(), newEnergy));
+      if (tile != null && energyReceived > 0) {
+        tile.wake();
+      }
     }
     return energyReceived;
   }
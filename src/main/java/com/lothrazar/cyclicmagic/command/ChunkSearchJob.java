@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.command;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import com.google.common.collect.Maps;
+import com.lothrazar.cyclicmagic.util.UtilChat;
+import com.lothrazar.cyclicmagic.util.UtilWorld;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * A search over the loaded chunks around a command sender, spread across server ticks. Chunks are visited nearest first and results are sent back a page at a time, so a large radius never stalls a single tick
+ */
+public class ChunkSearchJob {
+
+  public static interface IChunkVisitor {
+
+    /**
+     * add one chat line to results for each match inside this chunk
+     */
+    void visit(Chunk chunk, List<String> results);
+  }
+
+  /** time shared by every running search each tick */
+  private static final long BUDGET_NANOS = 5L * 1000L * 1000L;
+  /** chat lines sent to one sender per tick */
+  public static final int PAGE_SIZE = 10;
+  // one search per sender, a new one replaces the old
+  private static final Map<String, ChunkSearchJob> jobs = Maps.newLinkedHashMap();
+  private final ICommandSender sender;
+  private final World world;
+  private final List<ChunkPos> chunks;
+  private final IChunkVisitor visitor;
+  private final String noneMessage;
+  private final LinkedList<String> pending = new LinkedList<String>();
+  private int chunkIndex = 0;
+  private int found = 0;
+
+  private ChunkSearchJob(ICommandSender sender, BlockPos center, int radius, IChunkVisitor visitor, String noneMessage) {
+    this.sender = sender;
+    this.world = sender.getEntityWorld();
+    this.chunks = UtilWorld.getChunksInRadius(center, radius);
+    this.visitor = visitor;
+    this.noneMessage = noneMessage;
+  }
+
+  public static void start(ICommandSender sender, BlockPos center, int radius, IChunkVisitor visitor, String noneMessage) {
+    jobs.put(sender.getName(), new ChunkSearchJob(sender, center, radius, visitor, noneMessage));
+  }
+
+  public static void clearJobs() {
+    jobs.clear();
+  }
+
+  /**
+   * run every search until the shared budget is spent. each one visits at least one chunk per tick so none of them starve
+   */
+  public static void tick() {
+    if (jobs.isEmpty()) {
+      return;
+    }
+    long deadline = System.nanoTime() + BUDGET_NANOS;
+    Iterator<ChunkSearchJob> it = jobs.values().iterator();
+    while (it.hasNext()) {
+      ChunkSearchJob job = it.next();
+      if (job.isSenderGone() || job.run(deadline)) {
+        it.remove();
+      }
+    }
+  }
+
+  private boolean isSenderGone() {
+    return sender instanceof EntityPlayerMP && ((EntityPlayerMP) sender).hasDisconnected();
+  }
+
+  /**
+   * @return true if this search is finished and has nothing left to send
+   */
+  private boolean run(long deadline) {
+    do {
+      if (chunkIndex >= chunks.size() || pending.size() >= PAGE_SIZE) {
+        break;
+      }
+      ChunkPos pos = chunks.get(chunkIndex++);
+      // looked up now, so chunks unloaded since the command ran are skipped
+      Chunk chunk = world.getChunkProvider().getLoadedChunk(pos.x, pos.z);
+      if (chunk != null) {
+        int before = pending.size();
+        visitor.visit(chunk, pending);
+        found += pending.size() - before;
+      }
+    }
+    while (System.nanoTime() < deadline);
+    for (int i = 0; i < PAGE_SIZE && pending.isEmpty() == false; i++) {
+      UtilChat.addChatMessage(sender, pending.removeFirst());
+    }
+    if (chunkIndex < chunks.size() || pending.isEmpty() == false) {
+      return false;
+    }
+    if (found == 0) {
+      UtilChat.addChatMessage(sender, noneMessage);
+    }
+    return true;
+  }
+}
@@ -23,8 +23,9 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.command;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import com.lothrazar.cyclicmagic.util.UtilChat;
 import com.lothrazar.cyclicmagic.util.UtilWorld;
@@ -33,6 +34,7 @@ import net.minecraft.command.ICommandSender;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.Chunk;
 
 public class CommandSearchItem extends BaseCommand implements ICommand {
 
@@ -58,26 +60,25 @@ public class CommandSearchItem extends BaseCommand implements ICommand {
     if (searchQuery.length() == 0) {
       UtilChat.addChatMessage(sender, getUsage(sender));
     }
-    Map<IInventory, BlockPos> tilesToSearch = UtilWorld.findTileEntityInventories(sender, radius);
-    int foundQtyTotal;
-    ArrayList<String> foundMessages = new ArrayList<String>();
-    for (Map.Entry<IInventory, BlockPos> entry : tilesToSearch.entrySet()) {
-      foundQtyTotal = 0;
-      foundQtyTotal = UtilWorld.searchTileInventory(searchQuery, entry.getKey());
-      if (foundQtyTotal > 0) {
-        String totalsStr = foundQtyTotal + " : ";
-        foundMessages.add(totalsStr + getCoordsOrReduced(sender, entry.getValue()));
-      }
-    }
-    int ifound = foundMessages.size();
-    if (ifound == 0) {
-      UtilChat.addChatMessage(sender, UtilChat.lang("command.searchitem.none") + " : " + radius);
-    }
-    else {
-      for (int i = 0; i < ifound; i++) {
-        UtilChat.addChatMessage(sender, foundMessages.get(i));
+    final String search = searchQuery;
+    final ICommandSender player = sender;
+    final BlockPos center = sender.getPosition();
+    ChunkSearchJob.start(sender, center, radius, new ChunkSearchJob.IChunkVisitor() {
+
+      @Override
+      public void visit(Chunk chunk, List<String> results) {
+        Map<IInventory, BlockPos> tilesToSearch = new HashMap<IInventory, BlockPos>();
+        UtilWorld.findTileEntityInventories(chunk, center, radius, tilesToSearch);
+        int foundQtyTotal;
+        for (Map.Entry<IInventory, BlockPos> entry : tilesToSearch.entrySet()) {
+          foundQtyTotal = UtilWorld.searchTileInventory(search, entry.getKey());
+          if (foundQtyTotal > 0) {
+            String totalsStr = foundQtyTotal + " : ";
+            results.add(totalsStr + getCoordsOrReduced(player, entry.getValue()));
+          }
+        }
       }
-    }
+    }, UtilChat.lang("command.searchitem.none") + " : " + radius);
   }
 
   public static String getCoordsOrReduced(ICommandSender player, BlockPos pos) {
@@ -24,6 +24,7 @@
 package com.lothrazar.cyclicmagic.command;
 
 import java.util.ArrayList;
+import java.util.List;
 import com.lothrazar.cyclicmagic.util.UtilChat;
 import com.lothrazar.cyclicmagic.util.UtilWorld;
 import net.minecraft.command.CommandException;
@@ -32,6 +33,7 @@ import net.minecraft.command.ICommandSender;
 import net.minecraft.init.Blocks;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.Chunk;
 
 public class CommandSearchSpawner extends BaseCommand implements ICommand {
 
@@ -57,16 +59,18 @@ public class CommandSearchSpawner extends BaseCommand implements ICommand {
     if (radius <= 0) {
       radius = DEFAULTRADIUS;
     }
-    ArrayList<BlockPos> founds = UtilWorld.findBlocks(sender.getEntityWorld(),
-        sender.getPosition(), Blocks.MOB_SPAWNER, radius);
-    if (founds.size() == 0) {
-      UtilChat.addChatMessage(sender, UtilChat.lang("command.searchspawner.none") + radius);
-    }
-    else {
-      for (BlockPos found : founds)
-        if (found != null) {
-          UtilChat.addChatMessage(sender, UtilChat.blockPosToString(found));
+    final BlockPos center = sender.getPosition();
+    final int searchRadius = radius;
+    ChunkSearchJob.start(sender, center, radius, new ChunkSearchJob.IChunkVisitor() {
+
+      @Override
+      public void visit(Chunk chunk, List<String> results) {
+        List<BlockPos> founds = new ArrayList<BlockPos>();
+        UtilWorld.findBlocks(chunk, center, Blocks.MOB_SPAWNER, searchRadius, founds);
+        for (BlockPos found : founds) {
+          results.add(UtilChat.blockPosToString(found));
         }
-    }
+      }
+    }, UtilChat.lang("command.searchspawner.none") + radius);
   }
 }
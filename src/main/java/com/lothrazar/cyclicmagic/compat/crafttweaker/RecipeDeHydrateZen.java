@@ -50,6 +50,7 @@ public class RecipeDeHydrateZen {
         ModCyclic.logger.info("ZenScript: removed dehydrator recipe for " + output.getDisplayName());
       }
     }
+    RecipeDeHydrate.index.invalidate();
   }
 
   @Deprecated
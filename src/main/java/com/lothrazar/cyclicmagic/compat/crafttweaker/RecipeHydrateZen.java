@@ -49,6 +49,7 @@ public class RecipeHydrateZen {
         ModCyclic.logger.info("ZenScript: removed hydrator recipe " + output.getDisplayName());
       }
     }
+    RecipeHydrate.index.invalidate();
   }
 
   @Deprecated
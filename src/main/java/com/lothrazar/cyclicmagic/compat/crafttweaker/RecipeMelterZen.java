@@ -48,6 +48,7 @@ public class RecipeMelterZen {
         ModCyclic.logger.info("ZenScript: removed recipe " + output);
       }
     }
+    RecipeMelter.index.invalidate();
   }
 
   @Optional.Method(modid = "crafttweaker")
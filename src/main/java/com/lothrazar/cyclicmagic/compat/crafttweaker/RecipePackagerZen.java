@@ -49,6 +49,7 @@ public class RecipePackagerZen {
         ModCyclic.logger.info("ZenScript: removed packager recipe for " + output.getDisplayName());
       }
     }
+    RecipePackager.index.invalidate();
   }
 
   @Optional.Method(modid = "crafttweaker")
@@ -49,6 +49,7 @@ public class RecipeSolidifierZen {
         ModCyclic.logger.info("ZenScript: removed recipe " + output.getDisplayName());
       }
     }
+    RecipeSolidifier.index.invalidate();
   }
 
   @Optional.Method(modid = "crafttweaker")
@@ -24,28 +24,26 @@
 package com.lothrazar.cyclicmagic.enchant;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import com.google.common.collect.Lists;
 import com.lothrazar.cyclicmagic.config.IHasConfig;
 import com.lothrazar.cyclicmagic.guide.GuideRegistry;
 import com.lothrazar.cyclicmagic.registry.EnchantRegistry;
 import com.lothrazar.cyclicmagic.util.Const;
-import com.lothrazar.cyclicmagic.util.UtilItemStack;
 import net.minecraft.block.Block;
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.enchantment.EnumEnchantmentType;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.ItemStack;
-import net.minecraft.util.EnumFacing;
-import net.minecraft.util.EnumHand;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.config.Configuration;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.event.world.BlockEvent.BreakEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 public class EnchantExcavation extends BaseEnchant implements IHasConfig {
 
@@ -95,76 +93,46 @@ public class EnchantExcavation extends BaseEnchant implements IHasConfig {
     }
     //starts at 1 for current one
     if (isAnySingleOk) {
-      this.harvestSurrounding(world, player, pos, block, 1, level, player.swingingHand);
+      ExcavationJob job = new ExcavationJob(world, player, player.swingingHand, pos, block, this.getHarvestMax(level) - 1);
+      if (job.getPlannedSize() > 0) {
+        jobs.add(job);
+      }
     }
   }
 
-  private int getHarvestMax(int level) {
-    if (level >= levelToMaxBreak.length) {
-      level = levelToMaxBreak.length - 1;
+  @SubscribeEvent
+  public void onServerTick(TickEvent.ServerTickEvent event) {
+    if (event.phase != TickEvent.Phase.END || jobs.isEmpty()) {
+      return;
+    }
+    Iterator<ExcavationJob> it = jobs.iterator();
+    while (it.hasNext()) {
+      if (it.next().work(blocksPerTick)) {
+        it.remove();
+      }
     }
-    return levelToMaxBreak[level];
   }
 
   /**
-   * WARNING: RECURSIVE function to break all blocks connected up to the maximum total
-   * 
-   * @param swingingHand
+   * drops from blocks a job breaks are merged by the job instead of spawning one by one
    */
-  private int harvestSurrounding(final World world, final EntityPlayer player, final BlockPos posIn, final Block block, int totalBroken, final int level, EnumHand swingingHand) {
-    if (totalBroken >= this.getHarvestMax(level)
-        || player.getHeldItem(player.swingingHand).isEmpty()) {
-      return totalBroken;
-    }
-    int fortuneXp = 0;//even if tool has fortune, ignore just to unbalance a bit
-    List<BlockPos> theFuture = this.getMatchingSurrounding(world, posIn, block);
-    List<BlockPos> wasHarvested = new ArrayList<BlockPos>();
-    for (BlockPos targetPos : theFuture) {
-      if (UtilItemStack.isBroken(player.getHeldItem(player.swingingHand))) {
-        //starting to pass below zero  
-        break;
-      }
-      IBlockState targetState = world.getBlockState(targetPos);
-      //check canHarvest every time -> permission or any other hooks
-      if (world.isAirBlock(targetPos)
-          || player.canHarvestBlock(targetState) == false
-          || totalBroken >= this.getHarvestMax(level)
-          || player.getHeldItem(player.swingingHand).isEmpty()) {
-        continue;
-      }
-      block.harvestBlock(world, player, targetPos, targetState, null, player.getHeldItem(swingingHand));
-      block.dropXpOnBlockBreak(world, targetPos, block.getExpDrop(targetState, world, targetPos, fortuneXp));
-      world.destroyBlock(targetPos, false);
-      wasHarvested.add(targetPos);
-      //damage but also respect the unbreaking chant
-      player.getHeldItem(player.swingingHand).attemptDamageItem(1, world.rand, null);
-      totalBroken++;
+  @SubscribeEvent
+  public void onEntityJoinWorld(EntityJoinWorldEvent event) {
+    if (ExcavationJob.captureDrop(event.getEntity())) {
+      event.setCanceled(true);
     }
-    //AFTER we harvest the close ones only THEN we branch out
-    for (BlockPos targetPos : theFuture) {
-      if (UtilItemStack.isBroken(player.getHeldItem(player.swingingHand))
-          || totalBroken >= this.getHarvestMax(level)) {
-        break;
-      }
-      totalBroken += this.harvestSurrounding(world, player, targetPos, block, totalBroken, level, swingingHand);
-    }
-    return totalBroken;
   }
 
-  private List<BlockPos> getMatchingSurrounding(World world, BlockPos start, Block blockIn) {
-    List<BlockPos> list = new ArrayList<BlockPos>();
-    // TODO: DIAGONAL! 
-    List<EnumFacing> targetFaces = Arrays.asList(EnumFacing.values());
-    Collections.shuffle(targetFaces);
-    for (EnumFacing fac : targetFaces) {
-      if (world.getBlockState(start.offset(fac)).getBlock() == blockIn) {
-        list.add(start.offset(fac));
-      }
+  private int getHarvestMax(int level) {
+    if (level >= levelToMaxBreak.length) {
+      level = levelToMaxBreak.length - 1;
     }
-    return list;
+    return levelToMaxBreak[level];
   }
 
   int[] levelToMaxBreak;
+  private int blocksPerTick;
+  private final List<ExcavationJob> jobs = Lists.newArrayList();
 
   @Override
   public void syncConfig(Configuration config) {
@@ -175,5 +143,6 @@ public class EnchantExcavation extends BaseEnchant implements IHasConfig {
     for (int i = 1; i <= this.getMaxLevel(); i++) {
       levelToMaxBreak[i] = config.getInt("EnchantExcavationBreak" + i, Const.ConfigCategory.modpackMisc, 10 + i * 16, 1, 512, "Max blocks broken by this enchantment at level " + i);
     }
+    blocksPerTick = config.getInt("EnchantExcavationPerTick", Const.ConfigCategory.modpackMisc, 8, 1, 512, "Blocks broken per tick by each excavation in progress, the rest of the vein continues on the following ticks");
   }
 }
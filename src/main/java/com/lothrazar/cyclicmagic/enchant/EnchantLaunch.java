@@ -38,6 +38,7 @@ import com.lothrazar.cyclicmagic.util.UtilParticle;
 import com.lothrazar.cyclicmagic.util.UtilSound;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.enchantment.EnumEnchantmentType;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityBoat;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Items;
@@ -48,14 +49,13 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.SoundCategory;
 import net.minecraftforge.common.config.Configuration;
-import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
 import net.minecraftforge.fml.client.FMLClientHandler;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.InputEvent.KeyInputEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-public class EnchantLaunch extends BaseEnchant {
+public class EnchantLaunch extends BaseEnchant implements ILivingUpdateEnchant {
 
   private static final float LAUNCH_POWER = 1.05F;
   private static final int ROTATIONPITCH = 70;
@@ -104,10 +104,15 @@ public class EnchantLaunch extends BaseEnchant {
     return this.canApply(stack);
   }
 
-  @SubscribeEvent
-  public void onEntityUpdate(LivingUpdateEvent event) {
-    if (event.getEntity() instanceof EntityPlayer) {
-      EntityPlayer p = (EntityPlayer) event.getEntity();
+  @Override
+  public int getUpdateLevel(EntityLivingBase entity) {
+    return (entity instanceof EntityPlayer) ? getCurrentArmorLevel(entity) : 0;
+  }
+
+  @Override
+  public void onLivingUpdate(EntityLivingBase entity, int level) {
+    if (entity instanceof EntityPlayer && level > 0) {
+      EntityPlayer p = (EntityPlayer) entity;
       ItemStack armorStack = getFirstArmorStackWithEnchant(p);
       if (armorStack.isEmpty()) {
         return;
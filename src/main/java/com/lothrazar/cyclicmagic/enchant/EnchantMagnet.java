@@ -33,10 +33,8 @@ import net.minecraft.enchantment.EnumEnchantmentType;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraftforge.common.config.Configuration;
-import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
-public class EnchantMagnet extends BaseEnchant {
+public class EnchantMagnet extends BaseEnchant implements ILivingUpdateEnchant {
 
   private static final int ITEM_HRADIUS = 4;
   private static final int HRADIUS_PER_LEVEL = 4;
@@ -69,11 +67,14 @@ public class EnchantMagnet extends BaseEnchant {
     return 3;
   }
 
-  @SubscribeEvent
-  public void onEntityUpdate(LivingUpdateEvent event) {
-    EntityLivingBase entity = event.getEntityLiving();
+  @Override
+  public int getUpdateLevel(EntityLivingBase entity) {
+    return getLevelAll(entity);
+  }
+
+  @Override
+  public void onLivingUpdate(EntityLivingBase entity, int level) {
     //Ticking
-    int level = getLevelAll(entity);
     if (level > 0) {
       UtilEntity.moveEntityItemsInRegion(entity.getEntityWorld(), entity.getPosition(), ITEM_HRADIUS + HRADIUS_PER_LEVEL * level, ITEM_VRADIUS);
     }
@@ -37,10 +37,8 @@ import net.minecraft.item.ItemBow;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumHand;
 import net.minecraftforge.common.config.Configuration;
-import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
-public class EnchantQuickdraw extends BaseEnchant {
+public class EnchantQuickdraw extends BaseEnchant implements ILivingUpdateEnchant {
 
   public EnchantQuickdraw() {
     super("quickdraw", Rarity.VERY_RARE, EnumEnchantmentType.BOW, new EntityEquipmentSlot[] { EntityEquipmentSlot.MAINHAND });
@@ -75,10 +73,15 @@ public class EnchantQuickdraw extends BaseEnchant {
     return 1;
   }
 
-  @SubscribeEvent
-  public void onPlayerUpdate(LivingUpdateEvent event) {
-    if (event.getEntity() instanceof EntityPlayer) {
-      EntityPlayer player = (EntityPlayer) event.getEntity();
+  @Override
+  public int getUpdateLevel(EntityLivingBase entity) {
+    return (entity instanceof EntityPlayer) ? getCurrentLevelTool(entity) : 0;
+  }
+
+  @Override
+  public void onLivingUpdate(EntityLivingBase entity, int level) {
+    if (entity instanceof EntityPlayer && level > 0) {
+      EntityPlayer player = (EntityPlayer) entity;
       ItemStack heldItem = player.getHeldItem(EnumHand.MAIN_HAND);
       if (heldItem.getItem() instanceof ItemBow == false) {
         heldItem = player.getHeldItem(EnumHand.OFF_HAND);
@@ -86,9 +89,6 @@ public class EnchantQuickdraw extends BaseEnchant {
       if (heldItem.getItem() instanceof ItemBow == false) {
         return;
       }
-      if (getCurrentLevelTool(player) <= 0) {
-        return;
-      }
       if (player.isHandActive()) {
         this.tickHeldBow(player);
         this.tickHeldBow(player);
@@ -31,16 +31,15 @@ import com.lothrazar.cyclicmagic.registry.EnchantRegistry;
 import com.lothrazar.cyclicmagic.util.Const;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.enchantment.EnumEnchantmentType;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Items;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.ItemArmor;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.common.config.Configuration;
-import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
-public class EnchantReach extends BaseEnchant {
+public class EnchantReach extends BaseEnchant implements ILivingUpdateEnchant {
 
   private static final String NBT_REACH_ON = "reachon";
   private static final int REACH_VANILLA = 5;
@@ -99,21 +98,29 @@ public class EnchantReach extends BaseEnchant {
     ModCyclic.proxy.setPlayerReach(player, REACH_BOOST);
   }
 
-  @SubscribeEvent
-  public void onEntityUpdate(LivingUpdateEvent event) {
+  @Override
+  public int getUpdateLevel(EntityLivingBase entity) {
     //check if NOT holding this harm
-    if (event.getEntityLiving() instanceof EntityPlayer == false) {
-      return;
+    if (entity instanceof EntityPlayer == false) {
+      return 0;
     }
-    EntityPlayer player = (EntityPlayer) event.getEntityLiving();
-    //Ticking
-    ItemStack armor = player.getItemStackFromSlot(EntityEquipmentSlot.CHEST);
+    ItemStack armor = entity.getItemStackFromSlot(EntityEquipmentSlot.CHEST);
     int level = 0;
     if (armor.isEmpty() == false && EnchantmentHelper.getEnchantments(armor) != null
         && EnchantmentHelper.getEnchantments(armor).containsKey(this)) {
       //todo: maybe any armor?
       level = EnchantmentHelper.getEnchantments(armor).get(this);
     }
+    return level;
+  }
+
+  @Override
+  public void onLivingUpdate(EntityLivingBase entity, int level) {
+    if (entity instanceof EntityPlayer == false) {
+      return;
+    }
+    EntityPlayer player = (EntityPlayer) entity;
+    //Ticking
     if (level > 0) {
       turnReachOn(player);
     }
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.enchant;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import com.google.common.collect.Lists;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.inventory.EntityEquipmentSlot;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * One LivingUpdateEvent listener for every ticking enchant. Levels are worked out once per entity and kept until its equipment changes, so an entity with none of these enchants costs a map
+ * lookup per tick instead of decoding the enchant tags of all its gear once per enchant.
+ * 
+ * The server drops an entity's levels on LivingEquipmentChangeEvent. That event is never fired on the client, so the client instead keeps the equipment stacks the levels came from and
+ * recomputes when any of them is a different stack.
+ * 
+ * Entities are equal by entity id, and a respawned player keeps the id of the dead one, so each entry also remembers which entity object it was computed for
+ */
+public class EnchantUpdateDispatcher {
+
+  private static final EntityEquipmentSlot[] SLOTS = EntityEquipmentSlot.values();
+  private static final List<ILivingUpdateEnchant> enchants = Lists.newArrayList();
+  // one per side: the integrated server and the client tick on different threads, and reuse entity ids
+  private static final Map<EntityLivingBase, Levels> serverCache = new WeakHashMap<EntityLivingBase, Levels>();
+  private static final Map<EntityLivingBase, Levels> clientCache = new WeakHashMap<EntityLivingBase, Levels>();
+
+  private static class Levels {
+
+    // weak, a strong reference from the value would keep the weak key alive forever
+    private final WeakReference<EntityLivingBase> owner;
+    private final int[] levels;
+    private final ItemStack[] equipment;
+    private final boolean any;
+
+    private Levels(EntityLivingBase owner, int[] levels, ItemStack[] equipment) {
+      this.owner = new WeakReference<EntityLivingBase>(owner);
+      this.levels = levels;
+      this.equipment = equipment;
+      boolean found = false;
+      for (int level : levels) {
+        if (level > 0) {
+          found = true;
+        }
+      }
+      this.any = found;
+    }
+
+    private boolean isSameEquipment(EntityLivingBase entity) {
+      for (int i = 0; i < SLOTS.length; i++) {
+        if (entity.getItemStackFromSlot(SLOTS[i]) != equipment[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  public static void register(ILivingUpdateEnchant enchant) {
+    enchants.add(enchant);
+  }
+
+  @SubscribeEvent
+  public void onEntityUpdate(LivingUpdateEvent event) {
+    if (enchants.isEmpty()) {
+      return;
+    }
+    EntityLivingBase entity = event.getEntityLiving();
+    boolean isRemote = entity.getEntityWorld().isRemote;
+    Map<EntityLivingBase, Levels> cache = isRemote ? clientCache : serverCache;
+    Levels previous = cache.get(entity);
+    if (previous != null && previous.owner.get() != entity) {
+      //same id, different entity: a respawned player
+      previous = null;
+    }
+    Levels current = previous;
+    if (previous == null || (isRemote && previous.isSameEquipment(entity) == false)) {
+      current = compute(entity, isRemote);
+      cache.put(entity, current);
+      for (int i = 0; i < enchants.size(); i++) {
+        boolean lost = previous == null || previous.levels[i] > 0;
+        if (current.levels[i] <= 0 && lost) {
+          enchants.get(i).onLivingUpdate(entity, 0);
+        }
+      }
+    }
+    if (current.any == false) {
+      return;
+    }
+    for (int i = 0; i < enchants.size(); i++) {
+      if (current.levels[i] > 0) {
+        enchants.get(i).onLivingUpdate(entity, current.levels[i]);
+      }
+    }
+  }
+
+  @SubscribeEvent
+  public void onEquipmentChange(LivingEquipmentChangeEvent event) {
+    if (event.getEntityLiving().getEntityWorld().isRemote == false) {
+      serverCache.remove(event.getEntityLiving());
+    }
+  }
+
+  private static Levels compute(EntityLivingBase entity, boolean isRemote) {
+    int[] levels = new int[enchants.size()];
+    for (int i = 0; i < levels.length; i++) {
+      levels[i] = enchants.get(i).getUpdateLevel(entity);
+    }
+    ItemStack[] equipment = null;
+    if (isRemote) {
+      equipment = new ItemStack[SLOTS.length];
+      for (int i = 0; i < SLOTS.length; i++) {
+        equipment[i] = entity.getItemStackFromSlot(SLOTS[i]);
+      }
+    }
+    return new Levels(entity, levels, equipment);
+  }
+}
@@ -30,6 +30,7 @@ import com.lothrazar.cyclicmagic.registry.EnchantRegistry;
 import com.lothrazar.cyclicmagic.util.Const;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.enchantment.EnumEnchantmentType;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Items;
 import net.minecraft.inventory.EntityEquipmentSlot;
@@ -38,10 +39,8 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.config.Configuration;
-import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
-public class EnchantWaterwalking extends BaseEnchant {
+public class EnchantWaterwalking extends BaseEnchant implements ILivingUpdateEnchant {
 
   public EnchantWaterwalking() {
     super("waterwalking", Rarity.VERY_RARE, EnumEnchantmentType.ARMOR_FEET, new EntityEquipmentSlot[] { EntityEquipmentSlot.FEET });
@@ -84,20 +83,25 @@ public class EnchantWaterwalking extends BaseEnchant {
     return this.canApply(stack);
   }
 
-  @SubscribeEvent
-  public void onEntityUpdate(LivingUpdateEvent event) {
-    if (event.getEntity() instanceof EntityPlayer) {
-      EntityPlayer p = (EntityPlayer) event.getEntity();
-      ItemStack armor = p.getItemStackFromSlot(EntityEquipmentSlot.FEET);
-      int level = 0;
-      if (armor.isEmpty() == false && EnchantmentHelper.getEnchantments(armor) != null
-          && EnchantmentHelper.getEnchantments(armor).containsKey(this)) {
-        //todo: maybe any armor?
-        level = EnchantmentHelper.getEnchantments(armor).get(this);
-      }
-      if (level > 0) {
-        setLiquidWalk(p);
-      }
+  @Override
+  public int getUpdateLevel(EntityLivingBase entity) {
+    if (entity instanceof EntityPlayer == false) {
+      return 0;
+    }
+    ItemStack armor = entity.getItemStackFromSlot(EntityEquipmentSlot.FEET);
+    int level = 0;
+    if (armor.isEmpty() == false && EnchantmentHelper.getEnchantments(armor) != null
+        && EnchantmentHelper.getEnchantments(armor).containsKey(this)) {
+      //todo: maybe any armor?
+      level = EnchantmentHelper.getEnchantments(armor).get(this);
+    }
+    return level;
+  }
+
+  @Override
+  public void onLivingUpdate(EntityLivingBase entity, int level) {
+    if (entity instanceof EntityPlayer && level > 0) {
+      setLiquidWalk((EntityPlayer) entity);
     }
   }
 
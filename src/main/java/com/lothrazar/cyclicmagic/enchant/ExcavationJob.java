@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.enchant;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.lothrazar.cyclicmagic.util.UtilItemStack;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.item.EntityXPOrb;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.EnumHand;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.items.ItemHandlerHelper;
+
+/**
+ * One vein being mined by the excavation enchant. The connected blocks are found up front with a breadth first search, then broken a few per tick by {@link #work(int)}.
+ * 
+ * Items and experience that blocks drop while the job is breaking are caught and merged, then spawned once at the block the player mined
+ */
+public class ExcavationJob {
+
+  /** the job currently breaking blocks, item and xp entities spawned meanwhile belong to it */
+  private static ExcavationJob capturing = null;
+  private final World world;
+  private final EntityPlayer player;
+  private final EnumHand hand;
+  private final ItemStack tool;
+  private final Block block;
+  private final BlockPos origin;
+  private final List<BlockPos> planned;
+  private int next = 0;
+  private final List<ItemStack> drops = Lists.newArrayList();
+  private int xp = 0;
+
+  public ExcavationJob(World world, EntityPlayer player, EnumHand hand, BlockPos origin, Block block, int maxBlocks) {
+    this.world = world;
+    this.player = player;
+    this.hand = hand;
+    this.tool = player.getHeldItem(hand);
+    this.block = block;
+    this.origin = origin;
+    this.planned = plan(world, origin, block, maxBlocks);
+  }
+
+  /**
+   * connected blocks of the same type, nearest first, not counting the origin. only loaded positions are read
+   */
+  public static List<BlockPos> plan(World world, BlockPos origin, Block block, int maxBlocks) {
+    List<BlockPos> found = Lists.newArrayList();
+    Set<Long> visited = Sets.newHashSet();
+    Deque<BlockPos> queue = new ArrayDeque<BlockPos>();
+    visited.add(origin.toLong());
+    queue.add(origin);
+    while (queue.isEmpty() == false && found.size() < maxBlocks) {
+      BlockPos current = queue.poll();
+      for (EnumFacing fac : EnumFacing.VALUES) {
+        BlockPos target = current.offset(fac);
+        if (visited.add(target.toLong())
+            && world.isBlockLoaded(target)
+            && world.getBlockState(target).getBlock() == block) {
+          found.add(target);
+          queue.add(target);
+          if (found.size() >= maxBlocks) {
+            break;
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  public int getPlannedSize() {
+    return planned.size();
+  }
+
+  /**
+   * break up to budget blocks
+   * 
+   * @return true when the job is finished, either every block is done or the player or tool is gone
+   */
+  public boolean work(int budget) {
+    int fortuneXp = 0;//even if tool has fortune, ignore just to unbalance a bit
+    int broken = 0;
+    capturing = this;
+    try {
+      while (next < planned.size() && broken < budget) {
+        if (canContinue() == false) {
+          next = planned.size();
+          break;
+        }
+        BlockPos targetPos = planned.get(next++);
+        if (world.isBlockLoaded(targetPos) == false) {
+          continue;
+        }
+        IBlockState targetState = world.getBlockState(targetPos);
+        //check canHarvest every time -> permission or any other hooks
+        if (targetState.getBlock() != block
+            || player.canHarvestBlock(targetState) == false) {
+          continue;
+        }
+        block.harvestBlock(world, player, targetPos, targetState, null, tool);
+        xp += block.getExpDrop(targetState, world, targetPos, fortuneXp);
+        world.destroyBlock(targetPos, false);
+        //damage but also respect the unbreaking chant
+        tool.attemptDamageItem(1, world.rand, null);
+        broken++;
+      }
+    }
+    finally {
+      capturing = null;
+    }
+    spawnDrops();
+    return next >= planned.size();
+  }
+
+  private boolean canContinue() {
+    if (player.isDead || player.world != world
+        || (player instanceof EntityPlayerMP && ((EntityPlayerMP) player).hasDisconnected())) {
+      return false;
+    }
+    // switched items, or the tool is used up
+    return player.getHeldItem(hand) == tool && UtilItemStack.isBroken(tool) == false;
+  }
+
+  /**
+   * @return true if this entity was a drop from a running job and has been merged into it
+   */
+  public static boolean captureDrop(Entity entity) {
+    ExcavationJob job = capturing;
+    if (job == null || entity.world != job.world) {
+      return false;
+    }
+    if (entity instanceof EntityItem) {
+      job.addDrop(((EntityItem) entity).getItem());
+      return true;
+    }
+    if (entity instanceof EntityXPOrb) {
+      job.xp += ((EntityXPOrb) entity).getXpValue();
+      return true;
+    }
+    return false;
+  }
+
+  private void addDrop(ItemStack stack) {
+    stack = stack.copy();
+    for (ItemStack existing : drops) {
+      if (stack.isEmpty()) {
+        return;
+      }
+      if (ItemHandlerHelper.canItemStacksStack(existing, stack)) {
+        int moved = Math.min(stack.getCount(), existing.getMaxStackSize() - existing.getCount());
+        existing.grow(moved);
+        stack.shrink(moved);
+      }
+    }
+    if (stack.isEmpty() == false) {
+      drops.add(stack);
+    }
+  }
+
+  private void spawnDrops() {
+    for (ItemStack stack : drops) {
+      Block.spawnAsEntity(world, origin, stack);
+    }
+    drops.clear();
+    if (xp > 0) {
+      block.dropXpOnBlockBreak(world, origin, xp);
+      xp = 0;
+    }
+  }
+}
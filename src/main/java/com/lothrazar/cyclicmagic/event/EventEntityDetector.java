@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.event;
+
+import com.lothrazar.cyclicmagic.block.entitydetector.DetectorIndex;
+import net.minecraft.entity.Entity;
+import net.minecraftforge.event.entity.EntityEvent;
+import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+public class EventEntityDetector {
+
+  /**
+   * living entities wander inside a chunk, so they are checked every update against nearby detectors
+   */
+  @SubscribeEvent
+  public void onLivingUpdate(LivingUpdateEvent event) {
+    onMoved(event.getEntityLiving());
+  }
+
+  /**
+   * items and orbs only report when they cross a chunk border, detectors poll while those are still moving
+   */
+  @SubscribeEvent
+  public void onEnteringChunk(EntityEvent.EnteringChunk event) {
+    onMoved(event.getEntity());
+  }
+
+  private void onMoved(Entity entity) {
+    if (entity.world.isRemote) {
+      return;
+    }
+    DetectorIndex index = DetectorIndex.getIfPresent(entity.world);
+    if (index != null) {
+      index.onEntityMoved(entity);
+    }
+  }
+
+  @SubscribeEvent
+  public void onWorldUnload(WorldEvent.Unload event) {
+    if (event.getWorld().isRemote == false) {
+      DetectorIndex.unload(event.getWorld());
+    }
+  }
+}
@@ -23,9 +23,10 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.gui.container;
 
+import java.util.Arrays;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachineInvo;
-import com.lothrazar.cyclicmagic.net.PacketGuiShortOverride;
+import com.lothrazar.cyclicmagic.net.PacketGuiFieldBatch;
 import com.lothrazar.cyclicmagic.util.Const;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -38,7 +39,12 @@ public class ContainerBaseMachine extends ContainerBase {
 
   public static final int SLOTX_FUEL = 8 * Const.SQ + Const.PAD;
   public static final int SLOTY_FUEL = Const.PAD;
+  private int[] fieldOrdinals;
+  /** values as last sent to the listeners */
   private int[] tileMap;
+  private int[] changedIds;
+  private int[] changedValues;
+  private boolean resendAll;
   protected TileEntityBaseMachineInvo tile;
   private boolean hasTile;
 
@@ -53,35 +59,59 @@ public class ContainerBaseMachine extends ContainerBase {
   private void setTile(TileEntityBaseMachineInvo tile) {
     this.hasTile = true;
     this.tile = tile;
-    this.tileMap = new int[tile.getFieldOrdinals().length];
+    //the field list is fixed per machine, most tiles build a new array on every call
+    this.fieldOrdinals = tile.getFieldOrdinals();
+    this.tileMap = new int[fieldOrdinals.length];
+    this.changedIds = new int[fieldOrdinals.length];
+    this.changedValues = new int[fieldOrdinals.length];
   }
 
+  /**
+   * reads every field once, diffs against what was last sent, and sends all the changes together to each listener
+   */
   protected void syncFields() {
-    int fieldId;
-    for (int i = 0; i < this.listeners.size(); ++i) {
-      IContainerListener icontainerlistener = this.listeners.get(i);
-      for (int j = 0; j < tile.getFieldOrdinals().length; j++) {
-        fieldId = tile.getFieldOrdinals()[j];
-        if (this.tileMap[j] != this.tile.getField(fieldId)) {
-          if ((this.tile.getField(fieldId) > Short.MAX_VALUE ||
-              this.tile.getField(fieldId) < Short.MIN_VALUE)
-              && icontainerlistener instanceof EntityPlayerMP) {
-            //minecraft truncates int into short
-            ModCyclic.network.sendTo(
-                new PacketGuiShortOverride(fieldId, this.tile.getField(fieldId)), ((EntityPlayerMP) icontainerlistener));
-          }
-          else {
-            icontainerlistener.sendWindowProperty(this, fieldId, this.tile.getField(fieldId));
-          }
-        }
+    if (this.listeners.isEmpty()) {
+      return;
+    }
+    int changed = 0;
+    int value;
+    for (int j = 0; j < fieldOrdinals.length; j++) {
+      value = this.tile.getField(fieldOrdinals[j]);
+      if (resendAll || this.tileMap[j] != value) {
+        this.tileMap[j] = value;
+        changedIds[changed] = fieldOrdinals[j];
+        changedValues[changed] = value;
+        changed++;
       }
     }
-    for (int j = 0; j < tile.getFieldOrdinals().length; j++) {
-      fieldId = tile.getFieldOrdinals()[j];
-      this.tileMap[j] = this.tile.getField(fieldId);
+    resendAll = false;
+    if (changed == 0) {
+      return;
+    }
+    PacketGuiFieldBatch packet = null;
+    for (IContainerListener icontainerlistener : this.listeners) {
+      if (icontainerlistener instanceof EntityPlayerMP) {
+        if (packet == null) {
+          packet = new PacketGuiFieldBatch(this.windowId, Arrays.copyOf(changedIds, changed), Arrays.copyOf(changedValues, changed));
+        }
+        ModCyclic.network.sendTo(packet, (EntityPlayerMP) icontainerlistener);
+      }
+      else {
+        for (int j = 0; j < changed; j++) {
+          icontainerlistener.sendWindowProperty(this, changedIds[j], changedValues[j]);
+        }
+      }
     }
   }
 
+  @Override
+  public void addListener(IContainerListener listener) {
+    //a new viewer needs every value, not just the ones that change from now on.
+    //set before super since that runs detectAndSendChanges right away
+    this.resendAll = true;
+    super.addListener(listener);
+  }
+
   @Override
   public void detectAndSendChanges() {
     if (tile != null) {
@@ -28,6 +28,7 @@ import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.playerupgrade.spell.SpellRangeBuild;
 import com.lothrazar.cyclicmagic.playerupgrade.spell.SpellRangeBuild.PlaceType;
 import com.lothrazar.cyclicmagic.util.UtilChat;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import com.lothrazar.cyclicmagic.util.UtilPlaceBlocks;
 import com.lothrazar.cyclicmagic.util.UtilSound;
 import com.lothrazar.cyclicmagic.util.UtilSpellCaster;
@@ -36,7 +37,6 @@ import io.netty.buffer.ByteBuf;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.IThreadListener;
 import net.minecraft.util.math.BlockPos;
@@ -44,7 +44,6 @@ import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -70,34 +69,20 @@ public class PacketRangeBuild implements IMessage, IMessageHandler<PacketRangeBu
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    this.hitVec = new Vec3d(
-        tags.getDouble("hitx"),
-        tags.getDouble("hity"),
-        tags.getDouble("hitz"));
-    int x = tags.getInteger("x");
-    int y = tags.getInteger("y");
-    int z = tags.getInteger("z");
-    pos = new BlockPos(x, y, z);
-    if (tags.hasKey("face"))
-      face = EnumFacing.values()[tags.getInteger("face")];
-    int t = tags.getInteger("placetype");
-    this.type = PlaceType.values()[t];
+    this.hitVec = new Vec3d(buf.readDouble(), buf.readDouble(), buf.readDouble());
+    pos = UtilPacket.readPos(buf);
+    face = UtilPacket.readFacing(buf);
+    this.type = PlaceType.values()[buf.readByte()];
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setDouble("hitx", hitVec.x);
-    tags.setDouble("hity", hitVec.y);
-    tags.setDouble("hitz", hitVec.z);
-    tags.setInteger("placetype", type.ordinal());
-    tags.setInteger("x", pos.getX());
-    tags.setInteger("y", pos.getY());
-    tags.setInteger("z", pos.getZ());
-    if (face != null)
-      tags.setInteger("face", face.ordinal());
-    ByteBufUtils.writeTag(buf, tags);
+    buf.writeDouble(hitVec.x);
+    buf.writeDouble(hitVec.y);
+    buf.writeDouble(hitVec.z);
+    UtilPacket.writePos(buf, pos);
+    UtilPacket.writeFacing(buf, face);
+    buf.writeByte(type.ordinal());
   }
 
   @Override
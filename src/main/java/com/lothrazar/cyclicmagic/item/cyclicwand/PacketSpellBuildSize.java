@@ -23,12 +23,11 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.item.cyclicwand;
 
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import com.lothrazar.cyclicmagic.util.UtilSpellCaster;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -45,15 +44,12 @@ public class PacketSpellBuildSize implements IMessage, IMessageHandler<PacketSpe
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    size = tags.getInteger("size");
+    size = UtilPacket.readSignedVarInt(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("size", size);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeSignedVarInt(buf, size);
   }
 
   @Override
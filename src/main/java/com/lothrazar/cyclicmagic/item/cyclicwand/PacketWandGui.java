@@ -27,8 +27,6 @@ import com.lothrazar.cyclicmagic.util.UtilSpellCaster;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -49,16 +47,12 @@ public class PacketWandGui implements IMessage, IMessageHandler<PacketWandGui, I
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    int t = tags.getInteger("t");
-    type = WandAction.values()[t];
+    type = WandAction.values()[buf.readByte()];
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("t", type.ordinal());
-    ByteBufUtils.writeTag(buf, tags);
+    buf.writeByte(type.ordinal());
   }
 
   @Override
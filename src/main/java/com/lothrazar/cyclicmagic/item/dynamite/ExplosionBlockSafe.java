@@ -26,12 +26,9 @@ package com.lothrazar.cyclicmagic.item.dynamite;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import net.minecraft.block.Block;
-import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.enchantment.EnchantmentProtection;
 import net.minecraft.entity.Entity;
@@ -100,42 +97,7 @@ public class ExplosionBlockSafe extends Explosion {
    */
   @Override
   public void doExplosionA() {
-    Set<BlockPos> set = Sets.<BlockPos> newHashSet();
-    int i = 16;
-    for (int j = 0; j < 16; ++j) {
-      for (int k = 0; k < 16; ++k) {
-        for (int l = 0; l < 16; ++l) {
-          if (j == 0 || j == 15 || k == 0 || k == 15 || l == 0 || l == 15) {
-            double d0 = j / 15.0F * 2.0F - 1.0F;
-            double d1 = k / 15.0F * 2.0F - 1.0F;
-            double d2 = l / 15.0F * 2.0F - 1.0F;
-            double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
-            d0 = d0 / d3;
-            d1 = d1 / d3;
-            d2 = d2 / d3;
-            float f = this.explosionSize * (0.7F + this.world.rand.nextFloat() * 0.6F);
-            double d4 = this.explosionX;
-            double d6 = this.explosionY;
-            double d8 = this.explosionZ;
-            for (float f1 = 0.3F; f > 0.0F; f -= 0.22500001F) {
-              BlockPos blockpos = new BlockPos(d4, d6, d8);
-              IBlockState iblockstate = this.world.getBlockState(blockpos);
-              if (iblockstate.getMaterial() != Material.AIR) {
-                float f2 = this.exploder != null ? this.exploder.getExplosionResistance(this, this.world, blockpos, iblockstate) : iblockstate.getBlock().getExplosionResistance(world, blockpos, (Entity) null, this);
-                f -= (f2 + 0.3F) * 0.3F;
-              }
-              if (f > 0.0F && (this.exploder == null || this.exploder.canExplosionDestroyBlock(this, this.world, blockpos, iblockstate, f))) {
-                set.add(blockpos);
-              }
-              d4 += d0 * 0.30000001192092896D;
-              d6 += d1 * 0.30000001192092896D;
-              d8 += d2 * 0.30000001192092896D;
-            }
-          }
-        }
-      }
-    }
-    this.affectedBlockPositions.addAll(set);//ONLY THIS line is different. dont affect blocks
+    this.affectedBlockPositions.addAll(ExplosionRays.getAffectedBlocks(this, this.world, this.getExploder(), this.explosionX, this.explosionY, this.explosionZ, this.explosionSize));//ONLY THIS line is different. dont affect blocks
     float f3 = this.explosionSize * 2.0F;
     int k1 = MathHelper.floor(this.explosionX - f3 - 1.0D);
     int l1 = MathHelper.floor(this.explosionX + f3 + 1.0D);
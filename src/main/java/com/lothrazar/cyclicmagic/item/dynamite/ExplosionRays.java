@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.item.dynamite;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.lothrazar.cyclicmagic.ModCyclic;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.Explosion;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+/**
+ * The block part of vanilla's explosion: 1352 rays from the center, each losing power to the resistance of the blocks it passes through.
+ * 
+ * Resistance for every block the blast can reach is read once on the main thread into a flat array, with one resistance call per block state instead of one per ray step. The rays then only
+ * read that array, so large blasts trace them on the common fork join pool. Which blocks get destroyed is decided back on the main thread
+ */
+public class ExplosionRays {
+
+  private static final int GRID = 16;
+  private static final float STEP_LOSS = 0.22500001F;
+  private static final double STEP = 0.30000001192092896D;
+  /** smaller blasts trace their rays on the calling thread, handing off would cost more than it saves */
+  private static final float PARALLEL_MIN_SIZE = 4.0F;
+  private static final int PARALLEL_TASKS = 8;
+  /** unit direction of each ray, the surface of a 16x16x16 grid same as vanilla */
+  private static final double[][] RAYS = buildRays();
+  private final float[] resistance;
+  private final int minX, minY, minZ, width;
+  private final double x, y, z;
+
+  private ExplosionRays(float[] resistance, int minX, int minY, int minZ, int width, double x, double y, double z) {
+    this.resistance = resistance;
+    this.minX = minX;
+    this.minY = minY;
+    this.minZ = minZ;
+    this.width = width;
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+
+  private static double[][] buildRays() {
+    List<double[]> rays = Lists.newArrayList();
+    for (int j = 0; j < GRID; ++j) {
+      for (int k = 0; k < GRID; ++k) {
+        for (int l = 0; l < GRID; ++l) {
+          if (j == 0 || j == GRID - 1 || k == 0 || k == GRID - 1 || l == 0 || l == GRID - 1) {
+            double d0 = j / 15.0F * 2.0F - 1.0F;
+            double d1 = k / 15.0F * 2.0F - 1.0F;
+            double d2 = l / 15.0F * 2.0F - 1.0F;
+            double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
+            rays.add(new double[] { d0 / d3, d1 / d3, d2 / d3 });
+          }
+        }
+      }
+    }
+    return rays.toArray(new double[rays.size()][]);
+  }
+
+  /**
+   * every position a ray reached with power left, in no particular order. same result as the loop in vanilla Explosion.doExplosionA, except canExplosionDestroyBlock is asked once per block
+   * with the strongest ray that reached it
+   */
+  public static List<BlockPos> getAffectedBlocks(Explosion explosion, World world, Entity exploder, double x, double y, double z, float size) {
+    // same rolls in the same order as vanilla, taken here since world.rand belongs to this thread
+    final float[] power = new float[RAYS.length];
+    for (int i = 0; i < RAYS.length; i++) {
+      power[i] = size * (0.7F + world.rand.nextFloat() * 0.6F);
+    }
+    // every step loses at least STEP_LOSS, so no ray gets further than this
+    int radius = MathHelper.ceil((size * 1.3F / STEP_LOSS + 1) * STEP) + 1;
+    final ExplosionRays rays = capture(explosion, world, exploder, x, y, z, radius);
+    float[] reached;
+    if (size >= PARALLEL_MIN_SIZE) {
+      reached = rays.traceParallel(power);
+    }
+    else {
+      reached = new float[rays.resistance.length];
+      rays.trace(power, 0, RAYS.length, reached);
+    }
+    List<BlockPos> affected = Lists.newArrayList();
+    BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+    for (int i = 0; i < reached.length; i++) {
+      if (reached[i] <= 0.0F) {
+        continue;
+      }
+      pos.setPos(rays.minX + i % rays.width, rays.minY + (i / rays.width) % rays.width, rays.minZ + i / (rays.width * rays.width));
+      if (exploder == null || exploder.canExplosionDestroyBlock(explosion, world, pos, world.getBlockState(pos), reached[i])) {
+        affected.add(pos.toImmutable());
+      }
+    }
+    return affected;
+  }
+
+  /**
+   * resistance of each block in the cube, or -1 for air. read straight from the chunk sections, and resistance is only asked once per block state unless the block has a tile entity
+   */
+  private static ExplosionRays capture(Explosion explosion, World world, Entity exploder, double x, double y, double z, int radius) {
+    int minX = MathHelper.floor(x) - radius;
+    int minY = MathHelper.floor(y) - radius;
+    int minZ = MathHelper.floor(z) - radius;
+    int width = radius * 2 + 1;
+    float[] resistance = new float[width * width * width];
+    Map<IBlockState, Float> byState = Maps.newHashMap();
+    BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+    for (int dx = 0; dx < width; dx++) {
+      for (int dz = 0; dz < width; dz++) {
+        int bx = minX + dx, bz = minZ + dz;
+        Chunk chunk = world.getChunkFromChunkCoords(bx >> 4, bz >> 4);
+        ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        for (int dy = 0; dy < width; dy++) {
+          int index = dx + dy * width + dz * width * width;
+          int by = minY + dy;
+          ExtendedBlockStorage section = (by < 0 || by >= 256) ? Chunk.NULL_BLOCK_STORAGE : sections[by >> 4];
+          if (section == Chunk.NULL_BLOCK_STORAGE) {
+            resistance[index] = -1;
+            continue;
+          }
+          IBlockState state = section.get(bx & 15, by & 15, bz & 15);
+          if (state.getMaterial() == Material.AIR) {
+            resistance[index] = -1;
+            continue;
+          }
+          Float known = byState.get(state);
+          if (known != null) {
+            resistance[index] = known;
+            continue;
+          }
+          pos.setPos(bx, by, bz);
+          float res = (exploder != null) ? exploder.getExplosionResistance(explosion, world, pos, state) : state.getBlock().getExplosionResistance(world, pos, (Entity) null, explosion);
+          if (state.getBlock().hasTileEntity(state) == false) {
+            byState.put(state, res);
+          }
+          resistance[index] = res;
+        }
+      }
+    }
+    return new ExplosionRays(resistance, minX, minY, minZ, width, x, y, z);
+  }
+
+  private float[] traceParallel(final float[] power) {
+    List<Future<float[]>> tasks = Lists.newArrayList();
+    int per = (RAYS.length + PARALLEL_TASKS - 1) / PARALLEL_TASKS;
+    for (int start = 0; start < RAYS.length; start += per) {
+      final int from = start;
+      final int to = Math.min(RAYS.length, start + per);
+      tasks.add(ForkJoinPool.commonPool().submit(new Callable<float[]>() {
+
+        @Override
+        public float[] call() {
+          float[] reached = new float[resistance.length];
+          trace(power, from, to, reached);
+          return reached;
+        }
+      }));
+    }
+    float[] reached = new float[resistance.length];
+    for (Future<float[]> task : tasks) {
+      float[] part;
+      try {
+        part = task.get();
+      }
+      catch (InterruptedException | ExecutionException e) {
+        ModCyclic.logger.error("Explosion ray task failed, tracing on this thread", e);
+        part = new float[resistance.length];
+        trace(power, 0, RAYS.length, part);
+      }
+      for (int i = 0; i < reached.length; i++) {
+        if (part[i] > reached[i]) {
+          reached[i] = part[i];
+        }
+      }
+    }
+    return reached;
+  }
+
+  /**
+   * march rays from..to, keeping the highest power left at each position. only reads the captured array so any thread can run it
+   */
+  private void trace(float[] power, int from, int to, float[] reached) {
+    for (int r = from; r < to; r++) {
+      double[] ray = RAYS[r];
+      float f = power[r];
+      double d4 = x;
+      double d6 = y;
+      double d8 = z;
+      while (f > 0.0F) {
+        int index = (MathHelper.floor(d4) - minX)
+            + (MathHelper.floor(d6) - minY) * width
+            + (MathHelper.floor(d8) - minZ) * width * width;
+        float res = resistance[index];
+        if (res >= 0) {
+          f -= (res + 0.3F) * 0.3F;
+        }
+        if (f > 0.0F && f > reached[index]) {
+          reached[index] = f;
+        }
+        d4 += ray[0] * STEP;
+        d6 += ray[1] * STEP;
+        d8 += ray[2] * STEP;
+        f -= STEP_LOSS;
+      }
+    }
+  }
+}
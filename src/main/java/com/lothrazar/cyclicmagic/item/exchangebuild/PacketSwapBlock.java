@@ -33,6 +33,7 @@ import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.item.exchangebuild.ItemBuildSwapper.ActionType;
 import com.lothrazar.cyclicmagic.item.exchangebuild.ItemBuildSwapper.WandType;
 import com.lothrazar.cyclicmagic.util.UtilItemStack;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import com.lothrazar.cyclicmagic.util.UtilPlaceBlocks;
 import com.lothrazar.cyclicmagic.util.UtilPlayer;
 import com.lothrazar.cyclicmagic.util.UtilWorld;
@@ -41,12 +42,10 @@ import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -72,32 +71,20 @@ public class PacketSwapBlock implements IMessage, IMessageHandler<PacketSwapBloc
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    int x = tags.getInteger("x");
-    int y = tags.getInteger("y");
-    int z = tags.getInteger("z");
-    pos = new BlockPos(x, y, z);
-    int s = tags.getInteger("s");
-    side = EnumFacing.values()[s];
-    int t = tags.getInteger("t");
-    actionType = ItemBuildSwapper.ActionType.values()[t];
-    int w = tags.getInteger("w");
-    wandType = ItemBuildSwapper.WandType.values()[w];
-    int hnd = tags.getInteger("hand");
-    hand = EnumHand.values()[hnd];
+    pos = UtilPacket.readPos(buf);
+    side = EnumFacing.values()[buf.readByte()];
+    actionType = ItemBuildSwapper.ActionType.values()[buf.readByte()];
+    wandType = ItemBuildSwapper.WandType.values()[buf.readByte()];
+    hand = EnumHand.values()[buf.readByte()];
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("x", pos.getX());
-    tags.setInteger("y", pos.getY());
-    tags.setInteger("z", pos.getZ());
-    tags.setInteger("t", actionType.ordinal());
-    tags.setInteger("w", wandType.ordinal());
-    tags.setInteger("s", side.ordinal());
-    tags.setInteger("hand", hand.ordinal());
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writePos(buf, pos);
+    buf.writeByte(side.ordinal());
+    buf.writeByte(actionType.ordinal());
+    buf.writeByte(wandType.ordinal());
+    buf.writeByte(hand.ordinal());
   }
 
   @Override
@@ -24,11 +24,10 @@
 package com.lothrazar.cyclicmagic.item.merchant;
 
 import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.village.MerchantRecipeList;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -48,20 +47,15 @@ public class PacketSyncVillagerToClient implements IMessage, IMessageHandler<Pac
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    career = tags.getInteger("h");
-    NBTTagCompound tradeTag = (NBTTagCompound) tags.getTag("trades");
+    career = UtilPacket.readSignedVarInt(buf);
     trades = new MerchantRecipeList();
-    trades.readRecipiesFromTags(tradeTag);
+    trades.readRecipiesFromTags(UtilPacket.readTag(buf));
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("h", career);
-    NBTTagCompound tradeTag = trades.getRecipiesAsTags();
-    tags.setTag("trades", tradeTag);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeSignedVarInt(buf, career);
+    UtilPacket.writeTag(buf, trades.getRecipiesAsTags());
   }
 
   @Override
@@ -23,10 +23,9 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.item.merchant;
 
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -44,15 +43,12 @@ public class PacketSyncVillagerToServer implements IMessage, IMessageHandler<Pac
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    selectedMerchantRecipe = tags.getInteger("selectedMerchantRecipe");
+    selectedMerchantRecipe = UtilPacket.readSignedVarInt(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("selectedMerchantRecipe", selectedMerchantRecipe);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeSignedVarInt(buf, selectedMerchantRecipe);
   }
 
   @Override
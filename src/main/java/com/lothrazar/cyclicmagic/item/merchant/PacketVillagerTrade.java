@@ -26,10 +26,9 @@ package com.lothrazar.cyclicmagic.item.merchant;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.util.Const;
 import com.lothrazar.cyclicmagic.util.UtilNBT;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -48,15 +47,12 @@ public class PacketVillagerTrade implements IMessage, IMessageHandler<PacketVill
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    selectedMerchantRecipe = tags.getInteger("selectedMerchantRecipe");
+    selectedMerchantRecipe = UtilPacket.readSignedVarInt(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("selectedMerchantRecipe", selectedMerchantRecipe);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeSignedVarInt(buf, selectedMerchantRecipe);
   }
 
   @Override
@@ -28,17 +28,16 @@ import java.util.Collections;
 import java.util.List;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.item.random.ItemRandomizer.ActionType;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import com.lothrazar.cyclicmagic.util.UtilPlaceBlocks;
 import com.lothrazar.cyclicmagic.util.UtilWorld;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.IThreadListener;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -59,26 +58,16 @@ public class PacketRandomize implements IMessage, IMessageHandler<PacketRandomiz
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    int x = tags.getInteger("x");
-    int y = tags.getInteger("y");
-    int z = tags.getInteger("z");
-    pos = new BlockPos(x, y, z);
-    int s = tags.getInteger("s");
-    side = EnumFacing.values()[s];
-    int t = tags.getInteger("t");
-    actionType = ItemRandomizer.ActionType.values()[t];
+    pos = UtilPacket.readPos(buf);
+    side = EnumFacing.values()[buf.readByte()];
+    actionType = ItemRandomizer.ActionType.values()[buf.readByte()];
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("x", pos.getX());
-    tags.setInteger("y", pos.getY());
-    tags.setInteger("z", pos.getZ());
-    tags.setInteger("t", actionType.ordinal());
-    tags.setInteger("s", side.ordinal());
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writePos(buf, pos);
+    buf.writeByte(side.ordinal());
+    buf.writeByte(actionType.ordinal());
   }
 
   @Override
@@ -24,15 +24,14 @@
 package com.lothrazar.cyclicmagic.item.scythe;
 
 import java.util.List;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import com.lothrazar.cyclicmagic.util.UtilScythe;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.FMLCommonHandler;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -53,25 +52,16 @@ public class PacketScythe implements IMessage, IMessageHandler<PacketScythe, IMe
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    int x = tags.getInteger("x");
-    int y = tags.getInteger("y");
-    int z = tags.getInteger("z");
-    pos = new BlockPos(x, y, z);
-    int t = tags.getInteger("t");
-    type = ItemScythe.ScytheType.values()[t];
-    radius = tags.getInteger("s");
+    pos = UtilPacket.readPos(buf);
+    type = ItemScythe.ScytheType.values()[buf.readByte()];
+    radius = UtilPacket.readVarInt(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("x", pos.getX());
-    tags.setInteger("y", pos.getY());
-    tags.setInteger("z", pos.getZ());
-    tags.setInteger("t", type.ordinal());
-    tags.setInteger("s", radius);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writePos(buf, pos);
+    buf.writeByte(type.ordinal());
+    UtilPacket.writeVarInt(buf, radius);
   }
 
   @Override
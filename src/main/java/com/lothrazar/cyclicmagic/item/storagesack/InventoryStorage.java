@@ -37,8 +37,10 @@ import net.minecraftforge.common.util.Constants;
 public class InventoryStorage extends InventoryBase implements IInventory {
 
   public static final int INV_SIZE = 7 * 11;
+  static final String NBT_INV = "ItemInventory";
   private final ItemStack internalBag;
   private EntityPlayer thePlayer;
+  private StorageBagCache cache = null;
 
   public InventoryStorage(EntityPlayer player, ItemStack bag) {
     super(INV_SIZE);
@@ -47,6 +49,17 @@ public class InventoryStorage extends InventoryBase implements IInventory {
     thePlayer = player;
   }
 
+  /**
+   * works directly on the bag's cached list, changes are written back to NBT when the cache flushes
+   */
+  public InventoryStorage(EntityPlayer player, ItemStack bag, StorageBagCache cache) {
+    super(INV_SIZE);
+    internalBag = bag;
+    inv = cache.getInventory();
+    thePlayer = player;
+    this.cache = cache;
+  }
+
   public EntityPlayer getPlayer() {
     return thePlayer;
   }
@@ -126,6 +139,10 @@ public class InventoryStorage extends InventoryBase implements IInventory {
         inv.set(i, ItemStack.EMPTY);
       }
     }
+    if (cache != null) {
+      cache.markDirty();
+      return;
+    }
     // set any empty item stacks (red zeroes) to empty
     for (int i = 0; i < thePlayer.inventory.getSizeInventory(); i++) {
       if (!thePlayer.inventory.getStackInSlot(i).isEmpty() && thePlayer.inventory.getStackInSlot(i).getCount() == 0) {
@@ -147,7 +164,8 @@ public class InventoryStorage extends InventoryBase implements IInventory {
 
   /************** public static ******************/
   public static int countNonEmpty(ItemStack stack) {
-    NonNullList<ItemStack> inv = readFromNBT(stack);
+    StorageBagCache cache = StorageBagCache.get(stack);
+    NonNullList<ItemStack> inv = (cache == null) ? readFromNBT(stack) : cache.getInventory();
     int count = 0;
     for (int i = 0; i < inv.size(); ++i) {
       if (!inv.get(i).isEmpty()) {
@@ -158,11 +176,22 @@ public class InventoryStorage extends InventoryBase implements IInventory {
   }
 
   public static NonNullList<ItemStack> readFromNBT(ItemStack stack) {
+    StorageBagCache.flush(stack);
+    return decode(stack);
+  }
+
+  public static void writeToNBT(ItemStack item, NonNullList<ItemStack> theInventory) {
+    // pending cache changes go first so this write is the one that sticks
+    StorageBagCache.flush(item);
+    encode(item, theInventory);
+  }
+
+  static NonNullList<ItemStack> decode(ItemStack stack) {
     NonNullList<ItemStack> inv = NonNullList.withSize(INV_SIZE, ItemStack.EMPTY);
     if (stack.isEmpty()) {
       return inv;
     }
-    NBTTagList items = UtilNBT.getItemStackNBT(stack).getTagList("ItemInventory", Constants.NBT.TAG_COMPOUND);
+    NBTTagList items = UtilNBT.getItemStackNBT(stack).getTagList(NBT_INV, Constants.NBT.TAG_COMPOUND);
     for (int i = 0; i < items.tagCount(); ++i) {
       // 1.7.2+ change to items.getCompoundTagAt(i)
       NBTTagCompound item = items.getCompoundTagAt(i);
@@ -174,7 +203,7 @@ public class InventoryStorage extends InventoryBase implements IInventory {
     return inv;
   }
 
-  public static void writeToNBT(ItemStack item, NonNullList<ItemStack> theInventory) {
+  static void encode(ItemStack item, NonNullList<ItemStack> theInventory) {
     NBTTagCompound tagcompound = UtilNBT.getItemStackNBT(item);
     // Create a new NBT Tag List to store itemstacks as NBT Tags
     NBTTagList items = new NBTTagList();
@@ -198,7 +227,7 @@ public class InventoryStorage extends InventoryBase implements IInventory {
     }
     // Add the TagList to the ItemStack's Tag Compound with the name
     // "ItemInventory"
-    tagcompound.setTag("ItemInventory", items);
+    tagcompound.setTag(NBT_INV, items);
   }
 
   public static void decrementSlot(ItemStack stack, int itemSlot) {
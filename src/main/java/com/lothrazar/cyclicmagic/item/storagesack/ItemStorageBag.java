@@ -25,6 +25,7 @@ package com.lothrazar.cyclicmagic.item.storagesack;
 
 import java.util.List;
 import java.util.UUID;
+import javax.annotation.Nullable;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.data.IHasRecipe;
 import com.lothrazar.cyclicmagic.gui.ForgeGuiHandler;
@@ -40,6 +41,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.SoundEvents;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.EnumHand;
@@ -47,6 +49,7 @@ import net.minecraft.util.NonNullList;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
 import net.minecraftforge.event.entity.player.EntityItemPickupEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -78,6 +81,7 @@ public class ItemStorageBag extends BaseItem implements IHasRecipe {
   @Override
   public void onUpdate(ItemStack stack, World worldIn, Entity entityIn, int itemSlot, boolean isSelected) {
     StorageActionType.tickTimeout(stack);
+    StorageBagCache.flush(stack);
     super.onUpdate(stack, worldIn, entityIn, itemSlot, isSelected);
   }
 
@@ -100,25 +104,22 @@ public class ItemStorageBag extends BaseItem implements IHasRecipe {
       if (pickupType == StoragePickupType.NOTHING.ordinal()) {
         continue;
       }
+      StorageBagCache cache = StorageBagCache.get(stackIsBag);
+      if (cache == null) {
+        continue;
+      }
       if (pickupType == StoragePickupType.FILTER.ordinal()) {
         // treat bag contents as whtielist
-        boolean doesMatch = false;
-        NonNullList<ItemStack> inv = InventoryStorage.readFromNBT(stackIsBag);
-        for (ItemStack tryMatch : inv) {
-          if (tryMatch.isItemEqualIgnoreDurability(stackOnGround)) {
-            doesMatch = true;
-            break;
-          }
-        }
-        if (!doesMatch) {
+        if (cache.matchesFilter(stackOnGround) == false) {
           return;//  filter type an it does not match
         }
       }
       //else type is everything so just go
       //do the real deposit
-      InventoryStorage inventoryBag = new InventoryStorage(event.getEntityPlayer(), stackIsBag);
+      InventoryStorage inventoryBag = new InventoryStorage(event.getEntityPlayer(), stackIsBag, cache);
       NonNullList<ItemStack> onGround = NonNullList.create();
-      onGround.add(stackOnGround);
+      // the bag keeps this stack in its cached list, so it must not share the entity's stack
+      onGround.add(stackOnGround.copy());
       BagDepositReturn ret = UtilInventoryTransfer.dumpFromListToIInventory(event.getEntity().world, inventoryBag, onGround, false);
       if (ret.stacks.get(0).isEmpty()) {
         /// we got everything 
@@ -133,6 +134,17 @@ public class ItemStorageBag extends BaseItem implements IHasRecipe {
     }
   }
 
+  @Override
+  public ICapabilityProvider initCapabilities(ItemStack stack, @Nullable NBTTagCompound nbt) {
+    return new StorageBagCache(stack);
+  }
+
+  @Override
+  public NBTTagCompound getNBTShareTag(ItemStack stack) {
+    StorageBagCache.flush(stack);
+    return super.getNBTShareTag(stack);
+  }
+
   /**
    * not empty and not another bag
    * 
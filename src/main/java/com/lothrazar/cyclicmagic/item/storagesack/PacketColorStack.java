@@ -23,11 +23,10 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.item.storagesack;
 
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -44,15 +43,12 @@ public class PacketColorStack implements IMessage, IMessageHandler<PacketColorSt
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    colour = tags.getInteger("colour");
+    colour = UtilPacket.readSignedVarInt(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("colour", colour);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeSignedVarInt(buf, colour);
   }
 
   @Override
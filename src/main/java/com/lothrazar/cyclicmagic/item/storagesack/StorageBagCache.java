@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.item.storagesack;
+
+import java.util.Set;
+import javax.annotation.Nullable;
+import com.google.common.collect.Sets;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.NonNullList;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityInject;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+import net.minecraftforge.oredict.OreDictionary;
+
+/**
+ * Decoded contents of one storage bag, attached to the bag stack as a capability so item pickups do not decode the bag's NBT every time.
+ * 
+ * Changes made through the cache stay in the decoded list and are encoded back into the stack's tag the next time anything reads, copies, saves or syncs the stack
+ */
+public class StorageBagCache implements ICapabilitySerializable<NBTTagCompound> {
+
+  @CapabilityInject(StorageBagCache.class)
+  public static final Capability<StorageBagCache> CAPABILITY = null;
+  private final ItemStack bag;
+  private NonNullList<ItemStack> inv = null;
+  // the tag list inv was decoded from. any other write to the bag replaces it, so the cache notices
+  private NBTBase decodedFrom = null;
+  // item id and meta of everything in the bag, meta is wildcard for damageable items
+  private Set<Long> filter = null;
+  private boolean dirty = false;
+
+  public StorageBagCache(ItemStack bag) {
+    this.bag = bag;
+  }
+
+  @Nullable
+  public static StorageBagCache get(ItemStack bag) {
+    if (CAPABILITY == null || bag.isEmpty()) {
+      return null;
+    }
+    return bag.getCapability(CAPABILITY, null);
+  }
+
+  /**
+   * write any pending changes in the bag's cache back to its NBT
+   */
+  public static void flush(ItemStack bag) {
+    StorageBagCache cache = get(bag);
+    if (cache != null) {
+      cache.flush();
+    }
+  }
+
+  public NonNullList<ItemStack> getInventory() {
+    if (dirty) {
+      return inv;
+    }
+    NBTBase current = getInventoryTag();
+    if (inv == null || current != decodedFrom) {
+      inv = InventoryStorage.decode(bag);
+      decodedFrom = current;
+      filter = null;
+    }
+    return inv;
+  }
+
+  /**
+   * same test as isItemEqualIgnoreDurability against each stack in the bag, done as a set lookup
+   */
+  public boolean matchesFilter(ItemStack stack) {
+    NonNullList<ItemStack> contents = getInventory();
+    if (filter == null) {
+      filter = Sets.newHashSet();
+      for (ItemStack s : contents) {
+        if (s.isEmpty() == false) {
+          filter.add(getKey(s.getItem(), s.isItemStackDamageable() ? OreDictionary.WILDCARD_VALUE : s.getMetadata()));
+        }
+      }
+    }
+    return filter.contains(getKey(stack.getItem(), stack.getMetadata()))
+        || filter.contains(getKey(stack.getItem(), OreDictionary.WILDCARD_VALUE));
+  }
+
+  public void markDirty() {
+    dirty = true;
+    filter = null;
+  }
+
+  public void flush() {
+    if (dirty) {
+      dirty = false;
+      InventoryStorage.encode(bag, inv);
+      decodedFrom = getInventoryTag();
+    }
+  }
+
+  private NBTBase getInventoryTag() {
+    return bag.hasTagCompound() ? bag.getTagCompound().getTag(InventoryStorage.NBT_INV) : null;
+  }
+
+  private static long getKey(Item item, int meta) {
+    return ((long) Item.getIdFromItem(item) << 32) | meta;
+  }
+
+  @Override
+  public boolean hasCapability(Capability<?> capability, @Nullable EnumFacing facing) {
+    return capability != null && capability == CAPABILITY;
+  }
+
+  @Nullable
+  @Override
+  public <T> T getCapability(Capability<T> capability, @Nullable EnumFacing facing) {
+    if (hasCapability(capability, facing)) {
+      return CAPABILITY.cast(this);
+    }
+    return null;
+  }
+
+  /**
+   * Forge calls this whenever the stack is copied, compared or saved, which is exactly when the tag has to be current. The cache itself is never stored
+   */
+  @Override
+  public NBTTagCompound serializeNBT() {
+    flush();
+    return new NBTTagCompound();
+  }
+
+  @Override
+  public void deserializeNBT(NBTTagCompound nbt) {}
+}
@@ -23,6 +23,7 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.liquid;
 
+import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachine;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.FluidTank;
@@ -65,6 +66,13 @@ public class FluidTankBase extends FluidTank {
       this.fluid.amount = amt;
   }
 
+  @Override
+  protected void onContentsChanged() {
+    if (tile instanceof TileEntityBaseMachine) {
+      ((TileEntityBaseMachine) tile).wake();
+    }
+  }
+
   public boolean isFull() {
     return getFluidAmount() >= getCapacity();
   }
@@ -24,7 +24,9 @@
 package com.lothrazar.cyclicmagic.liquid;
 
 import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachine;
 import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachineInvo;
+import com.lothrazar.cyclicmagic.block.core.TileSyncManager;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 
@@ -59,6 +61,12 @@ public class FluidTankFixDesync extends FluidTankBase {
 
   @Override
   protected void onContentsChanged() {
-    sendClientUpdate();
+    super.onContentsChanged();
+    if (TileSyncManager.enabled) {
+      parent.markSyncDirty(TileEntityBaseMachine.SYNC_FLUID);
+    }
+    else {
+      sendClientUpdate();
+    }
   }
 }
@@ -30,6 +30,7 @@ import com.lothrazar.cyclicmagic.block.BlockLaunch;
 import com.lothrazar.cyclicmagic.block.BlockSpikesRetractable;
 import com.lothrazar.cyclicmagic.block.autouser.TileEntityUser;
 import com.lothrazar.cyclicmagic.block.buildershape.TileEntityStructureBuilder;
+import com.lothrazar.cyclicmagic.block.cable.TileEntityCableBase;
 import com.lothrazar.cyclicmagic.block.cable.energy.BlockPowerCable;
 import com.lothrazar.cyclicmagic.block.cable.energy.TileEntityCablePower;
 import com.lothrazar.cyclicmagic.block.cable.fluid.BlockCableFluid;
@@ -55,6 +56,8 @@ import com.lothrazar.cyclicmagic.block.conveyor.BlockConveyor;
 import com.lothrazar.cyclicmagic.block.conveyor.BlockConveyor.SpeedType;
 import com.lothrazar.cyclicmagic.block.conveyor.BlockConveyorAngle;
 import com.lothrazar.cyclicmagic.block.conveyor.BlockConveyorCorner;
+import com.lothrazar.cyclicmagic.block.core.MachineSleepScheduler;
+import com.lothrazar.cyclicmagic.block.core.TileSyncManager;
 import com.lothrazar.cyclicmagic.block.fire.BlockFireFrost;
 import com.lothrazar.cyclicmagic.block.fire.BlockFireSafe;
 import com.lothrazar.cyclicmagic.block.firestarter.BlockFireStarter;
@@ -139,6 +142,7 @@ import com.lothrazar.cyclicmagic.registry.LootTableRegistry;
 import com.lothrazar.cyclicmagic.registry.LootTableRegistry.ChestType;
 import com.lothrazar.cyclicmagic.registry.RecipeRegistry;
 import com.lothrazar.cyclicmagic.util.Const;
+import com.lothrazar.cyclicmagic.util.EntityQueryCache;
 import net.minecraft.block.Block;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
@@ -662,6 +666,12 @@ public class MultiContent implements IContent {
     enableEnderBlaze = config.getBoolean("EnderBlaze", Const.ConfigCategory.content, true, Const.ConfigCategory.contentDefaultText);
     fire_starter = config.getBoolean("fire_starter", Const.ConfigCategory.content, true, Const.ConfigCategory.contentDefaultText);
     enablePumpAndPipes = config.getBoolean("PumpAndPipes", Const.ConfigCategory.content, true, Const.ConfigCategory.contentDefaultText);
+    TileEntityCableBase.networkTransfer = config.getBoolean("CableNetworkTransfer", Const.ConfigCategory.cables, true, "If true, connected cables are merged into one network that moves items, fluid and energy straight from the cables holding them to the connected blocks once per tick.  False uses the old behavior where every cable pushes to its neighbors one step at a time");
+    MachineSleepScheduler.enabled = config.getBoolean("MachineSleep", Const.ConfigCategory.blocks, true, "If true, idle machines (cables with nothing in them, pumps with nothing to pull, a harvester with a full inventory, and so on) stop ticking until an inventory, tank, neighbor, redstone or gui change wakes them");
+    MachineSleepScheduler.idleTicks = config.getInt("MachineSleepIdleTicks", Const.ConfigCategory.blocks, 10, 1, 200, "Idle machines that cannot be woken by the thing they are waiting for, such as a vacuum with no items nearby, check again after this many ticks");
+    EntityQueryCache.enabled = config.getBoolean("EntityQueryCache", Const.ConfigCategory.blocks, true, "If true, machines that look for entities in an area (vacuum, experience pylon, entity detector, fan, potion beacon, auto user) share one snapshot of each chunk per tick instead of each scanning the world on their own");
+    TileSyncManager.enabled = config.getBoolean("MachineDeltaSync", Const.ConfigCategory.blocks, true, "If true, machines send only the values that changed (energy, timer, tank, slots) to nearby players, batched at the end of the tick.  False sends the whole machine every time anything changes");
+    TileSyncManager.interval = config.getInt("MachineSyncInterval", Const.ConfigCategory.blocks, 4, 1, 40, "Fewest ticks between two client updates from the same machine, when MachineDeltaSync is on");
     fragileEnabled = config.getBoolean("ScaffoldingBlock", Const.ConfigCategory.content, true, Const.ConfigCategory.contentDefaultText);
     // enablePipes = config.getBoolean("Pipes", Const.ConfigCategory.content, true, Const.ConfigCategory.contentDefaultText);
     enablePeat = config.getBoolean("PeatFeature", Const.ConfigCategory.content, true, Const.ConfigCategory.contentDefaultText + "; this feature includes several items and blocks used by the Peat farming system");
@@ -25,10 +25,9 @@ package com.lothrazar.cyclicmagic.net;
 
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.util.UtilChat;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -48,17 +47,14 @@ public class PacketChat implements IMessage, IMessageHandler<PacketChat, IMessag
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    message = tags.getString("msg");
-    isStatus = tags.getInteger("status") == 1;
+    message = UtilPacket.readString(buf);
+    isStatus = buf.readBoolean();
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setString("msg", message);
-    tags.setInteger("status", isStatus ? 1 : 0);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeString(buf, message);
+    buf.writeBoolean(isStatus);
   }
 
   @Override
@@ -28,10 +28,9 @@ import java.util.List;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.item.crashtestdummy.EntityRobot;
 import com.lothrazar.cyclicmagic.item.crashtestdummy.EntityRobot.DmgTracker;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.Entity;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -50,32 +49,26 @@ public class PacketEntitySyncToClient implements IMessage, IMessageHandler<Packe
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound compound = ByteBufUtils.readTag(buf);
-    entityId = compound.getInteger("entityId");
+    entityId = UtilPacket.readVarInt(buf);
     trackers = new ArrayList<DmgTracker>();
-    int saved = compound.getInteger("SAVED");
+    int saved = UtilPacket.readVarInt(buf);
     for (int i = 0; i < saved; i++) {
-      if (compound.hasKey("tmr" + i)) {
-        int timer = compound.getInteger("tmr" + i);
-        if (timer > 0) {
-          trackers.add(new EntityRobot.DmgTracker(timer, compound.getString("strMsg" + i)));
-        }
+      int timer = UtilPacket.readSignedVarInt(buf);
+      String msg = UtilPacket.readString(buf);
+      if (timer > 0) {
+        trackers.add(new EntityRobot.DmgTracker(timer, msg));
       }
     }
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound compound = new NBTTagCompound();
-    compound.setInteger("entityId", entityId);
-    int i = 0;
+    UtilPacket.writeVarInt(buf, entityId);
+    UtilPacket.writeVarInt(buf, trackers.size());
     for (DmgTracker t : trackers) {
-      compound.setInteger("tmr" + i, t.timer);
-      compound.setString("strMsg" + i, t.message);
-      i++;
+      UtilPacket.writeSignedVarInt(buf, t.timer);
+      UtilPacket.writeString(buf, t.message);
     }
-    compound.setInteger("SAVED", i);
-    ByteBufUtils.writeTag(buf, compound);
   }
 
   @Override
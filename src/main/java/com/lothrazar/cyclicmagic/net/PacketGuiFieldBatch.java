@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.net;
+
+import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.IThreadListener;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+/**
+ * Server to client: every gui field that changed this tick in one message, as full ints. Replaces one sendWindowProperty per field, which vanilla truncates to a short (see PacketGuiShortOverride)
+ */
+public class PacketGuiFieldBatch implements IMessage, IMessageHandler<PacketGuiFieldBatch, IMessage> {
+
+  private int windowId;
+  private int[] fieldIds;
+  private int[] values;
+
+  public PacketGuiFieldBatch() {}
+
+  public PacketGuiFieldBatch(int windowId, int[] fieldIds, int[] values) {
+    this.windowId = windowId;
+    this.fieldIds = fieldIds;
+    this.values = values;
+  }
+
+  @Override
+  public void fromBytes(ByteBuf buf) {
+    windowId = UtilPacket.readVarInt(buf);
+    int count = UtilPacket.readVarInt(buf);
+    fieldIds = new int[count];
+    values = new int[count];
+    for (int i = 0; i < count; i++) {
+      fieldIds[i] = UtilPacket.readVarInt(buf);
+      values[i] = UtilPacket.readSignedVarInt(buf);
+    }
+  }
+
+  @Override
+  public void toBytes(ByteBuf buf) {
+    UtilPacket.writeVarInt(buf, windowId);
+    UtilPacket.writeVarInt(buf, fieldIds.length);
+    for (int i = 0; i < fieldIds.length; i++) {
+      UtilPacket.writeVarInt(buf, fieldIds[i]);
+      UtilPacket.writeSignedVarInt(buf, values[i]);
+    }
+  }
+
+  @Override
+  public IMessage onMessage(PacketGuiFieldBatch message, MessageContext ctx) {
+    final IThreadListener mainThread = Minecraft.getMinecraft();
+    mainThread.addScheduledTask(new Runnable() {
+
+      @Override
+      public void run() {
+        EntityPlayer player = ModCyclic.proxy.getClientPlayer();
+        //the gui may have closed or changed since the server sent this
+        if (player == null || player.openContainer == null || player.openContainer.windowId != message.windowId) {
+          return;
+        }
+        for (int i = 0; i < message.fieldIds.length; i++) {
+          player.openContainer.updateProgressBar(message.fieldIds[i], message.values[i]);
+        }
+      }
+    });
+    return null;
+  }
+}
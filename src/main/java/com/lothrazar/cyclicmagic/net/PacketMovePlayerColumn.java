@@ -23,11 +23,10 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.net;
 
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import com.lothrazar.cyclicmagic.util.UtilPlayer;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -46,17 +45,14 @@ public class PacketMovePlayerColumn implements IMessage, IMessageHandler<PacketM
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    slot = tags.getInteger("slot");
-    isDown = tags.getBoolean("isDown");
+    slot = UtilPacket.readVarInt(buf);
+    isDown = buf.readBoolean();
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("slot", slot);
-    tags.setBoolean("isDown", isDown);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeVarInt(buf, slot);
+    buf.writeBoolean(isDown);
   }
 
   @Override
@@ -26,8 +26,6 @@ package com.lothrazar.cyclicmagic.net;
 import com.lothrazar.cyclicmagic.util.UtilPlayer;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -44,15 +42,12 @@ public class PacketMovePlayerHotbar implements IMessage, IMessageHandler<PacketM
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    isDown = tags.getBoolean("isDown");
+    isDown = buf.readBoolean();
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setBoolean("isDown", isDown);
-    ByteBufUtils.writeTag(buf, tags);
+    buf.writeBoolean(isDown);
   }
 
   @Override
@@ -24,14 +24,13 @@
 package com.lothrazar.cyclicmagic.net;
 
 import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import com.lothrazar.cyclicmagic.util.UtilParticle;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -56,23 +55,19 @@ public class PacketParticleAtPosition implements IMessage, IMessageHandler<Packe
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    x = tags.getInteger("x");
-    y = tags.getInteger("y");
-    z = tags.getInteger("z");
-    particle = tags.getInteger("p");
-    count = tags.getInteger("c");
+    BlockPos pos = UtilPacket.readPos(buf);
+    x = pos.getX();
+    y = pos.getY();
+    z = pos.getZ();
+    particle = UtilPacket.readVarInt(buf);
+    count = UtilPacket.readVarInt(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("x", x);
-    tags.setInteger("y", y);
-    tags.setInteger("z", z);
-    tags.setInteger("p", particle);
-    tags.setInteger("c", count);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writePos(buf, new BlockPos(x, y, z));
+    UtilPacket.writeVarInt(buf, particle);
+    UtilPacket.writeVarInt(buf, count);
   }
 
   @Override
@@ -25,13 +25,12 @@ package com.lothrazar.cyclicmagic.net;
 
 import com.lothrazar.cyclicmagic.playerupgrade.storage.InventoryPlayerExtended;
 import com.lothrazar.cyclicmagic.util.Const;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import com.lothrazar.cyclicmagic.util.UtilPlayerInventoryFilestorage;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -53,17 +52,14 @@ public class PacketSwapPlayerHotbar implements IMessage, IMessageHandler<PacketS
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    row = tags.getInteger("row");
-    armor = tags.getBoolean("armor");
+    row = UtilPacket.readVarInt(buf);
+    armor = buf.readBoolean();
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("row", row);
-    tags.setBoolean("armor", armor);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeVarInt(buf, row);
+    buf.writeBoolean(armor);
   }
 
   @Override
@@ -23,12 +23,11 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.net;
 
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import com.lothrazar.cyclicmagic.util.UtilPlayerInventoryFilestorage;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -47,17 +46,14 @@ public class PacketSwapPlayerStack implements IMessage, IMessageHandler<PacketSw
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    this.indexDest = tags.getInteger("ix");
-    this.hotbarSource = tags.getInteger("hot");
+    this.indexDest = UtilPacket.readVarInt(buf);
+    this.hotbarSource = UtilPacket.readVarInt(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("ix", this.indexDest);
-    tags.setInteger("hot", this.hotbarSource);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeVarInt(buf, this.indexDest);
+    UtilPacket.writeVarInt(buf, this.hotbarSource);
   }
 
   @Override
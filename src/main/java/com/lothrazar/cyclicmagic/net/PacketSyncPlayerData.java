@@ -24,10 +24,10 @@
 package com.lothrazar.cyclicmagic.net;
 
 import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.IThreadListener;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -45,12 +45,12 @@ public class PacketSyncPlayerData implements IMessage, IMessageHandler<PacketSyn
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    tags = ByteBufUtils.readTag(buf);
+    tags = UtilPacket.readTag(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    ByteBufUtils.writeTag(buf, this.tags);
+    UtilPacket.writeTag(buf, this.tags);
   }
 
   @Override
@@ -25,11 +25,10 @@ package com.lothrazar.cyclicmagic.net;
 
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.playerupgrade.tools.ContainerPlayerTools;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -49,17 +48,14 @@ public class PacketSyncToolslot implements IMessage, IMessageHandler<PacketSyncT
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    slot = tags.getInteger("slot");
-    stack = new ItemStack(tags);
+    slot = UtilPacket.readVarInt(buf);
+    stack = UtilPacket.readStack(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    stack.writeToNBT(tags);
-    tags.setInteger("slot", slot);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeVarInt(buf, slot);
+    UtilPacket.writeStack(buf, stack);
   }
 
   @Override
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.net;
+
+import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachine;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.client.Minecraft;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.IThreadListener;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+/**
+ * Server to client: only the machine values that changed, as written by TileEntityBaseMachine.writeSyncDelta
+ */
+public class PacketTileDelta implements IMessage, IMessageHandler<PacketTileDelta, IMessage> {
+
+  private BlockPos pos;
+  private int fields;
+  private byte[] payload;
+
+  public PacketTileDelta() {}
+
+  public PacketTileDelta(BlockPos pos, int fields, byte[] payload) {
+    this.pos = pos;
+    this.fields = fields;
+    this.payload = payload;
+  }
+
+  @Override
+  public void fromBytes(ByteBuf buf) {
+    pos = BlockPos.fromLong(buf.readLong());
+    fields = buf.readByte();
+    payload = new byte[buf.readableBytes()];
+    buf.readBytes(payload);
+  }
+
+  @Override
+  public void toBytes(ByteBuf buf) {
+    buf.writeLong(pos.toLong());
+    buf.writeByte(fields);
+    buf.writeBytes(payload);
+  }
+
+  @Override
+  public IMessage onMessage(PacketTileDelta message, MessageContext ctx) {
+    final IThreadListener mainThread = Minecraft.getMinecraft();
+    mainThread.addScheduledTask(new Runnable() {
+
+      @Override
+      public void run() {
+        World world = ModCyclic.proxy.getClientWorld();
+        if (world == null || world.isBlockLoaded(message.pos) == false) {
+          return;
+        }
+        TileEntity tile = world.getTileEntity(message.pos);
+        if (tile instanceof TileEntityBaseMachine) {
+          ((TileEntityBaseMachine) tile).readSyncDelta(message.fields, Unpooled.wrappedBuffer(message.payload));
+        }
+      }
+    });
+    return null;
+  }
+}
@@ -24,8 +24,10 @@
 package com.lothrazar.cyclicmagic.net;
 
 import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachine;
 import com.lothrazar.cyclicmagic.data.FluidWrapper;
 import com.lothrazar.cyclicmagic.data.ITileFluidWrapper;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.NBTTagCompound;
@@ -33,7 +35,6 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.IThreadListener;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -54,26 +55,18 @@ public class PacketTileFluidWrapped implements IMessage, IMessageHandler<PacketT
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    int x = tags.getInteger("x");
-    int y = tags.getInteger("y");
-    int z = tags.getInteger("z");
-    index = tags.getInteger("index");
-    pos = new BlockPos(x, y, z);
-    stack = FluidWrapper.loadStackWrapperFromNBT((NBTTagCompound) tags.getTag("ghostSlot"));
+    pos = UtilPacket.readPos(buf);
+    index = UtilPacket.readVarInt(buf);
+    stack = FluidWrapper.loadStackWrapperFromNBT(UtilPacket.readTag(buf));
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("x", pos.getX());
-    tags.setInteger("y", pos.getY());
-    tags.setInteger("z", pos.getZ());
-    tags.setInteger("index", index);
+    UtilPacket.writePos(buf, pos);
+    UtilPacket.writeVarInt(buf, index);
     NBTTagCompound stackTag = new NBTTagCompound();
     stack.writeToNBT(stackTag);
-    tags.setTag("ghostSlot", stackTag);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeTag(buf, stackTag);
   }
 
   @Override
@@ -93,6 +86,9 @@ public class PacketTileFluidWrapped implements IMessage, IMessageHandler<PacketT
         TileEntity tile = world.getTileEntity(message.pos);
         if (tile != null && tile instanceof ITileFluidWrapper) {
           ((ITileFluidWrapper) tile).setStackWrapper(message.index, message.stack);
+          if (tile instanceof TileEntityBaseMachine) {
+            ((TileEntityBaseMachine) tile).wake();
+          }
         }
       }
     });
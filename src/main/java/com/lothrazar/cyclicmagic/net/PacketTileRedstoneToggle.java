@@ -23,13 +23,13 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.net;
 
+import com.lothrazar.cyclicmagic.block.core.TileEntityBaseMachine;
 import com.lothrazar.cyclicmagic.data.ITileRedstoneToggle;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -46,30 +46,32 @@ public class PacketTileRedstoneToggle implements IMessage, IMessageHandler<Packe
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    int x = tags.getInteger("x");
-    int y = tags.getInteger("y");
-    int z = tags.getInteger("z");
-    pos = new BlockPos(x, y, z);
+    pos = UtilPacket.readPos(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("x", pos.getX());
-    tags.setInteger("y", pos.getY());
-    tags.setInteger("z", pos.getZ());
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writePos(buf, pos);
   }
 
   @Override
-  public IMessage onMessage(PacketTileRedstoneToggle message, MessageContext ctx) {
-    EntityPlayerMP player = ctx.getServerHandler().player;
-    TileEntity tile = player.getEntityWorld().getTileEntity(message.pos);
-    if (tile != null && tile instanceof ITileRedstoneToggle) {
-      ITileRedstoneToggle te = ((ITileRedstoneToggle) tile);
-      te.toggleNeedsRedstone();
-    }
+  public IMessage onMessage(final PacketTileRedstoneToggle message, MessageContext ctx) {
+    final EntityPlayerMP player = ctx.getServerHandler().player;
+    //handlers run on the network thread, the tile and the sleep scheduler belong to the server thread
+    player.getServerWorld().addScheduledTask(new Runnable() {
+
+      @Override
+      public void run() {
+        TileEntity tile = player.getEntityWorld().getTileEntity(message.pos);
+        if (tile != null && tile instanceof ITileRedstoneToggle) {
+          ITileRedstoneToggle te = ((ITileRedstoneToggle) tile);
+          te.toggleNeedsRedstone();
+          if (tile instanceof TileEntityBaseMachine) {
+            ((TileEntityBaseMachine) tile).wake();
+          }
+        }
+      }
+    });
     return null;
   }
 }
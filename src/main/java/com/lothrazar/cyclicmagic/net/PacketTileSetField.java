@@ -23,13 +23,12 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.net;
 
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.inventory.IInventory;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -62,40 +61,39 @@ public class PacketTileSetField implements IMessage, IMessageHandler<PacketTileS
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    int x = tags.getInteger("x");
-    int y = tags.getInteger("y");
-    int z = tags.getInteger("z");
-    field = tags.getInteger("f");
-    value = tags.getInteger("v");
-    pos = new BlockPos(x, y, z);
+    pos = UtilPacket.readPos(buf);
+    field = UtilPacket.readVarInt(buf);
+    value = UtilPacket.readSignedVarInt(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("x", pos.getX());
-    tags.setInteger("y", pos.getY());
-    tags.setInteger("z", pos.getZ());
-    tags.setInteger("f", field);
-    tags.setInteger("v", value);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writePos(buf, pos);
+    UtilPacket.writeVarInt(buf, field);
+    UtilPacket.writeSignedVarInt(buf, value);
   }
 
   @Override
-  public IMessage onMessage(PacketTileSetField message, MessageContext ctx) {
-    EntityPlayerMP player = ctx.getServerHandler().player;
-    try {
-      TileEntity tile = player.getEntityWorld().getTileEntity(message.pos);
-      if (tile != null && tile instanceof IInventory) {
-        IInventory tileInvo = ((IInventory) tile);
-        tileInvo.setField(message.field, message.value);
-        tileInvo.markDirty();
+  public IMessage onMessage(final PacketTileSetField message, MessageContext ctx) {
+    final EntityPlayerMP player = ctx.getServerHandler().player;
+    //handlers run on the network thread, markDirty reaches the tile sync manager which belongs to the server thread
+    player.getServerWorld().addScheduledTask(new Runnable() {
+
+      @Override
+      public void run() {
+        try {
+          TileEntity tile = player.getEntityWorld().getTileEntity(message.pos);
+          if (tile != null && tile instanceof IInventory) {
+            IInventory tileInvo = ((IInventory) tile);
+            tileInvo.setField(message.field, message.value);
+            tileInvo.markDirty();
+          }
+        }
+        catch (Exception e) {//since we dont know which class exactly this might get run on
+          e.printStackTrace();
+        }
       }
-    }
-    catch (Exception e) {//since we dont know which class exactly this might get run on
-      e.printStackTrace();
-    }
+    });
     return null;
   }
 }
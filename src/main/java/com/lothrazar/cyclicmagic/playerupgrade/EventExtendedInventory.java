@@ -45,6 +45,7 @@ import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedInEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -96,6 +97,13 @@ public class EventExtendedInventory {
     }
   }
 
+  @SubscribeEvent
+  public void playerLoggedOutEvent(PlayerLoggedOutEvent event) {
+    if (event.player.getEntityWorld().isRemote == false) {
+      UtilPlayerInventoryFilestorage.playerLoggedOut(event.player);
+    }
+  }
+
   @SubscribeEvent
   public void playerTick(PlayerEvent.LivingUpdateEvent event) {
     // player events
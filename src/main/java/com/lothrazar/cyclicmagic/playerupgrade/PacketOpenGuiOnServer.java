@@ -24,9 +24,8 @@
 package com.lothrazar.cyclicmagic.playerupgrade;
 
 import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.util.UtilPacket;
 import io.netty.buffer.ByteBuf;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -43,15 +42,12 @@ public class PacketOpenGuiOnServer implements IMessage, IMessageHandler<PacketOp
 
   @Override
   public void fromBytes(ByteBuf buf) {
-    NBTTagCompound tags = ByteBufUtils.readTag(buf);
-    guiId = tags.getInteger("gui");
+    guiId = UtilPacket.readVarInt(buf);
   }
 
   @Override
   public void toBytes(ByteBuf buf) {
-    NBTTagCompound tags = new NBTTagCompound();
-    tags.setInteger("gui", guiId);
-    ByteBufUtils.writeTag(buf, tags);
+    UtilPacket.writeVarInt(buf, guiId);
   }
 
   @Override
@@ -23,27 +23,92 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.potion;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
 import com.lothrazar.cyclicmagic.potion.effect.PotionBase;
 import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.potion.Potion;
+import net.minecraft.potion.PotionEffect;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
+import net.minecraftforge.event.entity.living.PotionEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
+/**
+ * Ticks Cyclic potion effects. Only entities that were given one of them are looked at, and for those only their own active effects are read instead of asking about every registered effect
+ */
 public class EventPotionTick {
 
+  // one per side, the integrated server and the client tick on different threads.
+  // weak keys from MapMaker compare by identity: entities are equal by id, and a respawned player has the id of the dead one
+  private static final Set<EntityLivingBase> trackedServer = Collections.newSetFromMap(new MapMaker().weakKeys().<EntityLivingBase, Boolean> makeMap());
+  private static final Set<EntityLivingBase> trackedClient = Collections.newSetFromMap(new MapMaker().weakKeys().<EntityLivingBase, Boolean> makeMap());
+
+  private static Set<EntityLivingBase> getTracked(EntityLivingBase entity) {
+    return entity.getEntityWorld().isRemote ? trackedClient : trackedServer;
+  }
+
+  @SubscribeEvent
+  public void onPotionAdded(PotionEvent.PotionAddedEvent event) {
+    if (event.getEntityLiving() != null && PotionEffectRegistry.potionEffectSet.contains(event.getPotionEffect().getPotion())) {
+      getTracked(event.getEntityLiving()).add(event.getEntityLiving());
+    }
+  }
+
+  /**
+   * effects read from saved NBT are put straight into the map, no added event for those
+   */
+  @SubscribeEvent
+  public void onEntityJoinWorld(EntityJoinWorldEvent event) {
+    if (event.getEntity() instanceof EntityLivingBase) {
+      EntityLivingBase entity = (EntityLivingBase) event.getEntity();
+      for (Potion potion : entity.getActivePotionMap().keySet()) {
+        if (PotionEffectRegistry.potionEffectSet.contains(potion)) {
+          getTracked(entity).add(entity);
+          break;
+        }
+      }
+    }
+  }
+
   @SubscribeEvent
   public void onEntityUpdate(LivingUpdateEvent event) {
     EntityLivingBase entity = event.getEntityLiving();
     if (entity == null) {
       return;
     }
-    for (PotionBase effect : PotionEffectRegistry.potionEffects) {
-      if (effect != null && entity.isPotionActive(effect) && entity.getActivePotionEffect(effect) != null) {
-        if (entity.getActivePotionEffect(effect).getDuration() == 0) {
-          entity.removeActivePotionEffect(effect);
-        }
-        else {
-          effect.tick(entity);
+    Set<EntityLivingBase> tracked = getTracked(entity);
+    if (tracked.contains(entity) == false) {
+      return;
+    }
+    // copied out first, ticking an effect can add or remove effects
+    List<PotionEffect> active = null;
+    for (PotionEffect effect : entity.getActivePotionMap().values()) {
+      if (PotionEffectRegistry.potionEffectSet.contains(effect.getPotion())) {
+        if (active == null) {
+          active = Lists.newArrayList();
         }
+        active.add(effect);
+      }
+    }
+    if (active == null) {
+      // expired, cured or removed since the last tick
+      tracked.remove(entity);
+      return;
+    }
+    for (PotionEffect effect : active) {
+      PotionBase potion = (PotionBase) effect.getPotion();
+      if (entity.getActivePotionEffect(potion) != effect) {
+        continue;//an earlier tick this loop removed or replaced it
+      }
+      if (effect.getDuration() == 0) {
+        entity.removeActivePotionEffect(potion);
+      }
+      else {
+        potion.tick(entity);
       }
     }
   }
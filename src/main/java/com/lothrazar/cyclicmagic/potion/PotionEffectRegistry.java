@@ -24,6 +24,8 @@
 package com.lothrazar.cyclicmagic.potion;
 
 import java.util.ArrayList;
+import java.util.Set;
+import com.google.common.collect.Sets;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.potion.effect.PotionBase;
 import com.lothrazar.cyclicmagic.potion.effect.PotionBounce;
@@ -64,6 +66,8 @@ public class PotionEffectRegistry {
   public static final PotionBase STUN = new PotionStunned();
   public static final PotionBase SATURATION = new PotionSaturation();
   public static ArrayList<PotionBase> potionEffects = new ArrayList<PotionBase>();
+  /** the same effects, for identity lookups against an entity's active potion map */
+  public static Set<Potion> potionEffectSet = Sets.newIdentityHashSet();
 
   private static void register() {
     //  PotionType t http://www.minecraftforum.net/forums/mapping-and-modding-java-edition/minecraft-mods/modification-development/2842885-solved-how-can-i-add-my-own-potion-with-my-own
@@ -92,6 +96,7 @@ public class PotionEffectRegistry {
     effect.setRegistryName(new ResourceLocation(Const.MODID, effect.getName()));
     potions.add(effect);
     potionEffects.add(effect);
+    potionEffectSet.add(effect);
     ModCyclic.instance.events.register(effect);
   }
 
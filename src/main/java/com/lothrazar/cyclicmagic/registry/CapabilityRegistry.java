@@ -23,13 +23,19 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.registry;
 
+import java.util.concurrent.Callable;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.capability.IPlayerExtendedProperties;
 import com.lothrazar.cyclicmagic.capability.InstancePlayerExtendedProperties;
 import com.lothrazar.cyclicmagic.capability.PlayerStorage;
+import com.lothrazar.cyclicmagic.item.storagesack.StorageBagCache;
 import com.lothrazar.cyclicmagic.net.PacketSyncPlayerData;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityManager;
 
 public class CapabilityRegistry {
@@ -38,6 +44,23 @@ public class CapabilityRegistry {
   public static void register() {
     CapabilityManager.INSTANCE.register(IPlayerExtendedProperties.class, new PlayerStorage(),
         InstancePlayerExtendedProperties.class);
+    // never stored, the bag's own NBT is the saved copy
+    CapabilityManager.INSTANCE.register(StorageBagCache.class, new Capability.IStorage<StorageBagCache>() {
+
+      @Override
+      public NBTBase writeNBT(Capability<StorageBagCache> capability, StorageBagCache instance, EnumFacing side) {
+        return null;
+      }
+
+      @Override
+      public void readNBT(Capability<StorageBagCache> capability, StorageBagCache instance, EnumFacing side, NBTBase nbt) {}
+    }, new Callable<StorageBagCache>() {
+
+      @Override
+      public StorageBagCache call() {
+        return new StorageBagCache(ItemStack.EMPTY);
+      }
+    });
   }
 
   public static IPlayerExtendedProperties getPlayerProperties(EntityPlayer player) {
@@ -27,6 +27,8 @@ import java.util.ArrayList;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.enchant.BaseEnchant;
 import com.lothrazar.cyclicmagic.enchant.EnchantReach;
+import com.lothrazar.cyclicmagic.enchant.EnchantUpdateDispatcher;
+import com.lothrazar.cyclicmagic.enchant.ILivingUpdateEnchant;
 import com.lothrazar.cyclicmagic.util.Const;
 import com.lothrazar.cyclicmagic.util.UtilChat;
 import net.minecraft.enchantment.Enchantment;
@@ -43,6 +45,9 @@ public class EnchantRegistry {
     ResourceLocation resourceLocation = new ResourceLocation(Const.MODID, "enchantment." + ench.getContentName());
     ench.setRegistryName(resourceLocation);
     ModCyclic.instance.events.register(ench);
+    if (ench instanceof ILivingUpdateEnchant) {
+      EnchantUpdateDispatcher.register((ILivingUpdateEnchant) ench);
+    }
     enchants.add(ench);
   }
 
@@ -25,9 +25,19 @@ package com.lothrazar.cyclicmagic.registry;
 
 import java.util.ArrayList;
 import com.lothrazar.cyclicmagic.config.EventConfigChanged;
+import com.lothrazar.cyclicmagic.enchant.EnchantUpdateDispatcher;
+import com.lothrazar.cyclicmagic.event.EventCableNetwork;
+import com.lothrazar.cyclicmagic.event.EventCapabilityCache;
+import com.lothrazar.cyclicmagic.event.EventChunkSearch;
+import com.lothrazar.cyclicmagic.event.EventEntityDetector;
+import com.lothrazar.cyclicmagic.event.EventEntityQueryCache;
+import com.lothrazar.cyclicmagic.event.EventHarvesterArea;
 import com.lothrazar.cyclicmagic.event.EventKeyInput;
+import com.lothrazar.cyclicmagic.event.EventMachineSleep;
 import com.lothrazar.cyclicmagic.event.EventPlayerData;
 import com.lothrazar.cyclicmagic.event.EventRender;
+import com.lothrazar.cyclicmagic.event.EventSprinklerGrowth;
+import com.lothrazar.cyclicmagic.event.EventTileSync;
 import com.lothrazar.cyclicmagic.item.mobs.EventHorseFeed;
 import com.lothrazar.cyclicmagic.playerupgrade.EventExtendedInventory;
 import com.lothrazar.cyclicmagic.potion.EventPotionTick;
@@ -39,6 +49,16 @@ public class EventRegistry {
 
   public void registerCoreEvents() {
     this.register(new EventConfigChanged());
+    this.register(new EventCapabilityCache());
+    this.register(new EventCableNetwork());
+    this.register(new EventMachineSleep());
+    this.register(new EventEntityDetector());
+    this.register(new EventEntityQueryCache());
+    this.register(new EventHarvesterArea());
+    this.register(new EventTileSync());
+    this.register(new EventChunkSearch());
+    this.register(new EventSprinklerGrowth());
+    this.register(new EnchantUpdateDispatcher());
     this.register(new EventExtendedInventory());
     this.register(new EventKeyInput());
     this.register(new EventPlayerData());
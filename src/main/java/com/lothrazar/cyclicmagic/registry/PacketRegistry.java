@@ -49,6 +49,7 @@ import com.lothrazar.cyclicmagic.liquid.PacketFluidSync;
 import com.lothrazar.cyclicmagic.net.PacketChat;
 import com.lothrazar.cyclicmagic.net.PacketEntityDropRandom;
 import com.lothrazar.cyclicmagic.net.PacketEntitySyncToClient;
+import com.lothrazar.cyclicmagic.net.PacketGuiFieldBatch;
 import com.lothrazar.cyclicmagic.net.PacketGuiShortOverride;
 import com.lothrazar.cyclicmagic.net.PacketItemToggle;
 import com.lothrazar.cyclicmagic.net.PacketMoveBlock;
@@ -64,6 +65,7 @@ import com.lothrazar.cyclicmagic.net.PacketSyncPlayerFlying;
 import com.lothrazar.cyclicmagic.net.PacketSyncPlayerHealth;
 import com.lothrazar.cyclicmagic.net.PacketSyncToolslot;
 import com.lothrazar.cyclicmagic.net.PacketTileClientToServer;
+import com.lothrazar.cyclicmagic.net.PacketTileDelta;
 import com.lothrazar.cyclicmagic.net.PacketTileFluidWrapped;
 import com.lothrazar.cyclicmagic.net.PacketTileIncrementField;
 import com.lothrazar.cyclicmagic.net.PacketTileRedstoneToggle;
@@ -139,5 +141,7 @@ public class PacketRegistry {
     network.registerMessage(PacketScythe.class, PacketScythe.class, packetID++, Side.SERVER);
     network.registerMessage(PacketTileStackWrapped.class, PacketTileStackWrapped.class, packetID++, Side.SERVER);
     network.registerMessage(PacketTileFluidWrapped.class, PacketTileFluidWrapped.class, packetID++, Side.SERVER);
+    network.registerMessage(PacketTileDelta.class, PacketTileDelta.class, packetID++, Side.CLIENT);
+    network.registerMessage(PacketGuiFieldBatch.class, PacketGuiFieldBatch.class, packetID++, Side.CLIENT);
   }
 }
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.lothrazar.cyclicmagic.ModCyclic;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.EntitySelectors;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * Shared entity lookup for machines that scan an area every tick. Each chunk section is read from the world at most once per tick, and every query that touches it that tick
+ * filters the same snapshot instead of walking the chunk again.
+ * 
+ * Bounding boxes are tested at query time, so entities that moved or died earlier in the tick are still filtered correctly. Entities spawned during the tick show up on the next one.
+ * 
+ * Server worlds only. The map is not thread safe and the integrated server ticks next to the client, so client queries go straight to the world
+ */
+public class EntityQueryCache {
+
+  public static boolean enabled = true;
+  private static final int REPORT_TICKS = 6000;
+  private static final Map<World, EntityQueryCache> worlds = new WeakHashMap<World, EntityQueryCache>();
+  private final World world;
+  private long snapshotTime = Long.MIN_VALUE;
+  private final Map<Long, List<Entity>> sections = Maps.newHashMap();
+  //metrics, reset on each report
+  private long queries = 0;
+  private long sectionsRead = 0;
+  private long sectionsReused = 0;
+  private long nextReport = 0;
+
+  private EntityQueryCache(World world) {
+    this.world = world;
+  }
+
+  /**
+   * the map is weak, but the value holds its world, so the entry has to be removed when the world unloads
+   */
+  public static void unload(World world) {
+    if (world.isRemote == false) {
+      worlds.remove(world);
+    }
+  }
+
+  public static EntityQueryCache get(World world) {
+    EntityQueryCache cache = worlds.get(world);
+    if (cache == null) {
+      cache = new EntityQueryCache(world);
+      worlds.put(world, cache);
+    }
+    return cache;
+  }
+
+  /**
+   * drop in replacement for world.getEntitiesWithinAABB(class, box)
+   */
+  public static <T extends Entity> List<T> getEntitiesWithinAABB(World world, Class<? extends T> clazz, AxisAlignedBB box) {
+    if (enabled == false || world.isRemote) {
+      return world.getEntitiesWithinAABB(clazz, box);
+    }
+    return get(world).query(box, clazz);
+  }
+
+  /**
+   * one pass for several types at once, an entity is returned once even if it matches more than one
+   */
+  public static List<Entity> getEntitiesWithinAABB(World world, AxisAlignedBB box, Class<?>... classes) {
+    if (enabled == false || world.isRemote) {
+      List<Entity> all = Lists.newArrayList();
+      for (Entity entity : world.getEntitiesWithinAABB(Entity.class, box)) {
+        if (isInstance(entity, classes)) {
+          all.add(entity);
+        }
+      }
+      return all;
+    }
+    return get(world).query(box, classes);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T extends Entity> List<T> query(AxisAlignedBB box, Class<?>... classes) {
+    long now = world.getTotalWorldTime();
+    if (now != snapshotTime) {
+      sections.clear();
+      snapshotTime = now;
+      report(now);
+    }
+    queries++;
+    List<T> found = Lists.newArrayList();
+    int minX = MathHelper.floor((box.minX - World.MAX_ENTITY_RADIUS) / 16.0D);
+    int maxX = MathHelper.floor((box.maxX + World.MAX_ENTITY_RADIUS) / 16.0D);
+    int minZ = MathHelper.floor((box.minZ - World.MAX_ENTITY_RADIUS) / 16.0D);
+    int maxZ = MathHelper.floor((box.maxZ + World.MAX_ENTITY_RADIUS) / 16.0D);
+    for (int cx = minX; cx <= maxX; cx++) {
+      for (int cz = minZ; cz <= maxZ; cz++) {
+        Chunk chunk = world.getChunkProvider().getLoadedChunk(cx, cz);
+        if (chunk == null) {
+          continue;
+        }
+        int top = chunk.getEntityLists().length - 1;
+        int minY = MathHelper.clamp(MathHelper.floor((box.minY - World.MAX_ENTITY_RADIUS) / 16.0D), 0, top);
+        int maxY = MathHelper.clamp(MathHelper.floor((box.maxY + World.MAX_ENTITY_RADIUS) / 16.0D), 0, top);
+        for (int cy = minY; cy <= maxY; cy++) {
+          for (Entity entity : getSection(chunk, cy)) {
+            if (entity.isDead == false && isInstance(entity, classes)
+                && entity.getEntityBoundingBox().intersects(box) && EntitySelectors.NOT_SPECTATING.apply(entity)) {
+              found.add((T) entity);
+            }
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  private List<Entity> getSection(Chunk chunk, int cy) {
+    long key = ((chunk.x & 0xFFFFFFFL) << 36) | ((chunk.z & 0xFFFFFFFL) << 8) | cy;
+    List<Entity> section = sections.get(key);
+    if (section == null) {
+      //copy, so entities spawned by a machine mid tick cannot break another machine's iteration
+      section = Lists.newArrayList(chunk.getEntityLists()[cy]);
+      sections.put(key, section);
+      sectionsRead++;
+    }
+    else {
+      sectionsReused++;
+    }
+    return section;
+  }
+
+  private static boolean isInstance(Entity entity, Class<?>[] classes) {
+    for (Class<?> clazz : classes) {
+      if (clazz.isInstance(entity)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * chunk section reads that were answered from the snapshot instead of the world, since the last report
+   */
+  public long getScansSaved() {
+    return sectionsReused;
+  }
+
+  private void report(long now) {
+    if (now < nextReport) {
+      return;
+    }
+    if (queries > 0) {
+      ModCyclic.logger.log("EntityQueryCache dim " + world.provider.getDimension() + ": " + queries + " queries, "
+          + sectionsRead + " section reads, " + sectionsReused + " section scans saved");
+    }
+    queries = 0;
+    sectionsRead = 0;
+    sectionsReused = 0;
+    nextReport = now + REPORT_TICKS;
+  }
+}
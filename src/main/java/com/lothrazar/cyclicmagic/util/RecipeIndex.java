@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.util;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+/**
+ * Lookup table over one of the static machine recipe lists, so a machine only tests the recipes that could possibly match what is in its slots instead of every recipe registered.
+ * 
+ * Recipes are bucketed by the item of each key stack from getKeys. The machine recipes match by item and metadata (OreDictionary.itemMatches with wildcards), never by ore name, so any recipe
+ * that matches must share an item with the slots it was keyed on. Buckets keep the order of the backing list, so first-match and last-match rules work the same as a full scan.
+ * 
+ * The table is rebuilt lazily on the next lookup after invalidate(), which addRecipe and the CraftTweaker remove methods call. Machines look up from both the client and the integrated server
+ * thread, so a rebuild fills a new table and swaps it in when complete; a reader never sees one half built
+ */
+public abstract class RecipeIndex<T> {
+
+  private final List<T> recipes;
+  private volatile Table<T> table = new Table<T>(-1, 0);
+  private volatile boolean stale = true;
+
+  private static class Table<T> {
+
+    private final Map<Item, List<T>> byItem = Maps.newHashMap();
+    private final Map<T, Integer> order = new IdentityHashMap<T, Integer>();
+    private final int builtSize;
+    private final int version;
+
+    private Table(int builtSize, int version) {
+      this.builtSize = builtSize;
+      this.version = version;
+    }
+  }
+
+  public RecipeIndex(List<T> recipes) {
+    this.recipes = recipes;
+  }
+
+  /**
+   * the stacks this recipe is found by. any inventory that matches the recipe must contain the item of at least one of them in the slots passed to getCandidates
+   */
+  protected abstract List<ItemStack> getKeys(T recipe);
+
+  public void invalidate() {
+    stale = true;
+  }
+
+  /**
+   * changes every time the table is rebuilt, so a machine can tell its cached match came from an older recipe list
+   */
+  public int getVersion() {
+    return syncIndex().version;
+  }
+
+  private Table<T> syncIndex() {
+    Table<T> current = table;
+    //size check catches anyone editing the list directly without calling invalidate
+    if (stale == false && current.builtSize == recipes.size()) {
+      return current;
+    }
+    return rebuild();
+  }
+
+  private synchronized Table<T> rebuild() {
+    Table<T> current = table;
+    if (stale == false && current.builtSize == recipes.size()) {
+      //the other side just rebuilt it
+      return current;
+    }
+    stale = false;
+    Table<T> built = new Table<T>(recipes.size(), current.version + 1);
+    Map<Item, List<T>> byItem = built.byItem;
+    for (int i = 0; i < recipes.size(); i++) {
+      T rec = recipes.get(i);
+      built.order.put(rec, i);
+      for (ItemStack key : getKeys(rec)) {
+        if (key.isEmpty()) {
+          continue;
+        }
+        List<T> bucket = byItem.get(key.getItem());
+        if (bucket == null) {
+          bucket = Lists.newArrayList();
+          byItem.put(key.getItem(), bucket);
+        }
+        if (bucket.isEmpty() || bucket.get(bucket.size() - 1) != rec) {
+          bucket.add(rec);
+        }
+      }
+    }
+    table = built;
+    return built;
+  }
+
+  /**
+   * recipes keyed on this stack's item, in list order
+   */
+  public List<T> getCandidates(ItemStack stack) {
+    Table<T> current = syncIndex();
+    if (stack.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<T> bucket = current.byItem.get(stack.getItem());
+    return bucket == null ? Collections.<T> emptyList() : bucket;
+  }
+
+  /**
+   * recipes keyed on any of these stacks' items, each once, in list order. for shapeless recipes where the key ingredient could be in any slot
+   */
+  public List<T> getCandidates(List<ItemStack> stacks) {
+    Table<T> current = syncIndex();
+    final Map<T, Integer> order = current.order;
+    List<T> found = null;
+    List<T> single = null;
+    for (ItemStack stack : stacks) {
+      if (stack.isEmpty()) {
+        continue;
+      }
+      List<T> bucket = current.byItem.get(stack.getItem());
+      if (bucket == null || bucket == single) {
+        continue;
+      }
+      if (single == null) {
+        single = bucket;
+        continue;
+      }
+      if (found == null) {
+        found = Lists.newArrayList(single);
+      }
+      for (T rec : bucket) {
+        if (found.contains(rec) == false) {
+          found.add(rec);
+        }
+      }
+    }
+    if (found == null) {
+      return single == null ? Collections.<T> emptyList() : single;
+    }
+    Collections.sort(found, new Comparator<T>() {
+
+      @Override
+      public int compare(T a, T b) {
+        return order.get(a) - order.get(b);
+      }
+    });
+    return found;
+  }
+
+  public int size() {
+    syncIndex();
+    return recipes.size();
+  }
+}
@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Read only, index addressable shape. Positions are computed on demand as packed longs (same layout as {@link BlockPos#toLong()}), so walking a shape one position per tick does not
+ * allocate the whole list. Shapes without a closed form (circles, spheres) are packed once into a long array.
+ * 
+ * Build them with the view methods in {@link UtilShape}
+ */
+public abstract class ShapeView {
+
+  private static final int NUM_X_BITS = 26;
+  private static final int NUM_Z_BITS = NUM_X_BITS;
+  private static final int NUM_Y_BITS = 64 - NUM_X_BITS - NUM_Z_BITS;
+  private static final int Y_SHIFT = NUM_Z_BITS;
+  private static final int X_SHIFT = Y_SHIFT + NUM_Y_BITS;
+  private static final long X_MASK = (1L << NUM_X_BITS) - 1L;
+  private static final long Y_MASK = (1L << NUM_Y_BITS) - 1L;
+  private static final long Z_MASK = (1L << NUM_Z_BITS) - 1L;
+
+  public abstract int size();
+
+  public abstract long getPacked(int index);
+
+  public BlockPos get(int index) {
+    return BlockPos.fromLong(getPacked(index));
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public PrimitiveIterator.OfLong iterator() {
+    return new PrimitiveIterator.OfLong() {
+
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < size();
+      }
+
+      @Override
+      public long nextLong() {
+        if (index >= size()) {
+          throw new NoSuchElementException();
+        }
+        return getPacked(index++);
+      }
+    };
+  }
+
+  /**
+   * for callers that still need a list, like the preview renderer
+   */
+  public List<BlockPos> toList() {
+    List<BlockPos> list = new ArrayList<BlockPos>(size());
+    for (int i = 0; i < size(); i++) {
+      list.add(get(i));
+    }
+    return list;
+  }
+
+  public static long pack(int x, int y, int z) {
+    return ((long) x & X_MASK) << X_SHIFT | ((long) y & Y_MASK) << Y_SHIFT | ((long) z & Z_MASK);
+  }
+
+  public static int unpackX(long packed) {
+    return (int) (packed << (64 - X_SHIFT - NUM_X_BITS) >> (64 - NUM_X_BITS));
+  }
+
+  public static int unpackY(long packed) {
+    return (int) (packed << (64 - Y_SHIFT - NUM_Y_BITS) >> (64 - NUM_Y_BITS));
+  }
+
+  public static int unpackZ(long packed) {
+    return (int) (packed << (64 - NUM_Z_BITS) >> (64 - NUM_Z_BITS));
+  }
+
+  public static long offset(long packed, int dx, int dy, int dz) {
+    return pack(unpackX(packed) + dx, unpackY(packed) + dy, unpackZ(packed) + dz);
+  }
+
+  /**
+   * a list packed into a long array, for shapes with no closed form
+   */
+  static class Packed extends ShapeView {
+
+    private final long[] positions;
+
+    Packed(List<BlockPos> shape) {
+      positions = new long[shape.size()];
+      for (int i = 0; i < positions.length; i++) {
+        positions[i] = shape.get(i).toLong();
+      }
+    }
+
+    @Override
+    public int size() {
+      return positions.length;
+    }
+
+    @Override
+    public long getPacked(int index) {
+      return positions[index];
+    }
+  }
+
+  /**
+   * start, start + step, start + 2 * step ...
+   */
+  static class Step extends ShapeView {
+
+    private final long start;
+    private final int dx, dy, dz;
+    private final int count;
+
+    Step(BlockPos start, int dx, int dy, int dz, int count) {
+      this.start = start.toLong();
+      this.dx = dx;
+      this.dy = dy;
+      this.dz = dz;
+      this.count = Math.max(0, count);
+    }
+
+    @Override
+    public int size() {
+      return count;
+    }
+
+    @Override
+    public long getPacked(int index) {
+      return offset(start, dx * index, dy * index, dz * index);
+    }
+  }
+
+  /**
+   * filled horizontal rectangle, x major then z
+   */
+  static class RectFull extends ShapeView {
+
+    private final int xMin, y, zMin;
+    private final int sideZ;
+    private final int count;
+
+    RectFull(BlockPos center, int radiusX, int radiusZ) {
+      this.xMin = center.getX() - radiusX;
+      this.y = center.getY();
+      this.zMin = center.getZ() - radiusZ;
+      this.sideZ = 2 * radiusZ + 1;
+      this.count = (2 * radiusX + 1) * sideZ;
+    }
+
+    @Override
+    public int size() {
+      return count;
+    }
+
+    @Override
+    public long getPacked(int index) {
+      return pack(xMin + index / sideZ, y, zMin + index % sideZ);
+    }
+  }
+
+  /**
+   * outline of a horizontal rectangle, in the same order as {@link UtilShape#rectHollow}
+   */
+  static class RectHollow extends ShapeView {
+
+    private final int xMin, xMax, y, zMin, zMax;
+    private final int firstPart;
+    private final int count;
+
+    RectHollow(BlockPos center, int radiusX, int radiusZ) {
+      this.xMin = center.getX() - radiusX;
+      this.xMax = center.getX() + radiusX;
+      this.y = center.getY();
+      this.zMin = center.getZ() - radiusZ;
+      this.zMax = center.getZ() + radiusZ;
+      //pairs along x first, then pairs along z without the corners
+      this.firstPart = 2 * (xMax - xMin + 1);
+      this.count = firstPart + 2 * Math.max(0, zMax - zMin - 1);
+    }
+
+    @Override
+    public int size() {
+      return count;
+    }
+
+    @Override
+    public long getPacked(int index) {
+      if (index < firstPart) {
+        return pack(xMin + index / 2, y, (index % 2 == 0) ? zMin : zMax);
+      }
+      index -= firstPart;
+      return pack((index % 2 == 0) ? xMin : xMax, y, zMin + 1 + index / 2);
+    }
+  }
+
+  /**
+   * base shape copied copies times, each copy shifted one more step, same order as {@link UtilShape#repeatShapeByHeight}
+   */
+  static class Repeat extends ShapeView {
+
+    private final ShapeView base;
+    private final int dx, dy, dz;
+    private final int copies;
+
+    Repeat(ShapeView base, EnumFacing direction, int copies) {
+      this.base = base;
+      this.dx = direction.getXOffset();
+      this.dy = direction.getYOffset();
+      this.dz = direction.getZOffset();
+      this.copies = Math.max(1, copies);
+    }
+
+    @Override
+    public int size() {
+      return base.size() * copies;
+    }
+
+    @Override
+    public long getPacked(int index) {
+      int layer = index / base.size();
+      return offset(base.getPacked(index % base.size()), dx * layer, dy * layer, dz * layer);
+    }
+  }
+
+  /**
+   * several shapes one after another
+   */
+  static class Concat extends ShapeView {
+
+    private final ShapeView[] parts;
+    private final int[] starts;
+    private final int count;
+
+    Concat(List<ShapeView> list) {
+      parts = list.toArray(new ShapeView[0]);
+      starts = new int[parts.length];
+      int total = 0;
+      for (int i = 0; i < parts.length; i++) {
+        starts[i] = total;
+        total += parts[i].size();
+      }
+      count = total;
+    }
+
+    @Override
+    public int size() {
+      return count;
+    }
+
+    @Override
+    public long getPacked(int index) {
+      //few parts, a scan from the back is fine
+      for (int i = parts.length - 1; i >= 0; i--) {
+        if (index >= starts[i] && parts[i].size() > 0) {
+          return parts[i].getPacked(index - starts[i]);
+        }
+      }
+      throw new IndexOutOfBoundsException("" + index);
+    }
+  }
+}
@@ -291,10 +291,7 @@ public class UtilEntity {
   }
 
   public static List<Entity> getItemExp(World world, AxisAlignedBB range) {
-    List<Entity> all = new ArrayList<Entity>();
-    all.addAll(world.getEntitiesWithinAABB(EntityItem.class, range));
-    all.addAll(world.getEntitiesWithinAABB(EntityXPOrb.class, range));
-    return all;
+    return EntityQueryCache.getEntitiesWithinAABB(world, range, EntityItem.class, EntityXPOrb.class);
   }
 
   public static boolean speedupEntityIfMoving(EntityLivingBase entity, float factor) {
@@ -331,7 +328,7 @@ public class UtilEntity {
   }
 
   public static List<EntityLivingBase> getLivingHostile(World world, AxisAlignedBB range) {
-    List<EntityLivingBase> all = world.getEntitiesWithinAABB(EntityLivingBase.class, range);
+    List<EntityLivingBase> all = EntityQueryCache.getEntitiesWithinAABB(world, EntityLivingBase.class, range);
     List<EntityLivingBase> nonPlayer = new ArrayList<EntityLivingBase>();
     for (EntityLivingBase ent : all) {
       if (ent instanceof EntityPlayer == false && ent.isCreatureType(EnumCreatureType.MONSTER, false)) {//players are not monsters so, redundant?
@@ -181,7 +181,19 @@ public class UtilFluid {
 
   public static boolean tryFillPositionFromTank(World world, BlockPos posSide, EnumFacing sideOpp, FluidTank tankFrom, int amount) {
     try {
-      IFluidHandler fluidTo = FluidUtil.getFluidHandler(world, posSide, sideOpp);
+      return tryFillPositionFromTank(FluidUtil.getFluidHandler(world, posSide, sideOpp), tankFrom, amount);
+    }
+    catch (Exception e) {
+      ModCyclic.logger.error("A fluid tank had an issue when we tried to fill", e);
+      return false;
+    }
+  }
+
+  /**
+   * same as the world version, for callers that already hold the handler
+   */
+  public static boolean tryFillPositionFromTank(IFluidHandler fluidTo, FluidTank tankFrom, int amount) {
+    try {
       if (fluidTo != null) {
         //its not my facing dir
         // SO: pull fluid from that into myself
@@ -50,8 +50,17 @@ public class UtilItemStack {
         tileTarget.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, sideOpp) == false) {
       return stackToExport;
     }
+    return tryDepositToHandler(tileTarget.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, sideOpp), stackToExport);
+  }
+
+  /**
+   * same as the world version, for callers that already hold the handler
+   */
+  public static ItemStack tryDepositToHandler(IItemHandler itemHandlerDeposit, ItemStack stackToExport) {
+    if (itemHandlerDeposit == null) {
+      return stackToExport;
+    }
     try {
-      IItemHandler itemHandlerDeposit = tileTarget.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, sideOpp);
       for (int i = 0; i < itemHandlerDeposit.getSlots(); i++) {
         //in theory this should never be null, but ive seen external mods have that happen
         //or other weird things hence the try catch 
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * The MIT License (MIT)
+ * 
+ * Copyright (C) 2014-2018 Sam Bassett (aka Lothrazar)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.lothrazar.cyclicmagic.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import javax.annotation.Nullable;
+import com.lothrazar.cyclicmagic.ModCyclic;
+import com.lothrazar.cyclicmagic.net.PacketChat;
+import com.lothrazar.cyclicmagic.net.PacketParticleAtPosition;
+import com.lothrazar.cyclicmagic.net.PacketTileIncrementField;
+import com.lothrazar.cyclicmagic.net.PacketTileRedstoneToggle;
+import com.lothrazar.cyclicmagic.net.PacketTileSetField;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+/**
+ * Binary helpers for network messages. Values go straight onto the buffer in a fixed order, so the reader must use the same calls in the same order as the writer. Small numbers take one
+ * byte and a position always takes eight, instead of an NBT compound with string keys around every value
+ */
+public class UtilPacket {
+
+  /**
+   * ids, counts and indices, anything that is never negative. Negative values still work but take five bytes
+   */
+  public static void writeVarInt(ByteBuf buf, int value) {
+    while ((value & ~0x7F) != 0) {
+      buf.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buf.writeByte(value);
+  }
+
+  public static int readVarInt(ByteBuf buf) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      if (shift >= 35) {
+        throw new IllegalArgumentException("VarInt too big");
+      }
+      b = buf.readByte();
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    }
+    while ((b & 0x80) != 0);
+    return value;
+  }
+
+  /**
+   * field values and deltas that may be negative, small values either side of zero take one byte
+   */
+  public static void writeSignedVarInt(ByteBuf buf, int value) {
+    writeVarInt(buf, (value << 1) ^ (value >> 31));
+  }
+
+  public static int readSignedVarInt(ByteBuf buf) {
+    int raw = readVarInt(buf);
+    return (raw >>> 1) ^ -(raw & 1);
+  }
+
+  public static void writePos(ByteBuf buf, BlockPos pos) {
+    buf.writeLong(pos.toLong());
+  }
+
+  public static BlockPos readPos(ByteBuf buf) {
+    return BlockPos.fromLong(buf.readLong());
+  }
+
+  public static void writeNullablePos(ByteBuf buf, @Nullable BlockPos pos) {
+    buf.writeBoolean(pos != null);
+    if (pos != null) {
+      writePos(buf, pos);
+    }
+  }
+
+  @Nullable
+  public static BlockPos readNullablePos(ByteBuf buf) {
+    return buf.readBoolean() ? readPos(buf) : null;
+  }
+
+  public static void writeFacing(ByteBuf buf, @Nullable EnumFacing side) {
+    buf.writeByte(side == null ? -1 : side.ordinal());
+  }
+
+  @Nullable
+  public static EnumFacing readFacing(ByteBuf buf) {
+    int side = buf.readByte();
+    return (side >= 0 && side < EnumFacing.values().length) ? EnumFacing.values()[side] : null;
+  }
+
+  public static void writeString(ByteBuf buf, String text) {
+    ByteBufUtils.writeUTF8String(buf, text == null ? "" : text);
+  }
+
+  public static String readString(ByteBuf buf) {
+    return ByteBufUtils.readUTF8String(buf);
+  }
+
+  public static void writeUUID(ByteBuf buf, UUID id) {
+    buf.writeLong(id.getMostSignificantBits());
+    buf.writeLong(id.getLeastSignificantBits());
+  }
+
+  public static UUID readUUID(ByteBuf buf) {
+    return new UUID(buf.readLong(), buf.readLong());
+  }
+
+  public static void writeStack(ByteBuf buf, ItemStack stack) {
+    ByteBufUtils.writeItemStack(buf, stack == null ? ItemStack.EMPTY : stack);
+  }
+
+  public static ItemStack readStack(ByteBuf buf) {
+    return ByteBufUtils.readItemStack(buf);
+  }
+
+  public static void writeFluid(ByteBuf buf, @Nullable FluidStack fluid) {
+    writeTag(buf, fluid == null ? null : fluid.writeToNBT(new NBTTagCompound()));
+  }
+
+  @Nullable
+  public static FluidStack readFluid(ByteBuf buf) {
+    NBTTagCompound tag = readTag(buf);
+    return tag == null ? null : FluidStack.loadFluidStackFromNBT(tag);
+  }
+
+  /**
+   * for payloads that really are free form, such as a tile or player data compound
+   */
+  public static void writeTag(ByteBuf buf, @Nullable NBTTagCompound tag) {
+    ByteBufUtils.writeTag(buf, tag);
+  }
+
+  @Nullable
+  public static NBTTagCompound readTag(ByteBuf buf) {
+    return ByteBufUtils.readTag(buf);
+  }
+
+  public static void unitTests() {
+    ByteBuf buf = Unpooled.buffer();
+    int[] ints = new int[] { 0, 1, 127, 128, 300, -1, Integer.MAX_VALUE, Integer.MIN_VALUE };
+    boolean ok = true;
+    for (int i : ints) {
+      buf.clear();
+      writeVarInt(buf, i);
+      writeSignedVarInt(buf, i);
+      ok = ok && readVarInt(buf) == i && readSignedVarInt(buf) == i;
+    }
+    ModCyclic.logger.logTestResult("UtilPacket varint round trip expect true " + ok);
+    BlockPos pos = new BlockPos(-29999984, 255, 29999984);
+    buf.clear();
+    writePos(buf, pos);
+    writeNullablePos(buf, null);
+    writeFacing(buf, EnumFacing.WEST);
+    writeFacing(buf, null);
+    writeString(buf, "cyclic:\u00e9t\u00e9");
+    ModCyclic.logger.logTestResult("UtilPacket pos/facing/string round trip expect true "
+        + (pos.equals(readPos(buf)) && readNullablePos(buf) == null && readFacing(buf) == EnumFacing.WEST
+            && readFacing(buf) == null && "cyclic:\u00e9t\u00e9".equals(readString(buf))));
+    List<IMessage> messages = new ArrayList<IMessage>();
+    messages.add(new PacketTileSetField(pos, 3, 250));
+    messages.add(new PacketTileIncrementField(pos, 1, -1));
+    messages.add(new PacketTileRedstoneToggle(pos));
+    messages.add(new PacketParticleAtPosition(pos, 12, 8));
+    messages.add(new PacketChat("cyclic.message", true));
+    for (IMessage msg : messages) {
+      //decode then encode again, the bytes must match
+      buf.clear();
+      msg.toBytes(buf);
+      byte[] encoded = new byte[buf.readableBytes()];
+      buf.getBytes(0, encoded);
+      try {
+        IMessage copy = msg.getClass().newInstance();
+        copy.fromBytes(buf);
+        buf.clear();
+        copy.toBytes(buf);
+        byte[] again = new byte[buf.readableBytes()];
+        buf.getBytes(0, again);
+        ModCyclic.logger.logTestResult(msg.getClass().getSimpleName() + " " + encoded.length + "B round trip expect true " + Arrays.equals(encoded, again));
+      }
+      catch (Exception e) {
+        ModCyclic.logger.logTestResult(msg.getClass().getSimpleName() + " round trip failed " + e);
+      }
+    }
+    //the set field message as it used to be sent, x/y/z/f/v in a compound
+    int runs = 100000;
+    long sink = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < runs; i++) {
+      buf.clear();
+      NBTTagCompound tags = new NBTTagCompound();
+      tags.setInteger("x", pos.getX());
+      tags.setInteger("y", pos.getY());
+      tags.setInteger("z", pos.getZ());
+      tags.setInteger("f", 3);
+      tags.setInteger("v", 250);
+      ByteBufUtils.writeTag(buf, tags);
+      NBTTagCompound read = ByteBufUtils.readTag(buf);
+      sink += read.getInteger("v");
+    }
+    long tagNs = (System.nanoTime() - start) / runs;
+    int tagBytes = buf.writerIndex();
+    IMessage msg = new PacketTileSetField(pos, 3, 250);
+    IMessage copy = new PacketTileSetField();
+    start = System.nanoTime();
+    for (int i = 0; i < runs; i++) {
+      buf.clear();
+      msg.toBytes(buf);
+      copy.fromBytes(buf);
+      sink += buf.readerIndex();
+    }
+    long binaryNs = (System.nanoTime() - start) / runs;
+    ModCyclic.logger.logTestResult(String.format("PacketTileSetField nbt: %dB %dns, binary: %dB %dns per encode+decode (%d)",
+        tagBytes, tagNs, buf.writerIndex(), binaryNs, sink));
+    buf.release();
+  }
+}
@@ -26,8 +26,19 @@ package com.lothrazar.cyclicmagic.util;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import com.lothrazar.cyclicmagic.ModCyclic;
 import com.lothrazar.cyclicmagic.playerupgrade.storage.InventoryPlayerExtended;
@@ -48,12 +59,31 @@ import net.minecraftforge.event.entity.player.PlayerEvent;
 public class UtilPlayerInventoryFilestorage {
 
   private static final String newExtension = "cyclicinvo";
+  private static final int FLUSH_TIMEOUT_SEC = 30;
   public static HashSet<Integer> playerEntityIds = new HashSet<Integer>();
   private static HashMap<String, InventoryPlayerExtended> playerItems = new HashMap<String, InventoryPlayerExtended>();
+  /** what each file last held, so a save with nothing changed is skipped */
+  private static HashMap<File, NBTTagCompound> lastSaved = new HashMap<File, NBTTagCompound>();
+  /** players who left; their entry is dropped once the save that follows the logout is queued */
+  private static HashSet<String> loggedOut = new HashSet<String>();
+  /** newest data not yet on disk, per file. read by loads so a quick relog never sees an older file */
+  private static final Map<File, NBTTagCompound> pendingWrites = new ConcurrentHashMap<File, NBTTagCompound>();
+  /** files the io thread could not write, so the next save goes through even if nothing changed */
+  private static final Set<File> failedWrites = Collections.newSetFromMap(new ConcurrentHashMap<File, Boolean>());
+  private static final ExecutorService io = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r, "Cyclic extended inventory IO");
+      t.setDaemon(true);
+      return t;
+    }
+  });
 
   public static void playerSetupOnLoad(PlayerEvent.LoadFromFile event) {
     EntityPlayer player = event.getEntityPlayer();
     clearPlayerInventory(player);
+    loggedOut.remove(player.getDisplayNameString());
     File playerFile = getPlayerFileID(event.getPlayerDirectory(), event.getEntityPlayer());
     loadPlayerInventory(event.getEntityPlayer(), playerFile);
     playerEntityIds.add(event.getEntityPlayer().getEntityId());
@@ -63,6 +93,13 @@ public class UtilPlayerInventoryFilestorage {
     playerItems.remove(player.getDisplayNameString());
   }
 
+  /**
+   * Forge fires the logout event before the player's final save, so the entry is only marked here and removed by savePlayerItems
+   */
+  public static void playerLoggedOut(EntityPlayer player) {
+    loggedOut.add(player.getDisplayNameString());
+  }
+
   public static InventoryPlayerExtended getPlayerInventory(EntityPlayer player) {
     if (!playerItems.containsKey(player.getDisplayNameString())) {
       InventoryPlayerExtended inventory = new InventoryPlayerExtended(player);
@@ -87,8 +124,12 @@ public class UtilPlayerInventoryFilestorage {
     if (player != null && !player.getEntityWorld().isRemote) {
       try {
         NBTTagCompound data = null;
-        boolean save = false;
-        if (file1 != null && file1.exists()) {
+        NBTTagCompound pending = (file1 == null) ? null : pendingWrites.get(file1);
+        if (pending != null) {
+          //still waiting to be written, and newer than the file
+          data = pending.copy();
+        }
+        else if (file1 != null && file1.exists()) {
           try {
             FileInputStream fileinputstream = new FileInputStream(file1);
             data = CompressedStreamTools.readCompressed(fileinputstream);
@@ -98,15 +139,14 @@ public class UtilPlayerInventoryFilestorage {
             e.printStackTrace();
           }
         }
-        if (file1 == null || !file1.exists() || data == null || data.isEmpty()) {
+        if (data == null || data.isEmpty()) {
           ModCyclic.logger.error("Data not found for " + player.getDisplayNameString());//+ ". Trying to load backup data."
         }
         if (data != null) {
           InventoryPlayerExtended inventory = new InventoryPlayerExtended(player);
           inventory.readNBT(data);
           playerItems.put(player.getDisplayNameString(), inventory);
-          if (save)
-            savePlayerItems(player, file1);
+          lastSaved.put(file1, data);
         }
       }
       catch (Exception e) {
@@ -116,28 +156,106 @@ public class UtilPlayerInventoryFilestorage {
     }
   }
 
+  /**
+   * Serializes on the calling (server) thread since item stacks are not thread safe, then leaves the compression and disk write to the io thread. Nothing is written if the inventory is
+   * the same as the last save
+   */
   public static void savePlayerItems(@Nonnull EntityPlayer player, File playerDirectory) {
     if (!player.getEntityWorld().isRemote) {
+      String name = player.getDisplayNameString();
       try {
         //if original fails to save, ID version will not be overwritten! 
         File fileToSaveID = getPlayerFileID(playerDirectory, player);
+        if (loggedOut.contains(name) && playerItems.containsKey(name) == false) {
+          return;//already saved and dropped, do not write an empty inventory over it
+        }
         if (fileToSaveID != null) {
           InventoryPlayerExtended inventory = getPlayerInventory(player);
           NBTTagCompound data = new NBTTagCompound();
           inventory.saveNBT(data);
-          FileOutputStream fileoutputstream = new FileOutputStream(fileToSaveID);
-          CompressedStreamTools.writeCompressed(data, fileoutputstream);
-          fileoutputstream.close();
-          //ModCyclic.logger.log("Successs saved for player " + fileToSaveID.getName());
+          if (failedWrites.remove(fileToSaveID) || data.equals(lastSaved.get(fileToSaveID)) == false) {
+            lastSaved.put(fileToSaveID, data);
+            queueWrite(fileToSaveID, data);
+          }
         }
         else {
-          ModCyclic.logger.error("Could not save file for player " + player.getDisplayNameString());
+          ModCyclic.logger.error("Could not save file for player " + name);
         }
       }
       catch (Exception e) {
-        ModCyclic.logger.error("Could not save file for player " + player.getDisplayNameString(), e);
+        ModCyclic.logger.error("Could not save file for player " + name, e);
+      }
+      if (loggedOut.remove(name)) {
+        playerItems.remove(name);
+        lastSaved.remove(getPlayerFileID(playerDirectory, player));
+      }
+    }
+  }
+
+  private static void queueWrite(final File file, NBTTagCompound data) {
+    //if a write for this file is already queued it will pick up the newer data, so only one task per file
+    if (pendingWrites.put(file, data) != null) {
+      return;
+    }
+    io.execute(new Runnable() {
+
+      @Override
+      public void run() {
+        NBTTagCompound current = pendingWrites.get(file);
+        while (current != null) {
+          writeFile(file, current);
+          if (pendingWrites.remove(file, current)) {
+            return;
+          }
+          //a newer save arrived during the write
+          current = pendingWrites.get(file);
+        }
+      }
+    });
+  }
+
+  /**
+   * write to a temp file next to the real one then rename over it, so a crash mid write never leaves a truncated inventory
+   */
+  private static void writeFile(File file, NBTTagCompound data) {
+    File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+    try {
+      FileOutputStream fileoutputstream = new FileOutputStream(temp);
+      try {
+        CompressedStreamTools.writeCompressed(data, fileoutputstream);
+      }
+      finally {
+        fileoutputstream.close();
+      }
+      try {
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
       }
+      catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    catch (Exception e) {
+      failedWrites.add(file);
+      ModCyclic.logger.error("Could not save file " + file.getName(), e);
+    }
+  }
+
+  /**
+   * block until every queued write is on disk. for server shutdown
+   */
+  public static void flushWrites() {
+    try {
+      io.submit(new Runnable() {
+
+        @Override
+        public void run() {}
+      }).get(FLUSH_TIMEOUT_SEC, TimeUnit.SECONDS);
+    }
+    catch (Exception e) {
+      ModCyclic.logger.error("Extended inventory writes did not finish", e);
     }
+    lastSaved.clear();
+    loggedOut.clear();
   }
 
   private static File getPlayerFileID(File playerDirectory, EntityPlayer player) {
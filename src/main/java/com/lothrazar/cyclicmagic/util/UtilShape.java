@@ -23,10 +23,14 @@
  ******************************************************************************/
 package com.lothrazar.cyclicmagic.util;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import com.lothrazar.cyclicmagic.ModCyclic;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.Rotation;
 import net.minecraft.util.math.BlockPos;
@@ -414,4 +418,107 @@ public class UtilShape {
     }
     return shape;
   }
+
+  /**
+   * pack a list once, for shapes that have no view of their own
+   */
+  public static ShapeView packed(List<BlockPos> shape) {
+    return new ShapeView.Packed(shape);
+  }
+
+  public static ShapeView lineView(BlockPos pos, EnumFacing efacing, int want) {
+    return new ShapeView.Step(pos.offset(efacing), efacing.getXOffset(), efacing.getYOffset(), efacing.getZOffset(), want);
+  }
+
+  /**
+   * unlike {@link #squareHorizontalFull} each position is listed once
+   */
+  public static ShapeView squareHorizontalFullView(final BlockPos pos, int radius) {
+    return new ShapeView.RectFull(pos, radius, radius);
+  }
+
+  public static ShapeView rectHollowView(final BlockPos pos, int radiusX, int radiusZ) {
+    return new ShapeView.RectHollow(pos, radiusX, radiusZ);
+  }
+
+  public static ShapeView squareHorizontalHollowView(final BlockPos pos, int radius) {
+    return rectHollowView(pos, radius, radius);
+  }
+
+  public static ShapeView squarePyramidView(final BlockPos pos, final int radius, final int height) {
+    List<ShapeView> layers = new ArrayList<ShapeView>();
+    for (int i = 0; i < radius; i++) {
+      layers.add(rectHollowView(pos.up(i), radius - i, radius - i));
+    }
+    return new ShapeView.Concat(layers);
+  }
+
+  public static ShapeView diagonalView(BlockPos posCurrent, EnumFacing pfacing, int height,
+      int size, boolean isLookingUp) {
+    int dy = isLookingUp ? 1 : -1;
+    BlockPos start = posCurrent.up(dy).offset(pfacing);
+    ShapeView line = new ShapeView.Step(start, pfacing.getXOffset(), dy, pfacing.getZOffset(), height);
+    return repeatShapeByFacing(line, size, pfacing.rotateAround(EnumFacing.Axis.Y));
+  }
+
+  public static ShapeView repeatShapeByHeight(ShapeView shape, final int height) {
+    return new ShapeView.Repeat(shape, EnumFacing.UP, height + 1);
+  }
+
+  public static ShapeView repeatShapeByFacing(ShapeView shape, final int height, final EnumFacing offset) {
+    return new ShapeView.Repeat(shape, offset, height + 1);
+  }
+
+  /**
+   * views must list the same positions as the old list functions. then compare what one builder tick costs: rebuilding the list and reading one index, vs reading one index from a
+   * cached view
+   */
+  public static void unitTests() {
+    BlockPos c = new BlockPos(-100, 64, 250);
+    ModCyclic.logger.logTestResult("ShapeView line expect true "
+        + line(c, EnumFacing.EAST, 9).equals(lineView(c, EnumFacing.EAST, 9).toList()));
+    ModCyclic.logger.logTestResult("ShapeView square hollow expect true "
+        + repeatShapeByHeight(squareHorizontalHollow(c, 5), 3).equals(repeatShapeByHeight(squareHorizontalHollowView(c, 5), 3).toList()));
+    ModCyclic.logger.logTestResult("ShapeView square full expect true "
+        + new ArrayList<BlockPos>(new LinkedHashSet<BlockPos>(squareHorizontalFull(c, 4))).equals(squareHorizontalFullView(c, 4).toList()));
+    ModCyclic.logger.logTestResult("ShapeView pyramid expect true "
+        + squarePyramid(c, 6, 6).equals(squarePyramidView(c, 6, 6).toList()));
+    ModCyclic.logger.logTestResult("ShapeView diagonal expect true "
+        + diagonal(c, EnumFacing.NORTH, 5, 3, false).equals(diagonalView(c, EnumFacing.NORTH, 5, 3, false).toList()));
+    ModCyclic.logger.logTestResult("ShapeView sphere expect true "
+        + sphere(c, 8).equals(packed(sphere(c, 8)).toList()));
+    int ticks = 200;
+    int size = 16;
+    int height = 10;
+    long sink = 0;
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    for (int t = 0; t < ticks; t++) {
+      List<BlockPos> shape = repeatShapeByHeight(circleHorizontal(c, size * 2), height - 1);
+      sink += shape.get(t % shape.size()).getX();
+    }
+    long listNs = (System.nanoTime() - start) / ticks;
+    long listBytes = (allocatedBytes() - bytes) / ticks;
+    ShapeView view = repeatShapeByHeight(packed(circleHorizontal(c, size * 2)), height - 1);
+    bytes = allocatedBytes();
+    start = System.nanoTime();
+    for (int t = 0; t < ticks; t++) {
+      sink += ShapeView.unpackX(view.getPacked(t % view.size()));
+    }
+    long viewNs = (System.nanoTime() - start) / ticks;
+    long viewBytes = (allocatedBytes() - bytes) / ticks;
+    ModCyclic.logger.logTestResult(String.format("ShapeView circle r=%d h=%d list: %dns %dB per tick, cached view: %dns %dB per tick (%d)",
+        size, height, listNs, listBytes, viewNs, viewBytes, sink));
+  }
+
+  /**
+   * bytes allocated by this thread so far, or zero if the jvm does not say
+   */
+  private static long allocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return 0;
+  }
 }
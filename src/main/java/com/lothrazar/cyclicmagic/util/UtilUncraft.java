@@ -24,7 +24,13 @@
 package com.lothrazar.cyclicmagic.util;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.CraftingManager;
@@ -35,9 +41,12 @@ import net.minecraft.util.NonNullList;
 public class UtilUncraft {
 
   public static boolean dictionaryFreedom;
-  public static List<String> blacklistInput = new ArrayList<String>();
-  public static List<String> blacklistOutput = new ArrayList<String>();
-  public static List<String> blacklistMod = new ArrayList<String>();
+  public static Set<String> blacklistInput = Sets.newHashSet();
+  public static Set<String> blacklistOutput = Sets.newHashSet();
+  public static Set<String> blacklistMod = Sets.newHashSet();
+  /** recipe output item and meta, packed by outputKey, to every recipe making it in registry order. built on first use, after all recipes are registered */
+  private static Map<Long, List<IRecipe>> recipesByOutput = null;
+  private static int indexedRecipes = -1;
 
   public static enum BlacklistType {
     INPUT, OUTPUT, MODNAME;//, CONTAINS;
@@ -48,9 +57,9 @@ public class UtilUncraft {
   }
 
   public static void resetBlacklists() {
-    blacklistInput = new ArrayList<String>();
-    blacklistOutput = new ArrayList<String>();
-    blacklistMod = new ArrayList<String>();
+    blacklistInput = Sets.newHashSet();
+    blacklistOutput = Sets.newHashSet();
+    blacklistMod = Sets.newHashSet();
   }
 
   public static void setBlacklist(String[] list, BlacklistType type) {
@@ -58,6 +67,9 @@ public class UtilUncraft {
       return;
     }
     for (String iname : list) {
+      if (iname == null) {
+        continue;
+      }
       switch (type) {
         case MODNAME:
           blacklistMod.add(iname);
@@ -80,36 +92,55 @@ public class UtilUncraft {
   }
 
   private static boolean isItemInBlacklist(Item item, BlacklistType type) {
-    String itemName;
+    //each type also checks the ones after it: input falls through to output and mod name, output to mod name
     switch (type) {
       case INPUT:
-        itemName = UtilItemStack.getStringForItem(item);
-        for (String s : blacklistInput) {//dont use .contains on the list. must use .equals on string
-          if (s != null && s.equals(itemName)) {
-            return true;
-          }
+        if (blacklistInput.contains(UtilItemStack.getStringForItem(item))) {
+          return true;
         }
       case OUTPUT:
-        itemName = UtilItemStack.getStringForItem(item);
-        for (String s : blacklistOutput) {//dont use .contains on the list. must use .equals on string
-          if (s != null && s.equals(itemName)) {
-            return true;
-          }
+        if (blacklistOutput.contains(UtilItemStack.getStringForItem(item))) {
+          return true;
         }
       case MODNAME:
-        String modId = item.getRegistryName().getNamespace();// the minecraft part of minecraft:wool (without colon)
-        for (String s : blacklistMod) {//dont use .contains on the list. must use .equals on string
-          if (s != null && s.equals(modId)) {
-            return true;
-          }
-        }
-      break;
+        // the minecraft part of minecraft:wool (without colon)
+        return blacklistMod.contains(item.getRegistryName().getNamespace());
       default:
       break;
     }
     return false;
   }
 
+  private static long outputKey(ItemStack stack) {
+    return ((long) Item.getIdFromItem(stack.getItem()) << 32) | (stack.getItemDamage() & 0xFFFFFFFFL);
+  }
+
+  /**
+   * recipes whose output has the same item and meta as this stack, in registry order. nbt is left for the caller to compare
+   */
+  private static List<IRecipe> getRecipesFor(ItemStack output) {
+    int count = CraftingManager.REGISTRY.getKeys().size();
+    if (recipesByOutput == null || indexedRecipes != count) {
+      Map<Long, List<IRecipe>> index = Maps.newHashMap();
+      for (IRecipe next : CraftingManager.REGISTRY) {
+        if (next == null || next.getRecipeOutput() == null || next.getRecipeOutput().isEmpty()) {
+          continue;
+        }
+        Long key = outputKey(next.getRecipeOutput());
+        List<IRecipe> bucket = index.get(key);
+        if (bucket == null) {
+          bucket = Lists.newArrayList();
+          index.put(key, bucket);
+        }
+        bucket.add(next);
+      }
+      recipesByOutput = index;
+      indexedRecipes = count;
+    }
+    List<IRecipe> found = recipesByOutput.get(outputKey(output));
+    return found == null ? Collections.<IRecipe> emptyList() : found;
+  }
+
   public static class Uncrafter {
 
     private ArrayList<ItemStack> drops;
@@ -214,10 +245,7 @@ public class UtilUncraft {
       // outsize is 3 means the recipe makes three items total. so MINUS three from the toUncraft for EACH LOOP
       UncraftResultType result = UncraftResultType.NORECIPE;//assumption
       //      List<IRecipe> recipeList = CraftingManager.field_193380_a.getRecipeList();
-      for (IRecipe next : CraftingManager.REGISTRY) {
-        if (next == null || next.getRecipeOutput() == null) {
-          continue;//be careful
-        }
+      for (IRecipe next : getRecipesFor(toUncraft)) {
         if (doesRecipeMatch(next)) {
           boolean enchantingMatches = next.getRecipeOutput().isItemEnchanted() == toUncraft.isItemEnchanted();
           if (!enchantingMatches) {
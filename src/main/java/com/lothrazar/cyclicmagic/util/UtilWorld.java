@@ -24,6 +24,8 @@
 package com.lothrazar.cyclicmagic.util;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +35,7 @@ import javax.annotation.Nullable;
 import org.lwjgl.opengl.GL11;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockLever;
+import net.minecraft.block.ITileEntityProvider;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.BlockRendererDispatcher;
@@ -51,11 +54,15 @@ import net.minecraft.init.SoundEvents;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.item.ItemBlock;
 import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 
 public class UtilWorld {
@@ -141,26 +148,56 @@ public class UtilWorld {
     // function imported
     // https://github.com/PrinceOfAmber/SamsPowerups/blob/master/Commands/src/main/java/com/lothrazar/samscommands/ModCommands.java#L193
     Map<IInventory, BlockPos> found = new HashMap<IInventory, BlockPos>();
-    int xMin = player.getPosition().getX() - RADIUS;
-    int xMax = player.getPosition().getX() + RADIUS;
-    int yMin = player.getPosition().getY() - RADIUS;
-    int yMax = player.getPosition().getY() + RADIUS;
-    int zMin = player.getPosition().getZ() - RADIUS;
-    int zMax = player.getPosition().getZ() + RADIUS;
-    BlockPos posCurrent = null;
-    for (int xLoop = xMin; xLoop <= xMax; xLoop++) {
-      for (int yLoop = yMin; yLoop <= yMax; yLoop++) {
-        for (int zLoop = zMin; zLoop <= zMax; zLoop++) {
-          posCurrent = new BlockPos(xLoop, yLoop, zLoop);
-          if (player.getEntityWorld().getTileEntity(posCurrent) instanceof IInventory) {
-            found.put((IInventory) player.getEntityWorld().getTileEntity(posCurrent), posCurrent);
-          }
-        }
+    World world = player.getEntityWorld();
+    for (ChunkPos chunkPos : getChunksInRadius(player.getPosition(), RADIUS)) {
+      Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkPos.x, chunkPos.z);
+      if (chunk != null) {
+        findTileEntityInventories(chunk, player.getPosition(), RADIUS, found);
       }
     }
     return found;
   }
 
+  /**
+   * inventories in this chunk within the cube, read from the chunk's tile entity map instead of testing every position
+   */
+  public static void findTileEntityInventories(Chunk chunk, BlockPos center, int radius, Map<IInventory, BlockPos> found) {
+    for (TileEntity tile : chunk.getTileEntityMap().values()) {
+      if (tile instanceof IInventory && tile.isInvalid() == false && isInCube(tile.getPos(), center, radius)) {
+        found.put((IInventory) tile, tile.getPos());
+      }
+    }
+  }
+
+  /**
+   * every chunk the cube around center touches, nearest first. not checked for being loaded
+   */
+  public static List<ChunkPos> getChunksInRadius(BlockPos center, int radius) {
+    final int cx = center.getX() >> 4;
+    final int cz = center.getZ() >> 4;
+    List<ChunkPos> chunks = new ArrayList<ChunkPos>();
+    for (int x = (center.getX() - radius) >> 4; x <= (center.getX() + radius) >> 4; x++) {
+      for (int z = (center.getZ() - radius) >> 4; z <= (center.getZ() + radius) >> 4; z++) {
+        chunks.add(new ChunkPos(x, z));
+      }
+    }
+    Collections.sort(chunks, new Comparator<ChunkPos>() {
+
+      @Override
+      public int compare(ChunkPos a, ChunkPos b) {
+        return Integer.compare((a.x - cx) * (a.x - cx) + (a.z - cz) * (a.z - cz),
+            (b.x - cx) * (b.x - cx) + (b.z - cz) * (b.z - cz));
+      }
+    });
+    return chunks;
+  }
+
+  private static boolean isInCube(BlockPos pos, BlockPos center, int radius) {
+    return Math.abs(pos.getX() - center.getX()) <= radius
+        && Math.abs(pos.getY() - center.getY()) <= radius
+        && Math.abs(pos.getZ() - center.getZ()) <= radius;
+  }
+
   public static int searchTileInventory(String search, IInventory inventory) {
     int foundQty;
     foundQty = 0;
@@ -181,61 +218,79 @@ public class UtilWorld {
 
   public static BlockPos findClosestBlock(EntityPlayer player, Block blockHunt, int RADIUS) {
     BlockPos found = null;
-    int xMin = (int) player.posX - RADIUS;
-    int xMax = (int) player.posX + RADIUS;
-    int yMin = (int) player.posY - RADIUS;
-    int yMax = (int) player.posY + RADIUS;
-    int zMin = (int) player.posZ - RADIUS;
-    int zMax = (int) player.posZ + RADIUS;
     int distance = 0, distanceClosest = RADIUS * RADIUS;
-    BlockPos posCurrent = null;
-    World world = player.getEntityWorld();
-    for (int xLoop = xMin; xLoop <= xMax; xLoop++) {
-      for (int yLoop = yMin; yLoop <= yMax; yLoop++) {
-        for (int zLoop = zMin; zLoop <= zMax; zLoop++) {
-          posCurrent = new BlockPos(xLoop, yLoop, zLoop);
-          if (world.isAreaLoaded(posCurrent, 1) == false) {
-            continue;
-          }
-          if (world.getBlockState(posCurrent).getBlock().equals(blockHunt)) {
-            // find closest?
-            if (found == null) {
-              found = posCurrent;
-            }
-            else {
-              distance = (int) distanceBetweenHorizontal(player.getPosition(), posCurrent);
-              if (distance < distanceClosest) {
-                found = posCurrent;
-                distanceClosest = distance;
-              }
-            }
-          }
+    for (BlockPos posCurrent : findBlocks(player.getEntityWorld(), player.getPosition(), blockHunt, RADIUS)) {
+      // find closest?
+      if (found == null) {
+        found = posCurrent;
+      }
+      else {
+        distance = (int) distanceBetweenHorizontal(player.getPosition(), posCurrent);
+        if (distance < distanceClosest) {
+          found = posCurrent;
+          distanceClosest = distance;
         }
       }
     }
     return found;
   }
 
+  /**
+   * Only chunks that are already loaded are searched, none are loaded or generated by this
+   */
   public static ArrayList<BlockPos> findBlocks(World world, BlockPos start, Block blockHunt, int RADIUS) {
     ArrayList<BlockPos> found = new ArrayList<BlockPos>();
-    int xMin = start.getX() - RADIUS;
-    int xMax = start.getX() + RADIUS;
-    int yMin = start.getY() - RADIUS;
-    int yMax = start.getY() + RADIUS;
-    int zMin = start.getZ() - RADIUS;
-    int zMax = start.getZ() + RADIUS;
-    BlockPos posCurrent = null;
-    for (int xLoop = xMin; xLoop <= xMax; xLoop++) {
-      for (int yLoop = yMin; yLoop <= yMax; yLoop++) {
-        for (int zLoop = zMin; zLoop <= zMax; zLoop++) {
-          posCurrent = new BlockPos(xLoop, yLoop, zLoop);
-          if (world.getBlockState(posCurrent).getBlock().equals(blockHunt)) {
-            found.add(posCurrent);
+    for (ChunkPos chunkPos : getChunksInRadius(start, RADIUS)) {
+      Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkPos.x, chunkPos.z);
+      if (chunk != null) {
+        findBlocks(chunk, start, blockHunt, RADIUS, found);
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Blocks that always have a tile entity are found from the chunk's tile entity map. Anything else reads the block storage directly, skipping sections that are all air
+   */
+  public static void findBlocks(Chunk chunk, BlockPos start, Block blockHunt, int radius, List<BlockPos> found) {
+    int xMin = Math.max(chunk.x << 4, start.getX() - radius);
+    int xMax = Math.min((chunk.x << 4) + 15, start.getX() + radius);
+    int zMin = Math.max(chunk.z << 4, start.getZ() - radius);
+    int zMax = Math.min((chunk.z << 4) + 15, start.getZ() + radius);
+    int yMin = Math.max(0, start.getY() - radius);
+    int yMax = Math.min(chunk.getWorld().getHeight() - 1, start.getY() + radius);
+    if (xMin > xMax || zMin > zMax || yMin > yMax) {
+      return;
+    }
+    if (blockHunt instanceof ITileEntityProvider) {
+      for (BlockPos pos : chunk.getTileEntityMap().keySet()) {
+        if (pos.getX() >= xMin && pos.getX() <= xMax
+            && pos.getY() >= yMin && pos.getY() <= yMax
+            && pos.getZ() >= zMin && pos.getZ() <= zMax
+            && chunk.getBlockState(pos).getBlock() == blockHunt) {
+          found.add(pos.toImmutable());
+        }
+      }
+      return;
+    }
+    ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+    for (int sectionY = yMin >> 4; sectionY <= yMax >> 4; sectionY++) {
+      ExtendedBlockStorage section = sections[sectionY];
+      if (section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty()) {
+        continue;// nothing but air
+      }
+      int yFrom = Math.max(yMin, sectionY << 4);
+      int yTo = Math.min(yMax, (sectionY << 4) + 15);
+      for (int xLoop = xMin; xLoop <= xMax; xLoop++) {
+        for (int yLoop = yFrom; yLoop <= yTo; yLoop++) {
+          for (int zLoop = zMin; zLoop <= zMax; zLoop++) {
+            if (section.get(xLoop & 15, yLoop & 15, zLoop & 15).getBlock() == blockHunt) {
+              found.add(new BlockPos(xLoop, yLoop, zLoop));
+            }
           }
         }
       }
     }
-    return found;
   }
 
   public static double distanceBetweenHorizontal(BlockPos start, BlockPos end) {